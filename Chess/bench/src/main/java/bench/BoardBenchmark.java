@@ -0,0 +1,41 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import model.Board;
+import model.ChessGame;
+
+/** Detecção de xeque e de xeque-mate no tabuleiro. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BoardBenchmark {
+
+    private Board board;
+
+    @Param({ "italian", "foolsMate" })
+    public String position;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ChessGame game = new ChessGame();
+        Positions.play(game, position.equals("italian") ? Positions.ITALIAN
+                                                        : Positions.FOOLS_MATE);
+        board = game.getBoard();
+    }
+
+    @Benchmark
+    public boolean isInCheckWhite() {
+        return board.isInCheck('W');
+    }
+
+    @Benchmark
+    public boolean isCheckmateWhite() {
+        return board.isCheckmate('W');
+    }
+}
@@ -0,0 +1,61 @@
+package bench;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import model.ChessGame;
+import view.BoardPanel;
+
+/** BoardPanel.paintComponent desenhando numa imagem fora da tela (modo headless). */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BoardPanelBenchmark {
+
+    /* expõe o paintComponent protegido */
+    static final class OffscreenPanel extends BoardPanel {
+        private static final long serialVersionUID = 1L;
+
+        OffscreenPanel(ChessGame game) {
+            super(game);
+        }
+
+        void render(Graphics g) {
+            paintComponent(g);
+        }
+    }
+
+    private OffscreenPanel panel;
+    private BufferedImage  image;
+    private Graphics2D     g;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ChessGame game = new ChessGame();
+        Positions.play(game, Positions.ITALIAN);
+
+        panel = new OffscreenPanel(game);
+        panel.setSize(panel.getPreferredSize());
+        image = new BufferedImage(panel.getWidth(), panel.getHeight(),
+                                  BufferedImage.TYPE_INT_ARGB);
+        g     = image.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintComponent() {
+        panel.render(g);
+        return image;
+    }
+}
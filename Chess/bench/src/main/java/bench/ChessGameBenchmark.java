@@ -0,0 +1,34 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import model.ChessGame;
+
+/**
+ * ChessGame.moveTo de um lance da posição inicial (inclui a verificação de
+ * fim de jogo). O jogo é reiniciado antes de cada chamada, fora da medição
+ * (Level.Invocation – aceitável porque o lance custa microssegundos).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ChessGameBenchmark {
+
+    private final ChessGame game = new ChessGame();
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        game.resetGame();
+        game.selectPiece(6, 4);          // peão e2
+    }
+
+    @Benchmark
+    public boolean moveTo() {
+        return game.moveTo(4, 4);        // e2-e4
+    }
+}
@@ -0,0 +1,60 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import model.Board;
+import model.ChessGame;
+import model.Piece;
+
+/** pieceMovement e canMove de cada subclasse de Piece numa posição de meio-jogo. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PieceBenchmark {
+
+    /** tipo da peça branca medida */
+    @Param({ "P", "N", "B", "R", "Q", "K" })
+    public char type;
+
+    private Board board;
+    private Piece piece;
+    private int   targetRow, targetCol;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ChessGame game = new ChessGame();
+        Positions.play(game, Positions.ITALIAN);
+        board = game.getBoard();
+
+        /* escolhe a peça branca do tipo com mais lances */
+        int best = -1;
+        for (Piece p : board.getAllPieces()) {
+            if (p.getColor() != 'W' || p.getTypeChar() != type) continue;
+            List<int[]> moves = p.pieceMovement(board);
+            if (moves.size() > best) {
+                best  = moves.size();
+                piece = p;
+                if (!moves.isEmpty()) {
+                    targetRow = moves.get(moves.size() - 1)[0];
+                    targetCol = moves.get(moves.size() - 1)[1];
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<int[]> pieceMovement() {
+        return piece.pieceMovement(board);
+    }
+
+    @Benchmark
+    public boolean canMove() {
+        return piece.canMove(piece.getRow(), piece.getCol(), targetRow, targetCol, board);
+    }
+}
@@ -0,0 +1,28 @@
+package bench;
+
+import model.ChessGame;
+
+/** Posições montadas pela própria façade, lance a lance, para os benchmarks. */
+final class Positions {
+
+    private Positions() { }
+
+    /** abertura italiana após 4 lances de cada lado – peças com mobilidade real */
+    static final String[] ITALIAN = {
+        "e2e4", "e7e5", "g1f3", "b8c6", "f1c4", "f8c5", "d2d3", "d7d6"
+    };
+
+    /** mate do louco: pretas dão mate no 2º lance */
+    static final String[] FOOLS_MATE = { "f2f3", "e7e5", "g2g4", "d8h4" };
+
+    /** reinicia o jogo e joga os lances em notação de coordenadas ("e2e4") */
+    static void play(ChessGame game, String... moves) {
+        game.resetGame();
+        for (String mv : moves) {
+            int fc = mv.charAt(0) - 'a', fr = '8' - mv.charAt(1);
+            int tc = mv.charAt(2) - 'a', tr = '8' - mv.charAt(3);
+            if (!game.selectPiece(fr, fc) || !game.moveTo(tr, tc))
+                throw new IllegalStateException("lance ilegal na preparação: " + mv);
+        }
+    }
+}
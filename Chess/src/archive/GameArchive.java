@@ -0,0 +1,318 @@
+package archive;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import model.Fen;
+import pgn.PgnGame;
+import pgn.PgnReader;
+
+/**
+ * Arquivo binário de partidas. Dois arquivos:
+ * <ul>
+ *   <li>dados ({@code x.cga}): registros encostados, cada um com um cabeçalho
+ *       de largura fixa, a FEN inicial (se não for a posição padrão) e os
+ *       lances como índices na lista de lances legais ({@link MoveCodec});</li>
+ *   <li>índice ({@code x.cga.idx}): um long por partida, o deslocamento do
+ *       seu registro nos dados. O número da partida é a posição no índice.</li>
+ * </ul>
+ * O índice fica na memória (8 bytes por partida), então ler uma partida é
+ * uma única leitura posicional no arquivo de dados.
+ *
+ * Acréscimos são seguros contra queda: o registro é gravado e sincronizado
+ * antes da entrada do índice. Ao abrir, entradas incompletas ou com CRC
+ * errado no fim do índice são descartadas e os dados são truncados no fim
+ * do último registro válido. Leituras podem ser concorrentes; acréscimos são
+ * serializados.
+ *
+ * Guarda as etiquetas Event, Site, Date, Round, White e Black (truncadas à
+ * largura do campo), o resultado, a FEN inicial e os lances; outras
+ * etiquetas do PGN não são preservadas.
+ *
+ * Importação: {@code java archive.GameArchive <partidas.cga> <arquivo.pgn>…}
+ */
+public final class GameArchive implements Closeable {
+
+    public static final String EXTENSION = ".cga";
+
+    private static final int MAGIC  = 0x43474131;       // "CGA1"
+    private static final int HEADER = 128;
+
+    /* cabeçalho: deslocamentos e larguras */
+    private static final int OFF_MAGIC  = 0;    // int
+    private static final int OFF_LENGTH = 4;    // int, registro inteiro
+    private static final int OFF_CRC    = 8;    // int, CRC32 de [12, fim)
+    private static final int OFF_PLIES  = 12;   // short (sem sinal)
+    private static final int OFF_RESULT = 14;   // byte
+    private static final int OFF_FEN    = 15;   // byte, tamanho da FEN (0 = posição inicial)
+    private static final int OFF_TAGS   = 16;
+
+    private static final String[] TAGS   = { "Event", "Site", "Date", "Round", "White", "Black" };
+    private static final int[]    WIDTHS = {  24,      16,     10,     6,       28,      28     };
+
+    private static final String[] RESULTS = { "*", "1-0", "0-1", "1/2-1/2" };
+
+    private final FileChannel data;
+    private final FileChannel index;
+
+    private long[] offsets = new long[1024];
+    private int    count;
+    private long   end;                                   // fim do último registro
+
+    private final MoveCodec codec = new MoveCodec();      // protegido por this (acréscimos)
+
+    /* decodificadores das leituras, um por thread */
+    private final ThreadLocal<MoveCodec> decoders = ThreadLocal.withInitial(MoveCodec::new);
+
+    private GameArchive(FileChannel data, FileChannel index) throws IOException {
+        this.data  = data;
+        this.index = index;
+        recover();
+    }
+
+    /** abre (ou cria) o arquivo de dados e o índice {@code file + ".idx"} */
+    public static GameArchive open(Path file) throws IOException {
+        FileChannel data = FileChannel.open(file, StandardOpenOption.CREATE,
+                                            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileChannel index = FileChannel.open(file.resolveSibling(file.getFileName() + ".idx"),
+                                                 StandardOpenOption.CREATE,
+                                                 StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new GameArchive(data, index);
+        } catch (IOException | RuntimeException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    /** número de partidas */
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Acrescenta a partida e devolve o seu número. Lança
+     * IllegalArgumentException se a FEN inicial ou algum lance for inválido,
+     * ou se ela tiver mais de 65535 meios-lances.
+     */
+    public int append(PgnGame game) throws IOException {
+        return append(game, true);
+    }
+
+    /**
+     * Idem; com {@code sync} falso não espera o disco (importação em massa,
+     * que chama {@link #sync()} de tempos em tempos). Uma queda pode então
+     * perder os acréscimos desde a última sincronização.
+     */
+    public synchronized int append(PgnGame game, boolean sync) throws IOException {
+        if (game.moveCount() > 0xFFFF) throw new IllegalArgumentException("partida longa demais");
+        codec.encode(game);
+
+        byte[] fen = game.startFen().equals(Fen.START)
+                   ? new byte[0] : game.startFen().getBytes(StandardCharsets.US_ASCII);
+        if (fen.length > 255) throw new IllegalArgumentException("FEN longa demais");
+
+        int length = HEADER + fen.length + codec.length();
+        ByteBuffer buf = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(OFF_MAGIC, MAGIC);
+        buf.putInt(OFF_LENGTH, length);
+        buf.putShort(OFF_PLIES, (short) game.moveCount());
+        buf.put(OFF_RESULT, (byte) Math.max(0, Arrays.asList(RESULTS).indexOf(game.result())));
+        buf.put(OFF_FEN, (byte) fen.length);
+        int off = OFF_TAGS;
+        for (int i = 0; i < TAGS.length; i++) {
+            putText(buf, off, WIDTHS[i], game.tag(TAGS[i]));
+            off += WIDTHS[i];
+        }
+        buf.put(HEADER, fen);
+        buf.put(HEADER + fen.length, codec.bytes(), 0, codec.length());
+        buf.putInt(OFF_CRC, crc(buf.array(), length));
+
+        /* 1. registro, sincronizado; 2. só então a entrada do índice */
+        writeFully(data, buf.position(0), end);
+        if (sync) data.force(false);
+
+        ByteBuffer entry = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(0, end);
+        writeFully(index, entry, (long) count * 8);
+        if (sync) index.force(false);
+
+        if (count == offsets.length) offsets = Arrays.copyOf(offsets, count * 2);
+        offsets[count] = end;
+        end += length;
+        return count++;
+    }
+
+    /** grava em disco os acréscimos feitos sem sincronização */
+    public synchronized void sync() throws IOException {
+        data.force(false);
+        index.force(false);
+    }
+
+    /** a partida {@code id}, nova */
+    public PgnGame read(int id) throws IOException {
+        PgnGame game = new PgnGame();
+        read(id, game);
+        return game;
+    }
+
+    /**
+     * Sobrescreve {@code game} com a partida {@code id} (uma leitura no
+     * arquivo de dados). Lança IOException se o registro estiver corrompido.
+     */
+    public void read(int id, PgnGame game) throws IOException {
+        long from, to;
+        synchronized (this) {
+            if (id < 0 || id >= count) throw new IndexOutOfBoundsException("partida inexistente: " + id);
+            from = offsets[id];
+            to   = id + 1 < count ? offsets[id + 1] : end;
+        }
+        byte[] bytes = new byte[(int) (to - from)];
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(data, buf, from);
+        if (!isValid(buf, bytes.length)) throw new IOException("registro corrompido: partida " + id);
+
+        game.clear();
+        int off = OFF_TAGS;
+        for (int i = 0; i < TAGS.length; i++) {
+            String value = getText(buf, off, WIDTHS[i]);
+            if (value != null) game.setTag(TAGS[i], value);
+            off += WIDTHS[i];
+        }
+        game.setResult(RESULTS[buf.get(OFF_RESULT) & 3]);
+
+        int fenLength = buf.get(OFF_FEN) & 0xFF;
+        if (fenLength > 0) game.setStartFen(new String(bytes, HEADER, fenLength, StandardCharsets.US_ASCII));
+
+        int plies = buf.getShort(OFF_PLIES) & 0xFFFF;
+        try {
+            decoders.get().decode(bytes, HEADER + fenLength, bytes.length, plies, game);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("partida " + id + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            index.close();
+        } finally {
+            data.close();
+        }
+    }
+
+    /* ---------- linha de comando ---------- */
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("uso: GameArchive <partidas.cga> <arquivo.pgn>...");
+            return;
+        }
+        try (GameArchive archive = GameArchive.open(Path.of(args[0]))) {
+            long t0 = System.nanoTime(), added = 0, rejected = 0;
+            PgnGame game = new PgnGame();
+            for (int i = 1; i < args.length; i++) {
+                try (PgnReader in = PgnReader.open(Path.of(args[i]))) {
+                    while (in.next(game)) {
+                        if (!game.isValid() || game.moveCount() > 0xFFFF) {
+                            rejected++;
+                            continue;
+                        }
+                        archive.append(game, false);
+                        if (++added % 4096 == 0) archive.sync();
+                    }
+                }
+            }
+            archive.sync();
+            long ms = Math.max(1, (System.nanoTime() - t0) / 1_000_000);
+            System.out.printf("importadas: %,d  recusadas: %,d  total: %,d  tempo: %,d ms%n",
+                              added, rejected, archive.size(), ms);
+        }
+    }
+
+    /* ---------- recuperação ---------- */
+
+    /* lê o índice e descarta do fim o que uma queda possa ter deixado pela metade */
+    private void recover() throws IOException {
+        int entries = (int) (index.size() / 8);
+        ByteBuffer all = ByteBuffer.allocate(entries * 8).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(index, all, 0);
+
+        offsets = new long[Math.max(1024, entries)];
+        for (int i = 0; i < entries; i++) offsets[i] = all.getLong(i * 8);
+
+        long size = data.size();
+        count = entries;
+        end   = 0;
+        while (count > 0) {
+            long from = offsets[count - 1];
+            ByteBuffer head = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            if (from >= 0 && from + HEADER <= size) {
+                readFully(data, head, from);
+                int length = head.getInt(OFF_LENGTH);
+                if (length >= HEADER && from + length <= size) {
+                    byte[] bytes = new byte[length];
+                    ByteBuffer rec = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+                    readFully(data, rec, from);
+                    if (isValid(rec, length)) {
+                        end = from + length;
+                        break;
+                    }
+                }
+            }
+            count--;
+        }
+
+        if (index.size() != (long) count * 8) index.truncate((long) count * 8);
+        if (size != end) data.truncate(end);
+    }
+
+    /* ---------- util ---------- */
+
+    private static boolean isValid(ByteBuffer rec, int length) {
+        return length >= HEADER
+            && rec.getInt(OFF_MAGIC) == MAGIC
+            && rec.getInt(OFF_LENGTH) == length
+            && rec.getInt(OFF_CRC) == crc(rec.array(), length);
+    }
+
+    private static int crc(byte[] rec, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(rec, OFF_PLIES, length - OFF_PLIES);
+        return (int) crc.getValue();
+    }
+
+    /* UTF-8 cortado na largura do campo sem partir caracteres; o resto fica zerado */
+    private static void putText(ByteBuffer buf, int off, int width, String value) {
+        if (value == null) return;
+        byte[] b = value.getBytes(StandardCharsets.UTF_8);
+        int n = Math.min(b.length, width);
+        while (n < b.length && n > 0 && (b[n] & 0xC0) == 0x80) n--;
+        buf.put(off, b, 0, n);
+    }
+
+    private static String getText(ByteBuffer buf, int off, int width) {
+        int n = 0;
+        while (n < width && buf.get(off + n) != 0) n++;
+        return n == 0 ? null : new String(buf.array(), off, n, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) position += ch.write(buf, position);
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, position);
+            if (n < 0) throw new IOException("fim inesperado do arquivo");
+            position += n;
+        }
+    }
+}
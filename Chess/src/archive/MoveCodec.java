@@ -0,0 +1,110 @@
+package archive;
+
+import java.util.Arrays;
+
+import model.Fen;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Position;
+import pgn.PgnGame;
+
+/**
+ * Codifica cada lance como o seu índice na lista de lances legais da
+ * posição, com o menor número de bits que comporta a lista (0 bit se há um
+ * só lance, 5 para até 32 lances, no máximo 8). O gerador é determinístico,
+ * então a mesma lista é refeita na decodificação. Não é thread-safe.
+ */
+final class MoveCodec {
+
+    private final MoveGenerator gen  = new MoveGenerator();
+    private final MoveList      list = new MoveList();
+    private final Position      pos  = new Position();
+
+    /* fluxo de bits: bytes completos em out, bits pendentes em acc */
+    private byte[] out = new byte[64];
+    private int    length;
+
+    /**
+     * Bits dos lances da partida a partir da FEN inicial; o resultado fica
+     * em {@link #bytes()} / {@link #length()} até a próxima chamada.
+     * Lança IllegalArgumentException se algum lance for ilegal.
+     */
+    void encode(PgnGame game) {
+        Fen.load(game.startFen(), pos);
+        length = 0;
+        long acc   = 0;
+        int  nbits = 0;
+        for (int i = 0; i < game.moveCount(); i++) {
+            int move = game.move(i);
+            gen.prepare(pos, pos.sideToMove());
+            gen.generate(list);
+            int index = indexOf(move);
+            if (index < 0) throw new IllegalArgumentException("lance " + (i + 1) + " ilegal na partida");
+
+            int width = width(list.size());
+            acc   |= (long) index << nbits;
+            nbits += width;
+            while (nbits >= 8) {
+                put((byte) acc);
+                acc  >>>= 8;
+                nbits -= 8;
+            }
+            pos.makeMove(move);
+        }
+        if (nbits > 0) put((byte) acc);
+    }
+
+    byte[] bytes()  { return out; }
+
+    int    length() { return length; }
+
+    /** acrescenta a {@code game} (já com a FEN inicial) os {@code plies} lances em {@code in[from, to)} */
+    void decode(byte[] in, int from, int to, int plies, PgnGame game) {
+        Fen.load(game.startFen(), pos);
+        long acc   = 0;
+        int  nbits = 0;
+        int  p     = from;
+        for (int i = 0; i < plies; i++) {
+            gen.prepare(pos, pos.sideToMove());
+            gen.generate(list);
+            int width = width(list.size());
+            while (nbits < width) {
+                if (p >= to) throw new IllegalArgumentException("lances truncados no meio-lance " + (i + 1));
+                acc   |= (long) (in[p++] & 0xFF) << nbits;
+                nbits += 8;
+            }
+            int index = (int) (acc & ((1L << width) - 1));
+            acc  >>>= width;
+            nbits -= width;
+            if (index >= list.size())
+                throw new IllegalArgumentException("índice de lance inválido no meio-lance " + (i + 1));
+
+            int move = list.get(index);
+            pos.makeMove(move);
+            game.addMove(move);
+        }
+    }
+
+    /* bits para escrever um índice em [0, n) */
+    static int width(int n) {
+        return n <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(n - 1);
+    }
+
+    private int indexOf(int move) {
+        for (int i = 0; i < list.size(); i++)
+            if (list.get(i) == move) return i;
+        /* lances de fora (ex.: ChessGame) podem não trazer as flags do gerador */
+        int from = Move.from(move), to = Move.to(move), promo = Move.promotion(move);
+        for (int i = 0; i < list.size(); i++) {
+            int m = list.get(i);
+            if (Move.from(m) == from && Move.to(m) == to && Move.promotion(m) == promo) return i;
+        }
+        return -1;
+    }
+
+    private void put(byte b) {
+        if (length == out.length) out = Arrays.copyOf(out, length * 2);
+        out[length++] = b;
+    }
+}
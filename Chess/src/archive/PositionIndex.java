@@ -0,0 +1,142 @@
+package archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice de posições: chave Zobrist ({@link model.Position#key()}) → partidas
+ * do {@link GameArchive} que passaram por ela, com o meio-lance (0 = posição
+ * inicial da partida). Construído por {@link PositionIndexBuilder}.
+ *
+ * Arquivo: cabeçalho de 16 bytes (mágico, partidas cobertas, entradas) e
+ * entradas de 16 bytes (chave; partida &lt;&lt; 16 | meio-lance) ordenadas pela
+ * chave sem sinal e depois pelo valor. O arquivo é mapeado em memória e a
+ * consulta é uma busca binária direto nas páginas mapeadas, como no
+ * {@link engine.PolyglotBook}. Leitura thread-safe (acesso absoluto).
+ */
+public final class PositionIndex implements AutoCloseable {
+
+    /** uma ocorrência da posição */
+    public record Hit(int gameId, int ply) { }
+
+    static final int MAGIC  = 0x43504931;            // "CPI1"
+    static final int HEADER = 16;
+    static final int ENTRY  = 16;
+
+    private static final int  SEGMENT_SHIFT = 26;    // 2^26 entradas = 1 GB por mapeamento
+    private static final long SEGMENT_MASK  = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel        channel;
+    private final MappedByteBuffer[] segments;
+    private final long               entries;
+    private final int                games;
+
+    private PositionIndex(FileChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer head = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) { }
+        if (head.hasRemaining() || head.getInt(0) != MAGIC)
+            throw new IOException("não é um índice de posições");
+        games   = head.getInt(4);
+        entries = head.getLong(8);
+        if (HEADER + entries * ENTRY != channel.size())
+            throw new IOException("índice de posições incompleto");
+
+        int n = (int) ((entries + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        segments = new MappedByteBuffer[n];
+        for (int i = 0; i < n; i++) {
+            long first = (long) i << SEGMENT_SHIFT;
+            long count = Math.min(entries - first, 1L << SEGMENT_SHIFT);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER + first * ENTRY, count * ENTRY);
+            segments[i].order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    public static PositionIndex open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new PositionIndex(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** índice de {@code -Dchess.positions=arquivo}, ou null se não configurado */
+    public static PositionIndex openConfigured() throws IOException {
+        String path = System.getProperty("chess.positions");
+        return path == null ? null : open(Path.of(path));
+    }
+
+    /** número de entradas (posições de todas as partidas, com repetições) */
+    public long size() {
+        return entries;
+    }
+
+    /* ---------- consulta ---------- */
+
+    /** todas as ocorrências da posição, por partida e meio-lance */
+    public List<Hit> find(long key) {
+        return find(key, Integer.MAX_VALUE);
+    }
+
+    /** no máximo {@code limit} ocorrências, das partidas de menor número */
+    public List<Hit> find(long key, int limit) {
+        List<Hit> out = new ArrayList<>();
+        for (long i = lowerBound(key); i < entries && keyAt(i) == key && out.size() < limit; i++) {
+            long v = valueAt(i);
+            out.add(new Hit((int) (v >>> 16), (int) (v & 0xFFFF)));
+        }
+        return out;
+    }
+
+    /** partidas 0 … games() − 1 já indexadas (a próxima construção pode começar daí) */
+    public int games() {
+        return games;
+    }
+
+    /** número de ocorrências da posição */
+    public long count(long key) {
+        long first = lowerBound(key);
+        long last  = first;
+        while (last < entries && keyAt(last) == key) last++;
+        return last - first;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /* ---------- acesso às entradas (também usado na intercalação) ---------- */
+
+    /* primeira entrada com chave ≥ key (ordem sem sinal, como no arquivo) */
+    long lowerBound(long key) {
+        long lo = 0, hi = entries;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(keyAt(mid), key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    long keyAt(long i) {
+        return segments[(int) (i >>> SEGMENT_SHIFT)].getLong((int) (i & SEGMENT_MASK) * ENTRY);
+    }
+
+    long valueAt(long i) {
+        return segments[(int) (i >>> SEGMENT_SHIFT)].getLong((int) (i & SEGMENT_MASK) * ENTRY + 8);
+    }
+
+    static long value(int gameId, int ply) {
+        return (long) gameId << 16 | Math.min(ply, 0xFFFF);
+    }
+}
@@ -0,0 +1,314 @@
+package archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.Fen;
+import model.Position;
+import pgn.PgnGame;
+
+/**
+ * Constrói o {@link PositionIndex} de um {@link GameArchive} em duas fases:
+ * <ol>
+ *   <li>ingestão paralela: cada thread pega blocos de partidas, refaz os
+ *       lances numa Position própria e junta (chave, partida, meio-lance)
+ *       num buffer; cheio, o buffer é ordenado (radix, sem alocação) e
+ *       gravado como uma sequência ordenada ("run") em disco;</li>
+ *   <li>compactação: as runs, mapeadas em memória, são intercaladas num único
+ *       arquivo por uma intercalação de k vias com heap.</li>
+ * </ol>
+ * Se o índice de destino já existe, ele entra na intercalação como mais uma
+ * run: basta indexar as partidas novas ({@code firstGame}). O arquivo final
+ * é escrito ao lado e só então substitui o anterior.
+ *
+ * Uso: {@code java archive.PositionIndexBuilder <partidas.cga> <posicoes.idx> [threads]}
+ */
+public final class PositionIndexBuilder {
+
+    /** partidas por bloco distribuído às threads */
+    private static final int CHUNK = 256;
+
+    private final int threads;
+    private final int runEntries;
+
+    /** {@code runEntries}: entradas por run (cada thread usa 32 bytes por entrada) */
+    public PositionIndexBuilder(int threads, int runEntries) {
+        if (threads < 1 || runEntries < 1) throw new IllegalArgumentException("parâmetros inválidos");
+        this.threads    = threads;
+        this.runEntries = runEntries;
+    }
+
+    /** uma thread por processador, runs de 1 M entradas */
+    public PositionIndexBuilder() {
+        this(Runtime.getRuntime().availableProcessors(), 1 << 20);
+    }
+
+    /**
+     * Indexa as partidas {@code firstGame …} do arquivo em {@code target}
+     * (junto com o que ele já continha) e devolve o total de entradas.
+     */
+    public long build(GameArchive archive, int firstGame, Path target) throws IOException {
+        Path runDir = target.resolveSibling(target.getFileName() + ".runs");
+        Files.createDirectories(runDir);
+        try {
+            List<Path> runs = ingest(archive, firstGame, runDir);
+            if (Files.exists(target)) runs.add(target);
+
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            long total = merge(runs, tmp, archive.size());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return total;
+        } finally {
+            try (var files = Files.list(runDir)) {
+                for (Path p : (Iterable<Path>) files::iterator) Files.deleteIfExists(p);
+            }
+            Files.deleteIfExists(runDir);
+        }
+    }
+
+    /* ---------- linha de comando ---------- */
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("uso: PositionIndexBuilder <partidas.cga> <posicoes.idx> [threads]");
+            return;
+        }
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Path target = Path.of(args[1]);
+
+        try (GameArchive archive = GameArchive.open(Path.of(args[0]))) {
+            int first = 0;
+            if (Files.exists(target)) {
+                try (PositionIndex old = PositionIndex.open(target)) {
+                    first = old.games();
+                }
+            }
+            long t0    = System.nanoTime();
+            long total = new PositionIndexBuilder(threads, 1 << 20).build(archive, first, target);
+            long ms    = Math.max(1, (System.nanoTime() - t0) / 1_000_000);
+            System.out.printf("partidas: %,d (novas: %,d)  posições: %,d  tempo: %,d ms%n",
+                              archive.size(), archive.size() - first, total, ms);
+        }
+    }
+
+    /* ---------- fase 1: ingestão ---------- */
+
+    private List<Path> ingest(GameArchive archive, int firstGame, Path runDir) throws IOException {
+        AtomicInteger next     = new AtomicInteger(firstGame);
+        AtomicInteger runCount = new AtomicInteger();
+        int last = archive.size();
+
+        List<Path> runs = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "indice");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<List<Path>>> parts = new ArrayList<>();
+            for (int i = 0; i < threads; i++)
+                parts.add(pool.submit(() -> new Worker(archive, runDir, runCount).run(next, last)));
+            for (Future<List<Path>> f : parts) runs.addAll(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("indexação interrompida", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) throw io;
+            throw new IOException("falha na indexação", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        return runs;
+    }
+
+    /* buffer e Position de uma thread de ingestão */
+    private final class Worker {
+        private final GameArchive   archive;
+        private final Path          runDir;
+        private final AtomicInteger runCount;
+        private final List<Path>    runs = new ArrayList<>();
+
+        private final long[] keys   = new long[runEntries];
+        private final long[] values = new long[runEntries];
+        private final long[] tmpK   = new long[runEntries];
+        private final long[] tmpV   = new long[runEntries];
+        private int size;
+
+        private final Position pos  = new Position();
+        private final PgnGame  game = new PgnGame();
+
+        Worker(GameArchive archive, Path runDir, AtomicInteger runCount) {
+            this.archive  = archive;
+            this.runDir   = runDir;
+            this.runCount = runCount;
+        }
+
+        List<Path> run(AtomicInteger next, int last) throws IOException {
+            for (int first; (first = next.getAndAdd(CHUNK)) < last; ) {
+                for (int id = first; id < Math.min(first + CHUNK, last); id++) {
+                    archive.read(id, game);
+                    Fen.load(game.startFen(), pos);
+                    add(pos.key(), PositionIndex.value(id, 0));
+                    for (int i = 0; i < game.moveCount(); i++) {
+                        pos.makeMove(game.move(i));
+                        add(pos.key(), PositionIndex.value(id, i + 1));
+                    }
+                }
+            }
+            if (size > 0) flush();
+            return runs;
+        }
+
+        private void add(long key, long value) throws IOException {
+            if (size == keys.length) flush();
+            keys[size]   = key;
+            values[size] = value;
+            size++;
+        }
+
+        private void flush() throws IOException {
+            sort(keys, values, tmpK, tmpV, size);
+            Path run = runDir.resolve("run-" + runCount.getAndIncrement());
+            try (FileChannel ch = FileChannel.open(run, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                Output out = new Output(ch);
+                out.header(size, 0);
+                for (int i = 0; i < size; i++) out.entry(keys[i], values[i]);
+                out.finish();
+            }
+            runs.add(run);
+            size = 0;
+        }
+    }
+
+    /*
+     * Radix LSD por bytes: primeiro pelo valor (partida, meio-lance), depois
+     * pela chave; como é estável, termina ordenado por chave e valor.
+     * Bytes iguais em todas as entradas não custam uma passada.
+     */
+    static void sort(long[] keys, long[] values, long[] tmpK, long[] tmpV, int n) {
+        long[] k = keys, v = values, k2 = tmpK, v2 = tmpV;
+        int[] count = new int[257];
+        for (int pass = 0; pass < 14; pass++) {
+            boolean byKey = pass >= 6;                    // valores têm 48 bits úteis
+            int shift = (byKey ? pass - 6 : pass) * 8;
+            long[] src = byKey ? k : v;
+
+            Arrays.fill(count, 0);
+            for (int i = 0; i < n; i++) count[(int) ((src[i] >>> shift) & 0xFF) + 1]++;
+            if (count[(int) ((src[0] >>> shift) & 0xFF) + 1] == n) continue;
+            for (int b = 0; b < 256; b++) count[b + 1] += count[b];
+
+            for (int i = 0; i < n; i++) {
+                int d = count[(int) ((src[i] >>> shift) & 0xFF)]++;
+                k2[d] = k[i];
+                v2[d] = v[i];
+            }
+            long[] t = k; k = k2; k2 = t;
+            t = v; v = v2; v2 = t;
+        }
+        if (k != keys) {
+            System.arraycopy(k, 0, keys, 0, n);
+            System.arraycopy(v, 0, values, 0, n);
+        }
+    }
+
+    /* ---------- fase 2: intercalação de k vias ---------- */
+
+    /* {@code games}: partidas cobertas pelo resultado */
+    static long merge(List<Path> runs, Path target, int games) throws IOException {
+        List<PositionIndex> inputs = new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(target, StandardOpenOption.CREATE,
+                                               StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long total = 0;
+            for (Path run : runs) {
+                PositionIndex in = PositionIndex.open(run);
+                inputs.add(in);
+                total += in.size();
+            }
+
+            int    k      = inputs.size();
+            long[] cursor = new long[k];
+            int[]  heap   = new int[k];
+            int    size   = 0;
+            for (int i = 0; i < k; i++)
+                if (inputs.get(i).size() > 0) heap[size++] = i;
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(heap, size, i, inputs, cursor);
+
+            Output out = new Output(ch);
+            out.header(total, games);
+            while (size > 0) {
+                int top = heap[0];
+                PositionIndex in = inputs.get(top);
+                out.entry(in.keyAt(cursor[top]), in.valueAt(cursor[top]));
+                if (++cursor[top] == in.size()) heap[0] = heap[--size];
+                siftDown(heap, size, 0, inputs, cursor);
+            }
+            out.finish();
+            ch.force(false);
+            return total;
+        } finally {
+            for (PositionIndex in : inputs) in.close();
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, int i, List<PositionIndex> in, long[] cursor) {
+        int x = heap[i];
+        for (int child; (child = 2 * i + 1) < size; i = child) {
+            if (child + 1 < size && less(heap[child + 1], heap[child], in, cursor)) child++;
+            if (!less(heap[child], x, in, cursor)) break;
+            heap[i] = heap[child];
+        }
+        heap[i] = x;
+    }
+
+    private static boolean less(int a, int b, List<PositionIndex> in, long[] cursor) {
+        PositionIndex ia = in.get(a), ib = in.get(b);
+        int c = Long.compareUnsigned(ia.keyAt(cursor[a]), ib.keyAt(cursor[b]));
+        if (c == 0) c = Long.compare(ia.valueAt(cursor[a]), ib.valueAt(cursor[b]));
+        return c < 0;
+    }
+
+    /* escrita sequencial em blocos de 1 MB */
+    private static final class Output {
+        private final FileChannel ch;
+        private final ByteBuffer  buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+        Output(FileChannel ch) {
+            this.ch = ch;
+        }
+
+        void header(long entries, int games) {
+            buf.putInt(PositionIndex.MAGIC).putInt(games).putLong(entries);
+        }
+
+        void entry(long key, long value) throws IOException {
+            if (buf.remaining() < PositionIndex.ENTRY) drain();
+            buf.putLong(key).putLong(value);
+        }
+
+        void finish() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package batch;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import model.Fen;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Position;
+import model.San;
+import pgn.PgnGame;
+import pgn.PgnReader;
+
+/**
+ * Revalidação em lote de coleções de partidas, em três estágios:
+ * <ol>
+ *   <li>leitura: uma thread só faz o léxico ({@link PgnReader#nextUnresolved})
+ *       e enche lotes de partidas;</li>
+ *   <li>replay: N threads, cada uma com a sua {@link Position}, resolvem os
+ *       lances SAN contra o gerador de lances legais e medem cada partida;</li>
+ *   <li>agregação: a thread que chamou {@link #run} recebe os relatórios, os
+ *       entrega ao consumidor e soma o {@link Summary}.</li>
+ * </ol>
+ * Os lotes circulam por um conjunto fixo ({@code queueCapacity + threads + 1}
+ * lotes reaproveitados): sem lote livre a leitura espera, então a memória
+ * não cresce se o replay for mais lento que o disco (contrapressão).
+ *
+ * As threads de replay não compartilham estado mutável: o ganho cresce
+ * com o número de núcleos até a leitura virar o gargalo.
+ *
+ * Uso: {@code java batch.ReplayPipeline <partidas.pgn> [threads]}
+ */
+public final class ReplayPipeline {
+
+    /** uma partida revalidada */
+    public record GameReport(long number, String white, String black, String declaredResult,
+                             FinalState finalState, int plies, int captures, int checks,
+                             int castles, int promotions, String error) {
+
+        public boolean isValid()       { return error == null; }
+
+        /** mate ou afogamento no fim que contradiz o resultado declarado */
+        public boolean resultMismatch() {
+            return switch (finalState) {
+                case WHITE_MATED -> !declaredResult.equals("0-1");
+                case BLACK_MATED -> !declaredResult.equals("1-0");
+                case STALEMATE   -> !declaredResult.equals("1/2-1/2");
+                case ONGOING     -> false;
+            };
+        }
+    }
+
+    /** situação da posição final (só o que o tabuleiro decide sozinho) */
+    public enum FinalState { ONGOING, WHITE_MATED, BLACK_MATED, STALEMATE }
+
+    /** totais de uma execução */
+    public static final class Summary {
+        /** quantos relatórios com erro são guardados */
+        public static final int MAX_ERRORS = 100;
+
+        private long games, invalid, mismatches, plies, nanos;
+        private final long[] results = new long[4];          // 1-0, 0-1, 1/2-1/2, *
+        private final List<GameReport> errors = new ArrayList<>();
+
+        public long games()              { return games; }
+        public long invalid()            { return invalid; }
+        public long mismatches()         { return mismatches; }
+        public long plies()              { return plies; }
+        public long nanos()              { return nanos; }
+        public long wins(char color)     { return results[color == 'W' ? 0 : 1]; }
+        public long draws()              { return results[2]; }
+        public long unfinished()         { return results[3]; }
+        public List<GameReport> errors() { return errors; }
+
+        public long gamesPerSecond() {
+            return nanos == 0 ? 0 : games * 1_000_000_000L / nanos;
+        }
+
+        private void add(GameReport r) {
+            games++;
+            plies += r.plies();
+            results[switch (r.declaredResult()) {
+                case "1-0"     -> 0;
+                case "0-1"     -> 1;
+                case "1/2-1/2" -> 2;
+                default        -> 3;
+            }]++;
+            if (r.resultMismatch()) mismatches++;
+            if (!r.isValid()) {
+                invalid++;
+                if (errors.size() < MAX_ERRORS) errors.add(r);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("partidas: %,d  inválidas: %,d  resultado incoerente: %,d  "
+                               + "1-0: %,d  0-1: %,d  ½-½: %,d  *: %,d  meios-lances: %,d  "
+                               + "tempo: %,d ms  partidas/s: %,d",
+                                 games, invalid, mismatches, results[0], results[1], results[2],
+                                 results[3], plies, nanos / 1_000_000, gamesPerSecond());
+        }
+    }
+
+    /** origem das partidas (chamada só pela thread de leitura) */
+    @FunctionalInterface
+    public interface Source {
+        /** sobrescreve {@code game} com a próxima partida, lances em SAN; false no fim */
+        boolean next(PgnGame game) throws IOException;
+    }
+
+    /** partidas por lote: amortiza a sincronização das filas */
+    private static final int BATCH = 64;
+
+    private final int threads;
+    private final int queueCapacity;
+
+    /**
+     * @param threads       threads de replay
+     * @param queueCapacity lotes que podem esperar entre os estágios
+     */
+    public ReplayPipeline(int threads, int queueCapacity) {
+        if (threads < 1 || queueCapacity < 1) throw new IllegalArgumentException("parâmetros inválidos");
+        this.threads       = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /** uma thread por processador */
+    public ReplayPipeline() {
+        this(Runtime.getRuntime().availableProcessors(), 16);
+    }
+
+    /** revalida todas as partidas de um arquivo PGN */
+    public Summary run(Path pgnFile, Consumer<GameReport> sink) throws IOException, InterruptedException {
+        try (PgnReader in = PgnReader.open(pgnFile)) {
+            return run(in::nextUnresolved, sink);
+        }
+    }
+
+    /**
+     * Passa todas as partidas da origem pelo replay; {@code sink} recebe os
+     * relatórios (em ordem de término, não de leitura) na thread que chamou.
+     * Um erro de leitura interrompe a execução e é relançado aqui.
+     */
+    public Summary run(Source source, Consumer<GameReport> sink) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+
+        int pool = queueCapacity + threads + 1;
+        BlockingQueue<Batch>        free    = new ArrayBlockingQueue<>(pool);
+        BlockingQueue<Batch>        full    = new ArrayBlockingQueue<>(pool);
+        BlockingQueue<GameReport[]> reports = new ArrayBlockingQueue<>(pool);
+        for (int i = 0; i < pool; i++) free.add(new Batch());
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread reader = new Thread(() -> {
+            long number = 0;
+            try {
+                for (boolean more = true; more; ) {
+                    Batch b = free.take();
+                    b.size = 0;
+                    while (b.size < BATCH && (more = source.next(b.games[b.size]))) {
+                        b.numbers[b.size++] = ++number;
+                    }
+                    if (b.size > 0) full.put(b);
+                    else free.put(b);
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } catch (InterruptedException e) {
+                // execução cancelada
+            } finally {
+                try {
+                    for (int i = 0; i < threads; i++) full.put(Batch.END);
+                } catch (InterruptedException e) {
+                    // execução cancelada
+                }
+            }
+        }, "leitura");
+        reader.setDaemon(true);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> {
+                Replayer replayer = new Replayer();
+                try {
+                    for (Batch b; (b = full.take()) != Batch.END; ) {
+                        GameReport[] out = new GameReport[b.size];
+                        for (int j = 0; j < b.size; j++) out[j] = replayer.replay(b.numbers[j], b.games[j]);
+                        free.put(b);
+                        reports.put(out);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } catch (InterruptedException e) {
+                    // execução cancelada
+                } finally {
+                    try {
+                        reports.put(new GameReport[0]);          // fim desta thread
+                    } catch (InterruptedException e) {
+                        // execução cancelada
+                    }
+                }
+            }, "replay-" + i);
+            t.setDaemon(true);
+            workers.add(t);
+        }
+
+        reader.start();
+        workers.forEach(Thread::start);
+
+        Summary summary = new Summary();
+        try {
+            for (int done = 0; done < threads; ) {
+                GameReport[] out = reports.take();
+                if (out.length == 0) {
+                    done++;
+                    continue;
+                }
+                for (GameReport r : out) {
+                    summary.add(r);
+                    sink.accept(r);
+                }
+            }
+        } finally {
+            reader.interrupt();
+            workers.forEach(Thread::interrupt);
+        }
+
+        Throwable t = failure.get();
+        if (t instanceof IOException io) throw io;
+        if (t instanceof RuntimeException re) throw re;
+        summary.nanos = System.nanoTime() - start;
+        return summary;
+    }
+
+    /* ---------- estágios ---------- */
+
+    /* lote reaproveitado: as partidas são sobrescritas a cada volta */
+    private static final class Batch {
+        static final Batch END = new Batch();
+
+        final PgnGame[] games   = new PgnGame[BATCH];
+        final long[]    numbers = new long[BATCH];
+        int size;
+
+        Batch() {
+            for (int i = 0; i < BATCH; i++) games[i] = new PgnGame();
+        }
+    }
+
+    /* estado de uma thread de replay */
+    private static final class Replayer {
+        private final Position      pos  = new Position();
+        private final San           san  = new San();
+        private final MoveGenerator gen  = new MoveGenerator();
+        private final MoveList      list = new MoveList();
+
+        GameReport replay(long number, PgnGame game) {
+            String error = game.error();
+            int plies = 0, captures = 0, checks = 0, castles = 0, promotions = 0;
+
+            if (error == null) {
+                try {
+                    Fen.load(game.startFen(), pos);
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            for (int i = 0; error == null && i < game.sanCount(); i++) {
+                int move = san.parse(pos, game.sanText(), game.sanStart(i), game.sanEnd(i));
+                if (move == Move.NONE) {
+                    error = "lance ilegal no meio-lance " + (i + 1) + ": "
+                          + game.sanText().subSequence(game.sanStart(i), game.sanEnd(i));
+                    break;
+                }
+                pos.makeMove(move);
+                plies++;
+                if (Move.isCapture(move))   captures++;
+                if (Move.isCastle(move))    castles++;
+                if (Move.isPromotion(move)) promotions++;
+                gen.prepare(pos, pos.sideToMove());
+                if (gen.inCheck()) checks++;
+            }
+
+            FinalState state = FinalState.ONGOING;
+            if (error == null) {
+                gen.prepare(pos, pos.sideToMove());
+                gen.generate(list);
+                if (list.isEmpty()) {
+                    state = !gen.inCheck() ? FinalState.STALEMATE
+                          : pos.sideToMove() == Position.WHITE ? FinalState.WHITE_MATED
+                          : FinalState.BLACK_MATED;
+                }
+            }
+            return new GameReport(number, game.tag("White"), game.tag("Black"), game.result(),
+                                  state, plies, captures, checks, castles, promotions, error);
+        }
+    }
+
+    /* ---------- linha de comando ---------- */
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.out.println("uso: ReplayPipeline <partidas.pgn> [threads]");
+            return;
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Summary s = new ReplayPipeline(threads, 16).run(Path.of(args[0]), r -> { });
+        print(s, System.out);
+    }
+
+    private static void print(Summary s, PrintStream out) {
+        out.println(s);
+        for (GameReport r : s.errors())
+            out.printf("  partida %,d (%s × %s): %s%n", r.number(), r.white(), r.black(), r.error());
+    }
+}
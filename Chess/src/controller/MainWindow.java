@@ -1,6 +1,7 @@
 package controller;
 
 import javax.swing.*;
+import model.ChessGame;
 import view.BoardPanel;
 
 public class MainWindow extends JFrame {
@@ -17,7 +18,12 @@ public class MainWindow extends JFrame {
         }
     }
 
-    public MainWindow() {
+    public MainWindow(ChessGame game) {
+        this(game, '\0');
+    }
+
+    /** {@code computerColor}: cor jogada pelo computador, ou '\0' para dois jogadores */
+    public MainWindow(ChessGame game, char computerColor) {
         /* fecha qualquer tabuleiro anterior antes de criar um novo */
         disposeCurrent();
         current = this;
@@ -25,7 +31,7 @@ public class MainWindow extends JFrame {
         setTitle("Xadrez");
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
 
-        add(new BoardPanel());
+        add(new BoardPanel(game, computerColor));
         pack();
         setLocationRelativeTo(null);
         setVisible(true);
@@ -1,8 +1,14 @@
 package controller;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import archive.GameArchive;
 import model.ChessGame;
+import pgn.PgnGame;
+import pgn.PgnReader;
 
 /** Tela inicial (Controller externo) */
 public class StartWindow extends JFrame {
@@ -14,23 +20,26 @@ public class StartWindow extends JFrame {
         setResizable(false);
 
         JButton btnNew  = new JButton("Nova Partida");
+        JButton btnCpu  = new JButton("Contra o Computador");
         JButton btnCont = new JButton("Continuar…");
 
         btnNew.addActionListener(_ -> {
-            ChessGame.getInstance().resetGame();
-            new MainWindow();
+            new MainWindow(new ChessGame());
             dispose();
         });
 
-        btnCont.addActionListener(_ -> JOptionPane.showMessageDialog(
-            this,
-            "Carregar partida estará disponível na 4ª iteração.",
-            "Função ainda não implementada",
-            JOptionPane.INFORMATION_MESSAGE));
+        /* humano com as brancas, computador com as pretas */
+        btnCpu.addActionListener(_ -> {
+            new MainWindow(new ChessGame(), 'B');
+            dispose();
+        });
+
+        btnCont.addActionListener(_ -> continueGame());
 
-        JPanel p = new JPanel(new GridLayout(2,1,10,10));
+        JPanel p = new JPanel(new GridLayout(3,1,10,10));
         p.setBorder(BorderFactory.createEmptyBorder(20,20,20,20));
         p.add(btnNew);
+        p.add(btnCpu);
         p.add(btnCont);
 
         add(p);
@@ -39,6 +48,43 @@ public class StartWindow extends JFrame {
         setVisible(true);
     }
 
+    /*
+     * Retoma, para dois jogadores, a primeira partida de um arquivo PGN ou a
+     * última gravada num arquivo binário (.cga).
+     */
+    private void continueGame() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Partidas (PGN ou .cga)", "pgn", "cga"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        Path file = chooser.getSelectedFile().toPath();
+        try {
+            PgnGame pgn = file.getFileName().toString().toLowerCase().endsWith(GameArchive.EXTENSION)
+                        ? lastArchived(file) : firstPgn(file);
+            if (!pgn.isValid()) throw new IOException(pgn.error());
+            new MainWindow(pgn.toChessGame());
+            dispose();
+        } catch (IOException | RuntimeException ex) {
+            JOptionPane.showMessageDialog(this, "Não foi possível carregar: " + ex.getMessage(),
+                                          "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private static PgnGame firstPgn(Path file) throws IOException {
+        try (PgnReader in = PgnReader.open(file)) {
+            PgnGame pgn = in.next();
+            if (pgn == null) throw new IOException("nenhuma partida no arquivo");
+            return pgn;
+        }
+    }
+
+    private static PgnGame lastArchived(Path file) throws IOException {
+        try (GameArchive archive = GameArchive.open(file)) {
+            if (archive.size() == 0) throw new IOException("nenhuma partida no arquivo");
+            return archive.read(archive.size() - 1);
+        }
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(StartWindow::new);
     }
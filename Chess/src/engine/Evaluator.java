@@ -0,0 +1,25 @@
+package engine;
+
+import model.PieceSquareTables;
+import model.Position;
+
+/**
+ * Avaliação estática em centipeões, do ponto de vista da cor da vez
+ * (positivo = bom para quem joga): material e tabelas peça-casa,
+ * interpolados entre meio-jogo e final pela fase. As somas são mantidas
+ * pelo {@link Position} a cada lance, então avaliar custa O(1).
+ */
+public final class Evaluator {
+
+    private Evaluator() { }
+
+    /** valor aproximado de cada tipo (PAWN … KING), usado na ordenação de lances */
+    public static final int[] VALUE = { 100, 320, 330, 500, 900, 0 };
+
+    public static int evaluate(Position pos) {
+        int phase = Math.min(pos.phase(), PieceSquareTables.MAX_PHASE);
+        int score = (pos.mgScore() * phase
+                   + pos.egScore() * (PieceSquareTables.MAX_PHASE - phase)) / PieceSquareTables.MAX_PHASE;
+        return pos.sideToMove() == Position.WHITE ? score : -score;
+    }
+}
@@ -0,0 +1,187 @@
+package engine;
+
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Position;
+import model.See;
+
+/**
+ * Entrega os lances de um nó em estágios, gerando cada grupo só quando o
+ * anterior se esgota: lance da tabela, capturas que não perdem material
+ * (vítima mais valiosa, atacante menos valioso), lances assassinos, lances
+ * quietos pela tabela de histórico e, por fim, capturas perdedoras pela
+ * troca estática e subpromoções. Um corte no lance da tabela não gera
+ * nada; um corte numa captura não gera os quietos.
+ *
+ * Como o gerador é compartilhado com os nós filhos, cada estágio prepara
+ * de novo o gerador para a posição do nó antes de gerar. Uma instância
+ * por ply; não é thread-safe.
+ */
+final class MovePicker {
+
+    private static final int HASH          = 0;
+    private static final int GEN_CAPTURES  = 1;
+    private static final int GOOD_CAPTURES = 2;
+    private static final int KILLER_1      = 3;
+    private static final int KILLER_2      = 4;
+    private static final int GEN_QUIETS    = 5;
+    private static final int QUIETS        = 6;
+    private static final int BAD_CAPTURES  = 7;
+    private static final int DONE          = 8;
+
+    private final MoveList captures = new MoveList();
+    private final MoveList quiets   = new MoveList();
+    private final int[]    capScores   = new int[MoveList.CAPACITY];
+    private final int[]    quietScores = new int[MoveList.CAPACITY];
+    private final int[]    bad         = new int[MoveList.CAPACITY];
+
+    private Position      pos;
+    private MoveGenerator gen;
+    private int[]         history;
+
+    private int     stage;
+    private int     hashMove, killer1, killer2;
+    private int     next, badCount, badNext;
+    private boolean quiescence;
+    private boolean inCheck;
+
+    /**
+     * Nó da busca principal. {@code history} é indexado por
+     * {@link #historyIndex}; lances da tabela e assassinos ilegais na
+     * posição são ignorados.
+     */
+    void init(Position pos, MoveGenerator gen, int hashMove, int killer1, int killer2, int[] history) {
+        this.pos     = pos;
+        this.gen     = gen;
+        this.history = history;
+        gen.prepare(pos, pos.sideToMove());
+        inCheck    = gen.inCheck();
+        quiescence = false;
+
+        this.hashMove = hashMove != Move.NONE && gen.isLegal(hashMove) ? hashMove : Move.NONE;
+        this.killer1  = killer1 != this.hashMove ? killer1 : Move.NONE;
+        this.killer2  = killer2 != this.hashMove ? killer2 : Move.NONE;
+        stage    = this.hashMove != Move.NONE ? HASH : GEN_CAPTURES;
+        badCount = 0;
+        badNext  = 0;
+    }
+
+    /**
+     * Nó da quiescência: só capturas que não perdem material e promoções a
+     * dama; em xeque, todas as evasões.
+     */
+    void initQuiescence(Position pos, MoveGenerator gen, int[] history) {
+        init(pos, gen, Move.NONE, Move.NONE, Move.NONE, history);
+        quiescence = !inCheck;
+    }
+
+    /** a posição do nó está em xeque */
+    boolean inCheck() {
+        return inCheck;
+    }
+
+    /** próximo lance legal, ou {@link Move#NONE} quando acabaram */
+    int next() {
+        while (true) {
+            switch (stage) {
+                case HASH -> {
+                    stage = GEN_CAPTURES;
+                    return hashMove;
+                }
+                case GEN_CAPTURES -> {
+                    gen.prepare(pos, pos.sideToMove());
+                    gen.generateCaptures(captures);
+                    scoreCaptures();
+                    next  = 0;
+                    stage = GOOD_CAPTURES;
+                }
+                case GOOD_CAPTURES -> {
+                    while (next < captures.size()) {
+                        int m = pickBest(captures, capScores, next++);
+                        if (m == hashMove) continue;
+                        if ((Move.isPromotion(m) && Move.promotion(m) != Position.QUEEN)
+                                || !See.seeGE(pos, m, 0)) {
+                            bad[badCount++] = m;
+                            continue;
+                        }
+                        return m;
+                    }
+                    stage = quiescence ? DONE : KILLER_1;
+                }
+                case KILLER_1 -> {
+                    /* um assassino de outro nó só vale se for lance quieto legal aqui */
+                    gen.prepare(pos, pos.sideToMove());
+                    if (!isQuiet(killer1)) killer1 = Move.NONE;
+                    if (killer2 == killer1 || !isQuiet(killer2)) killer2 = Move.NONE;
+                    stage = KILLER_2;
+                    if (killer1 != Move.NONE) return killer1;
+                }
+                case KILLER_2 -> {
+                    stage = GEN_QUIETS;
+                    if (killer2 != Move.NONE) return killer2;
+                }
+                case GEN_QUIETS -> {
+                    gen.prepare(pos, pos.sideToMove());
+                    gen.generateQuiets(quiets);
+                    int side = pos.sideToMove();
+                    for (int i = 0; i < quiets.size(); i++)
+                        quietScores[i] = history[historyIndex(side, quiets.get(i))];
+                    next  = 0;
+                    stage = QUIETS;
+                }
+                case QUIETS -> {
+                    while (next < quiets.size()) {
+                        int m = pickBest(quiets, quietScores, next++);
+                        if (m != hashMove && m != killer1 && m != killer2) return m;
+                    }
+                    stage = BAD_CAPTURES;
+                }
+                case BAD_CAPTURES -> {
+                    if (badNext < badCount) return bad[badNext++];
+                    stage = DONE;
+                }
+                default -> {
+                    return Move.NONE;
+                }
+            }
+        }
+    }
+
+    private boolean isQuiet(int move) {
+        return move != Move.NONE && !Move.isCapture(move) && !Move.isPromotion(move) && gen.isLegal(move);
+    }
+
+    /** posição do lance quieto na tabela de histórico: cor, origem, destino */
+    static int historyIndex(int side, int move) {
+        return side << 12 | (move & 0xFFF);
+    }
+
+    /* vítima mais valiosa, atacante menos valioso; promoção soma a peça nova */
+    private void scoreCaptures() {
+        for (int i = 0; i < captures.size(); i++) {
+            int m = captures.get(i);
+            int s = 0;
+            if (Move.isCapture(m)) {
+                int victim = Move.isEnPassant(m) ? Position.PAWN : Position.typeOf(pos.pieceAt(Move.to(m)));
+                int attacker = Position.typeOf(pos.pieceAt(Move.from(m)));
+                s = Evaluator.VALUE[victim] * 10 - attacker;
+            }
+            if (Move.isPromotion(m)) s += Evaluator.VALUE[Move.promotion(m)];
+            capScores[i] = s;
+        }
+    }
+
+    /* seleção parcial: traz o melhor de [from, size) para from e devolve-o */
+    private static int pickBest(MoveList list, int[] scores, int from) {
+        int best = from;
+        for (int i = from + 1; i < list.size(); i++)
+            if (scores[i] > scores[best]) best = i;
+        int m = list.get(best), s = scores[best];
+        list.set(best, list.get(from));
+        scores[best] = scores[from];
+        list.set(from, m);
+        scores[from] = s;
+        return m;
+    }
+}
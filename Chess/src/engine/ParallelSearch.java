@@ -0,0 +1,150 @@
+package engine;
+
+import java.io.PrintStream;
+import java.util.function.Consumer;
+
+import model.ChessGame;
+import model.Fen;
+import model.Move;
+import model.Position;
+import tablebase.Tablebase;
+
+/**
+ * Busca paralela "Lazy SMP": N threads buscam a mesma raiz, cada uma com a
+ * sua cópia da posição, compartilhando apenas a {@link TranspositionTable}.
+ * As ajudantes começam em profundidades escalonadas, de modo que preenchem a
+ * tabela com resultados que a thread principal reaproveita. Quando a
+ * principal termina (tempo ou profundidade), as demais são interrompidas e
+ * vence o resultado completo mais profundo.
+ *
+ * Uso: {@code java engine.ParallelSearch [profundidade] [FEN] [--threads 1,2,4,8]}
+ * mede tempo até a profundidade e NPS para cada número de threads.
+ */
+public final class ParallelSearch {
+
+    private final Search[]          searches;
+    private final TranspositionTable tt;
+
+    /** @param threads número de threads de busca (1 = busca simples) */
+    public ParallelSearch(Position root, long[] history, TranspositionTable tt, int threads) {
+        this.tt  = tt;
+        searches = new Search[Math.max(1, threads)];
+        for (int i = 0; i < searches.length; i++) {
+            searches[i] = new Search(root, history, tt);
+            if (i > 0) searches[i].makeHelper(1 + i % 3);
+        }
+    }
+
+    /** busca sobre a posição atual da partida, sem tocá-la */
+    public static ParallelSearch forGame(ChessGame game, TranspositionTable tt, int threads) {
+        return new ParallelSearch(game.getBoard().getPosition(), game.getRepetitionKeys(), tt, threads);
+    }
+
+    public int threads() {
+        return searches.length;
+    }
+
+    /** iterações completas da thread principal */
+    public void setListener(Consumer<SearchResult> listener) {
+        searches[0].setListener(listener);
+    }
+
+    /** ver {@link Search#setTablebase} */
+    public void setTablebase(Tablebase tablebase) {
+        for (Search s : searches) s.setTablebase(tablebase);
+    }
+
+    /** interrompe todas as threads */
+    public void stop() {
+        for (Search s : searches) s.stop();
+    }
+
+    /**
+     * Mesmo contrato de {@link Search#think}; os nós do resultado somam
+     * todas as threads.
+     */
+    public SearchResult think(long millis, int maxDepth) {
+        long start = System.nanoTime();
+        tt.newSearch();
+
+        /* limpa antes de iniciar as threads: um stop() que chegue antes de uma ajudante começar não se perde */
+        for (Search s : searches) s.clearStop();
+
+        SearchResult[] results = new SearchResult[searches.length];
+        Thread[]       helpers = new Thread[searches.length - 1];
+        for (int i = 1; i < searches.length; i++) {
+            int id = i;
+            helpers[i - 1] = Thread.ofPlatform().daemon().name("busca-" + i)
+                .start(() -> results[id] = searches[id].run(0, maxDepth));
+        }
+
+        results[0] = searches[0].run(millis, maxDepth);
+
+        for (int i = 1; i < searches.length; i++) searches[i].stop();
+        for (Thread t : helpers) {
+            try {
+                t.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /* resultado completo mais profundo; em empate, o da principal */
+        SearchResult best  = results[0];
+        long         nodes = 0, qnodes = 0;
+        for (int i = 0; i < searches.length; i++) {
+            nodes  += searches[i].nodes();
+            qnodes += searches[i].qnodes();
+            SearchResult r = results[i];
+            if (r != null && best != null && r.depth() > best.depth()) best = r;
+        }
+        if (best == null) return null;
+        return new SearchResult(best.bestMove(), best.score(), best.depth(), best.pv(),
+                                nodes, qnodes, System.nanoTime() - start);
+    }
+
+    /* ---------- escalabilidade ---------- */
+
+    public static void main(String[] args) {
+        int    depth   = 9;
+        String fen     = Fen.START;
+        int[]  threads = { 1, 2, 4, Runtime.getRuntime().availableProcessors() };
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--threads")) {
+                String[] t = args[++i].split(",");
+                threads = new int[t.length];
+                for (int j = 0; j < t.length; j++) threads[j] = Integer.parseInt(t[j]);
+            } else if (args[i].matches("\\d+")) {
+                depth = Integer.parseInt(args[i]);
+            } else {
+                fen = args[i];
+            }
+        }
+        report(Fen.parse(fen), depth, threads, TranspositionTable.DEFAULT_MB, System.out);
+    }
+
+    /**
+     * Busca até {@code depth} com cada número de threads (tabela nova a cada
+     * medida) e imprime tempo até a profundidade, NPS e ganho sobre 1 thread.
+     */
+    public static void report(Position root, int depth, int[] threads, int hashMb, PrintStream out) {
+        /* aquecimento do JIT, fora da medida */
+        new ParallelSearch(root, new long[] { root.key() }, new TranspositionTable(1), 1)
+            .think(0, Math.max(1, depth - 2));
+
+        out.printf("%8s %12s %14s %8s %8s  %s%n", "threads", "tempo (ms)", "nps", "ganho", "nps x", "lance");
+        double baseMs = 0, baseNps = 0;
+        for (int n : threads) {
+            ParallelSearch ps = new ParallelSearch(root, new long[] { root.key() },
+                                                   new TranspositionTable(hashMb), n);
+            SearchResult r  = ps.think(0, depth);
+            double ms  = r.nanos() / 1e6;
+            double nps = r.nps();
+            if (baseMs == 0) { baseMs = ms; baseNps = nps; }
+            out.printf("%8d %,12.0f %,14.0f %7.2fx %7.2fx  %s%n",
+                       n, ms, nps, baseMs / ms, nps / baseNps,
+                       Move.toString(r.bestMove()));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import model.Bitboards;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Position;
+
+/**
+ * Livro de aberturas no formato Polyglot (.bin): entradas de 16 bytes
+ * big-endian (chave 8, lance 2, peso 2, aprendizado 4), ordenadas pela chave.
+ *
+ * O arquivo é mapeado em memória, nunca copiado para o heap: a consulta é
+ * uma busca binária direto nas páginas mapeadas. Arquivos maiores que 1 GB
+ * ficam em vários mapeamentos. Leitura thread-safe (acesso absoluto).
+ */
+public final class PolyglotBook implements AutoCloseable {
+
+    /** lance do livro já convertido para o formato compactado ({@link Move}) */
+    public record BookMove(int move, int weight) { }
+
+    private static final int  ENTRY         = 16;
+    private static final int  SEGMENT_SHIFT = 26;              // 2^26 entradas = 1 GB por mapeamento
+    private static final long SEGMENT_MASK  = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel        channel;
+    private final MappedByteBuffer[] segments;
+    private final long               entries;
+    private final PolyglotKeys       keys;
+
+    private PolyglotBook(FileChannel channel, PolyglotKeys keys) throws IOException {
+        this.channel = channel;
+        this.keys    = keys;
+        this.entries = channel.size() / ENTRY;
+
+        int n = (int) ((entries + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        segments = new MappedByteBuffer[n];
+        for (int i = 0; i < n; i++) {
+            long first = (long) i << SEGMENT_SHIFT;
+            long count = Math.min(entries - first, 1L << SEGMENT_SHIFT);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, first * ENTRY, count * ENTRY);
+            segments[i].order(ByteOrder.BIG_ENDIAN);
+        }
+    }
+
+    public static PolyglotBook open(Path file, PolyglotKeys keys) throws IOException {
+        return new PolyglotBook(FileChannel.open(file, StandardOpenOption.READ), keys);
+    }
+
+    /** livro de {@code -Dchess.book=arquivo} com as chaves padrão, ou null se não configurado */
+    public static PolyglotBook openConfigured() throws IOException {
+        String path = System.getProperty("chess.book");
+        return path == null ? null : open(Path.of(path), PolyglotKeys.standard());
+    }
+
+    public long size() {
+        return entries;
+    }
+
+    /* ---------- consulta ---------- */
+
+    /** lances legais do livro para a posição, na ordem do arquivo */
+    public List<BookMove> lookup(Position pos) {
+        List<BookMove> out = new ArrayList<>();
+        long key = keys.key(pos);
+
+        MoveGenerator gen   = new MoveGenerator();
+        MoveList      legal = new MoveList();
+        gen.prepare(pos, pos.sideToMove());
+        gen.generate(legal);
+
+        for (long i = lowerBound(key); i < entries && keyAt(i) == key; i++) {
+            int move = toMove(shortAt(i, 8), legal);
+            if (move != Move.NONE) out.add(new BookMove(move, shortAt(i, 10)));
+        }
+        return out;
+    }
+
+    /**
+     * Sorteia um lance com probabilidade proporcional ao peso (peso 0 nunca
+     * é escolhido); {@link Move#NONE} se a posição não está no livro.
+     */
+    public int pick(Position pos, RandomGenerator rnd) {
+        List<BookMove> moves = lookup(pos);
+        int total = 0;
+        for (BookMove m : moves) total += m.weight();
+        if (total == 0) return Move.NONE;
+
+        int r = rnd.nextInt(total);
+        for (BookMove m : moves) {
+            r -= m.weight();
+            if (r < 0) return m.move();
+        }
+        return Move.NONE;
+    }
+
+    /* primeira entrada com chave ≥ key (ordem sem sinal, como no arquivo) */
+    private long lowerBound(long key) {
+        long lo = 0, hi = entries;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (Long.compareUnsigned(keyAt(mid), key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private long keyAt(long i) {
+        return segments[(int) (i >>> SEGMENT_SHIFT)].getLong((int) (i & SEGMENT_MASK) * ENTRY);
+    }
+
+    private int shortAt(long i, int offset) {
+        return segments[(int) (i >>> SEGMENT_SHIFT)].getShort((int) (i & SEGMENT_MASK) * ENTRY + offset) & 0xFFFF;
+    }
+
+    /*
+     * Lance Polyglot: bits 0-2 coluna de destino, 3-5 fileira de destino,
+     * 6-8 coluna de origem, 9-11 fileira de origem, 12-14 promoção
+     * (1 cavalo … 4 dama). O roque vem como "rei captura a própria torre".
+     */
+    private static int toMove(int pg, MoveList legal) {
+        int to    = Bitboards.square(7 - ((pg >>> 3) & 7), pg & 7);
+        int from  = Bitboards.square(7 - ((pg >>> 9) & 7), (pg >>> 6) & 7);
+        int promo = (pg >>> 12) & 7;     // Position.KNIGHT … QUEEN têm os mesmos valores
+
+        for (int i = 0; i < legal.size(); i++) {
+            int m = legal.get(i);
+            if (Move.from(m) != from || Move.promotion(m) != promo) continue;
+            if (Move.to(m) == to) return m;
+            if (Move.isCastle(m) && Bitboards.rowOf(to) == Bitboards.rowOf(from)
+                    && (to > from) == (Move.to(m) > from)
+                    && Math.abs(Bitboards.colOf(to) - Bitboards.colOf(from)) >= 3) {
+                return m;
+            }
+        }
+        return Move.NONE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
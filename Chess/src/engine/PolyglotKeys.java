@@ -0,0 +1,95 @@
+package engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import model.Bitboards;
+import model.Position;
+
+/**
+ * Chave de posição no formato Polyglot. Não é a {@link model.Zobrist} do
+ * modelo: os livros .bin são indexados pelo arranjo padrão "Random64" de
+ * 781 números, com outra numeração de casas (a1 = 0) e de peças
+ * (peão preto = 0, peão branco = 1, …, rei branco = 11).
+ *
+ * O arranjo padrão é lido de um arquivo de texto com os 781 literais
+ * hexadecimais (como publicados na especificação do formato). O recurso
+ * {@code /engine/polyglot-random64.txt} acompanha o programa;
+ * {@code -Dchess.polyglot.random=arquivo} o substitui.
+ */
+public final class PolyglotKeys {
+
+    public static final int SIZE = 781;
+
+    private static final int CASTLE = 768;
+    private static final int EP     = 772;
+    private static final int TURN   = 780;
+
+    private final long[] random;
+
+    public PolyglotKeys(long[] random64) {
+        if (random64.length != SIZE)
+            throw new IllegalArgumentException("Random64 precisa de " + SIZE + " números, recebeu " + random64.length);
+        random = random64.clone();
+    }
+
+    /** arranjo padrão, do arquivo da propriedade ou do recurso embutido */
+    public static PolyglotKeys standard() throws IOException {
+        String path = System.getProperty("chess.polyglot.random");
+        if (path != null) return new PolyglotKeys(parse(Files.readString(Path.of(path))));
+
+        try (InputStream in = PolyglotKeys.class.getResourceAsStream("/engine/polyglot-random64.txt")) {
+            if (in == null)
+                throw new IOException("arranjo Random64 do Polyglot não encontrado "
+                                    + "(use -Dchess.polyglot.random=arquivo)");
+            return new PolyglotKeys(parse(new String(in.readAllBytes(), StandardCharsets.US_ASCII)));
+        }
+    }
+
+    /** extrai os literais 0x… do texto, na ordem */
+    static long[] parse(String text) {
+        long[] r = new long[SIZE];
+        int    n = 0;
+        Matcher m = Pattern.compile("0[xX]([0-9a-fA-F]{1,16})").matcher(text);
+        while (m.find() && n < SIZE) r[n++] = Long.parseUnsignedLong(m.group(1), 16);
+        if (n != SIZE) throw new IllegalArgumentException("Random64 incompleto: " + n + " de " + SIZE);
+        return r;
+    }
+
+    public long key(Position pos) {
+        long key = 0L;
+        for (long occ = pos.occupied(); occ != 0; occ &= occ - 1) {
+            int sq   = Bitboards.lsb(occ);
+            int code = pos.pieceAt(sq);
+            int kind = 2 * Position.typeOf(code) + (Position.colorOf(code) == Position.WHITE ? 1 : 0);
+            key ^= random[64 * kind + polyglotSquare(sq)];
+        }
+
+        int rights = pos.castlingRights();
+        if ((rights & Position.WHITE_KINGSIDE)  != 0) key ^= random[CASTLE];
+        if ((rights & Position.WHITE_QUEENSIDE) != 0) key ^= random[CASTLE + 1];
+        if ((rights & Position.BLACK_KINGSIDE)  != 0) key ^= random[CASTLE + 2];
+        if ((rights & Position.BLACK_QUEENSIDE) != 0) key ^= random[CASTLE + 3];
+
+        /* en-passant só conta se um peão da vez pode de fato capturar */
+        int ep = pos.enPassantSquare();
+        if (ep >= 0) {
+            int  us       = pos.sideToMove();
+            long capturer = Bitboards.PAWN_ATTACKS[us ^ 1][ep] & pos.pieces(us, Position.PAWN);
+            if (capturer != 0) key ^= random[EP + Bitboards.colOf(ep)];
+        }
+
+        if (pos.sideToMove() == Position.WHITE) key ^= random[TURN];
+        return key;
+    }
+
+    /** casa do Board (a8 = 0) → casa Polyglot (a1 = 0) */
+    static int polyglotSquare(int sq) {
+        return sq ^ 56;
+    }
+}
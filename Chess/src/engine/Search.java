@@ -0,0 +1,394 @@
+package engine;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import model.ChessGame;
+import model.Move;
+import model.MoveGenerator;
+import model.Position;
+import tablebase.Tablebase;
+
+/**
+ * Busca negamax com poda alfa-beta e aprofundamento iterativo, limitada por
+ * tempo e/ou profundidade. As folhas seguem numa busca de quiescência (só
+ * capturas e promoções) até a posição ficar quieta. Trabalha numa cópia da posição: a partida exibida
+ * nunca é alterada. Não é thread-safe; cada thread usa a sua instância,
+ * mas a {@link TranspositionTable} pode ser compartilhada entre elas.
+ */
+public final class Search {
+
+    public static final int MAX_PLY = 64;
+    public static final int MATE    = 32_000;
+    public static final int INF     = 32_767;
+
+    /*
+     * Notas a partir de TB_WIN (em módulo) são vitórias provadas com a distância
+     * embutida: mates da busca, a menos de MAX_PLY da raiz, e vitórias das tabelas
+     * de finais, que somam ao ply da sondagem um DTM bem maior (KBNK chega a 66).
+     */
+    public static final int TB_WIN  = MATE - 1024;
+
+    /* de quantos em quantos nós o relógio é consultado */
+    private static final int CLOCK_MASK = 1023;
+
+    /* poda delta: folga além do material capturado para ainda valer a captura */
+    private static final int DELTA_MARGIN = 200;
+
+    private final Position      pos;
+    private final TranspositionTable tt;
+    private final MoveGenerator gen   = new MoveGenerator();
+    private final MovePicker[]  pickers = new MovePicker[MAX_PLY];
+
+    /* variante principal triangular: pv[ply] guarda a melhor linha a partir de ply */
+    private final int[][] pv    = new int[MAX_PLY + 1][MAX_PLY + 1];
+    private final int[]   pvLen = new int[MAX_PLY + 1];
+
+    /* variante da iteração anterior, usada na ordenação */
+    private final int[] prevPv = new int[MAX_PLY + 1];
+    private int prevPvLen;
+
+    /* ordenação dos quietos: dois assassinos por ply e histórico [cor][origem][destino] */
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[]   history = new int[2 << 12];
+    private static final int HISTORY_MAX = 1 << 20;
+
+    /* cortes beta nos nós com lances, e quantos deles no primeiro lance tentado */
+    private long cutoffs;
+    private long firstMoveCutoffs;
+
+    /*
+     * chaves das posições desde o último lance irreversível: as da partida
+     * seguidas das do caminho atual; windowStart[ply] marca onde começa a
+     * janela de repetição para a posição em ply.
+     */
+    private long[] keys;
+    private int    rootIndex;
+    private final int[] windowStart = new int[MAX_PLY + 1];
+
+    private long nodes;      // todos os nós, quiescência incluída
+    private long qnodes;     // só os da quiescência
+    private long deadline;
+    private long nodeLimit = Long.MAX_VALUE;
+    private volatile boolean stopped;
+
+    private Consumer<SearchResult> listener = r -> { };
+
+    /* tabelas de finais consultadas abaixo da raiz, ou null */
+    private Tablebase tablebase;
+
+    /* Lazy SMP (ver ParallelSearch): ajudantes começam mais fundo e não avançam a geração da tabela */
+    private int     startDepth = 1;
+    private boolean helper;
+
+    /** busca a partir de uma cópia de {@code root}, sem histórico anterior */
+    public Search(Position root) {
+        this(root, new long[] { root.key() }, new TranspositionTable());
+    }
+
+    /**
+     * @param history chaves desde o último lance irreversível, terminando na
+     *                da própria raiz (ver {@link ChessGame#getRepetitionKeys})
+     * @param tt      tabela de transposição, possivelmente compartilhada
+     */
+    public Search(Position root, long[] history, TranspositionTable tt) {
+        this.tt = tt;
+        pos = root.copy();
+        for (int i = 0; i < MAX_PLY; i++) pickers[i] = new MovePicker();
+        keys      = Arrays.copyOf(history, history.length + MAX_PLY + 1);
+        rootIndex = history.length - 1;
+    }
+
+    /** busca sobre a posição atual da partida, sem tocá-la */
+    public static Search forGame(ChessGame game, TranspositionTable tt) {
+        return new Search(game.getBoard().getPosition(), game.getRepetitionKeys(), tt);
+    }
+
+    /** chamado ao fim de cada iteração completa */
+    public void setListener(Consumer<SearchResult> listener) {
+        this.listener = listener;
+    }
+
+    /** resultado exato, sem busca, nas posições cobertas pelas tabelas */
+    public void setTablebase(Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    void makeHelper(int startDepth) {
+        this.helper     = true;
+        this.startDepth = startDepth;
+    }
+
+    /** interrompe a busca em andamento (pode ser chamado de outra thread) */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Aprofunda de 1 até {@code maxDepth} enquanto houver tempo. A iteração
+     * de profundidade 1 sempre termina; uma iteração interrompida é descartada.
+     * Devolve null apenas se a raiz não tem lances legais.
+     */
+    public SearchResult think(long millis, int maxDepth) {
+        stopped = false;
+        return run(millis, maxDepth);
+    }
+
+    /* marca a busca como não interrompida, antes de entregá-la a outra thread */
+    void clearStop() {
+        stopped = false;
+    }
+
+    /*
+     * think sem limpar a interrupção: um stop() chamado antes de a thread
+     * começar continua valendo (ver ParallelSearch).
+     */
+    SearchResult run(long millis, int maxDepth) {
+        long start = System.nanoTime();
+        deadline = millis > 0 ? start + millis * 1_000_000L : Long.MAX_VALUE;
+        nodes    = 0;
+        qnodes   = 0;
+        cutoffs  = 0;
+        firstMoveCutoffs = 0;
+        for (int[] k : killers) k[0] = k[1] = Move.NONE;
+        for (int i = 0; i < history.length; i++) history[i] >>= 1;   // o histórico anterior pesa metade
+        if (!helper) tt.newSearch();
+        windowStart[0] = 0;
+
+        SearchResult best = null;
+        prevPvLen = 0;
+        for (int depth = startDepth; depth <= Math.min(maxDepth, MAX_PLY - 1); depth++) {
+            int score = negamax(depth, 0, -INF, INF);
+            if (stopped && depth > 1) break;       // profundidade 1 fica: folhas interrompidas dão notas limitadas
+            if (pvLen[0] == 0) return null;        // sem lances: mate ou afogamento
+
+            best = new SearchResult(pv[0][0], score, depth, Arrays.copyOf(pv[0], pvLen[0]),
+                                    nodes, qnodes, System.nanoTime() - start);
+            System.arraycopy(pv[0], 0, prevPv, 0, pvLen[0]);
+            prevPvLen = pvLen[0];
+            listener.accept(best);
+            if (best.isMate() || System.nanoTime() >= deadline) break;
+        }
+        return best;
+    }
+
+    public long nodes() {
+        return nodes;
+    }
+
+    /** parte de {@link #nodes} gasta na busca de quiescência */
+    public long qnodes() {
+        return qnodes;
+    }
+
+    /** cortes beta da última busca (fora da quiescência) */
+    public long cutoffs() {
+        return cutoffs;
+    }
+
+    /** cortes beta no primeiro lance tentado; a razão por {@link #cutoffs} mede a ordenação */
+    public long firstMoveCutoffs() {
+        return firstMoveCutoffs;
+    }
+
+    /* interrompe a busca ao chegar a {@code nodes} nós (testes e medições reproduzíveis) */
+    void setNodeLimit(long nodes) {
+        nodeLimit = nodes;
+    }
+
+    /* conta um nó; o relógio só é lido a cada CLOCK_MASK + 1 nós */
+    private void tick() {
+        if (((++nodes & CLOCK_MASK) == 0 && System.nanoTime() >= deadline) || nodes >= nodeLimit) stopped = true;
+    }
+
+    /* ---------- negamax ---------- */
+
+    private int negamax(int depth, int ply, int alpha, int beta) {
+        pvLen[ply] = 0;
+        tick();
+
+        if (ply > 0 && isRepetition(ply)) return 0;
+        if (ply > 0 && tablebase != null && Long.bitCount(pos.occupied()) <= Tablebase.MAX_PIECES) {
+            Tablebase.Result r = tablebase.probe(pos);
+            if (r != null) return switch (r.outcome()) {
+                case WIN  ->  MATE - ply - r.dtm();
+                case LOSS -> -MATE + ply + r.dtm();
+                case DRAW -> 0;
+            };
+        }
+        if (ply >= MAX_PLY - 1) return Evaluator.evaluate(pos);
+        if (depth == 0) return quiesce(ply, alpha, beta);
+        if (stopped && ply > 0) return 0;
+
+        /* tabela de transposição: corte se a entrada é profunda o bastante */
+        long key    = pos.key();
+        long entry  = tt.probe(key);
+        int  ttMove = TranspositionTable.move(entry);
+        if (entry != 0 && ply > 0 && TranspositionTable.depth(entry) >= depth) {
+            int s = fromTT(TranspositionTable.score(entry), ply);
+            int b = TranspositionTable.bound(entry);
+            if (b == TranspositionTable.EXACT
+                    || (b == TranspositionTable.LOWER && s >= beta)
+                    || (b == TranspositionTable.UPPER && s <= alpha)) {
+                return s;
+            }
+        }
+
+        /* lance da tabela; sem ele, o da variante anterior */
+        int hashMove = ttMove != Move.NONE ? ttMove : ply < prevPvLen ? prevPv[ply] : Move.NONE;
+        MovePicker picker = pickers[ply];
+        picker.init(pos, gen, hashMove, killers[ply][0], killers[ply][1], history);
+
+        int alphaOrig = alpha;
+        int best      = -INF;
+        int bestMove  = Move.NONE;
+        int tried     = 0;
+        for (int move; (move = picker.next()) != Move.NONE; ) {
+            tried++;
+            push(move, ply);
+            int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            pos.unmakeMove(move);
+            if (stopped && ply > 0) return 0;
+
+            if (score > best) {
+                best     = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePv(ply, move);
+                    if (alpha >= beta) {
+                        cutoff(move, ply, depth, tried);
+                        break;
+                    }
+                }
+            }
+        }
+        if (tried == 0) return picker.inCheck() ? -MATE + ply : 0;
+
+        if (!stopped) {
+            int bound = best >= beta      ? TranspositionTable.LOWER
+                      : best > alphaOrig ? TranspositionTable.EXACT
+                      :                    TranspositionTable.UPPER;
+            tt.store(key, bestMove, toTT(best, ply), depth, bound);
+        }
+        return best;
+    }
+
+    /* ---------- quiescência ---------- */
+
+    /*
+     * Só capturas e promoções, até a posição ficar quieta. Sem xeque, quem
+     * joga pode ficar com a avaliação estática (stand-pat); capturas que nem
+     * com a folga DELTA_MARGIN alcançam alfa, ou que perdem material pela
+     * troca estática, não são jogadas. Em xeque, todas as evasões.
+     */
+    private int quiesce(int ply, int alpha, int beta) {
+        pvLen[ply] = 0;
+        qnodes++;                                    // o nó de entrada já foi contado pelo negamax
+        if (ply >= MAX_PLY - 1 || stopped) return Evaluator.evaluate(pos);
+
+        MovePicker picker = pickers[ply];
+        picker.initQuiescence(pos, gen, history);
+        boolean inCheck = picker.inCheck();
+        int best = -INF, stand = 0;
+        if (!inCheck) {
+            stand = Evaluator.evaluate(pos);
+            if (stand >= beta) return stand;
+            if (stand > alpha) alpha = stand;
+            best = stand;
+        }
+
+        /* o seletor já descarta subpromoções e capturas perdedoras pela troca estática */
+        int tried = 0;
+        for (int move; (move = picker.next()) != Move.NONE; ) {
+            tried++;
+            if (!inCheck) {
+                int gain = Move.isEnPassant(move)  ? Evaluator.VALUE[Position.PAWN]
+                         : Move.isCapture(move)    ? Evaluator.VALUE[Position.typeOf(pos.pieceAt(Move.to(move)))]
+                         : 0;
+                if (Move.isPromotion(move)) gain += Evaluator.VALUE[Position.QUEEN] - Evaluator.VALUE[Position.PAWN];
+                if (stand + gain + DELTA_MARGIN <= alpha) continue;
+            }
+
+            tick();
+            pos.makeMove(move);
+            int score = -quiesce(ply + 1, -beta, -alpha);
+            pos.unmakeMove(move);
+
+            if (score > best) {
+                best = score;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) break;
+                }
+            }
+            /* interrompida, a nota ainda precisa ser limitada: a iteração de profundidade 1 a usa */
+            if (stopped) break;
+        }
+        if (inCheck && tried == 0) return -MATE + ply;
+        return best;
+    }
+
+    /** nota de mate provado, pela busca ou pelas tabelas de finais */
+    public static boolean isMateScore(int score) {
+        return Math.abs(score) >= TB_WIN;
+    }
+
+    /* notas de mate ficam na tabela relativas ao nó, não à raiz */
+    private static int toTT(int score, int ply) {
+        if (score >=  TB_WIN) return score + ply;
+        if (score <= -TB_WIN) return score - ply;
+        return score;
+    }
+
+    private static int fromTT(int score, int ply) {
+        if (score >=  TB_WIN) return score - ply;
+        if (score <= -TB_WIN) return score + ply;
+        return score;
+    }
+
+    private void push(int move, int ply) {
+        boolean irreversible = Move.isCapture(move)
+                            || Position.typeOf(pos.pieceAt(Move.from(move))) == Position.PAWN;
+        pos.makeMove(move);
+        int idx = rootIndex + ply + 1;
+        keys[idx] = pos.key();
+        windowStart[ply + 1] = irreversible ? idx : windowStart[ply];
+    }
+
+    /* a posição em ply já ocorreu desde o último lance irreversível (mesma vez) */
+    private boolean isRepetition(int ply) {
+        int  idx = rootIndex + ply;
+        long key = keys[idx];
+        for (int i = idx - 2; i >= windowStart[ply]; i -= 2)
+            if (keys[i] == key) return true;
+        return false;
+    }
+
+    private void updatePv(int ply, int move) {
+        pv[ply][0] = move;
+        System.arraycopy(pv[ply + 1], 0, pv[ply], 1, pvLen[ply + 1]);
+        pvLen[ply] = pvLen[ply + 1] + 1;
+    }
+
+    /* ---------- ordenação ---------- */
+
+    /*
+     * Corte beta: conta se veio no primeiro lance e, se o lance é quieto,
+     * guarda-o como assassino do ply e reforça o histórico (depth²); ao
+     * passar do teto, o histórico inteiro cai pela metade.
+     */
+    private void cutoff(int move, int ply, int depth, int tried) {
+        cutoffs++;
+        if (tried == 1) firstMoveCutoffs++;
+        if (Move.isCapture(move) || Move.isPromotion(move)) return;
+
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+        int idx = MovePicker.historyIndex(pos.sideToMove(), move);
+        if ((history[idx] += depth * depth) > HISTORY_MAX)
+            for (int i = 0; i < history.length; i++) history[i] >>= 1;
+    }
+}
@@ -0,0 +1,41 @@
+package engine;
+
+import model.Move;
+
+/**
+ * Resultado de uma iteração completa da busca: melhor lance, nota (do ponto
+ * de vista de quem joga na raiz), variante principal e estatísticas.
+ * {@code nodes} conta todos os nós; {@code qnodes}, a parte deles na
+ * busca de quiescência.
+ */
+public record SearchResult(int bestMove, int score, int depth, int[] pv,
+                           long nodes, long qnodes, long nanos) {
+
+    /** nós por segundo */
+    public long nps() {
+        return nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos;
+    }
+
+    public boolean isMate() {
+        return Search.isMateScore(score);
+    }
+
+    /** variante principal em notação de coordenadas, ex.: "e2e4 e7e5 g1f3" */
+    public String pvString() {
+        StringBuilder sb = new StringBuilder();
+        for (int m : pv) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(Move.toString(m));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        String s = isMate()
+                 ? "mate " + (score > 0 ? (Search.MATE - score + 1) / 2 : -(Search.MATE + score) / 2)
+                 : "cp " + score;
+        return String.format("depth %d score %s nodes %d qnodes %d nps %d pv %s",
+                             depth, s, nodes, qnodes, nps(), pvString());
+    }
+}
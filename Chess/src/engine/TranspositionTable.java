@@ -0,0 +1,129 @@
+package engine;
+
+/**
+ * Tabela de transposição de tamanho fixo sobre um {@code long[]}, sem
+ * travas, compartilhável por várias threads de busca.
+ *
+ * Cada entrada ocupa dois longs: {@code chave ^ dados} e {@code dados}.
+ * Uma leitura só é aceita se o XOR das duas palavras devolve a chave
+ * procurada, então escritas concorrentes intercaladas (ou uma leitura no
+ * meio de uma escrita) são simplesmente descartadas como ausência.
+ *
+ * Dados: bits 0-19 lance, 20-35 nota (com sinal), 36-43 profundidade,
+ * 44-45 tipo de limite, 46-53 geração da busca.
+ *
+ * Os baldes têm duas entradas: a primeira guarda a mais profunda (ou
+ * substitui uma de busca antiga), a segunda é sempre substituída.
+ */
+public final class TranspositionTable {
+
+    /* tipos de limite */
+    public static final int UPPER = 1;   // nota ≤ valor (ninguém superou alfa)
+    public static final int LOWER = 2;   // nota ≥ valor (corte beta)
+    public static final int EXACT = 3;
+
+    /** tamanho padrão em MB, configurável por -Dchess.hash.mb=N */
+    public static final int DEFAULT_MB = Integer.getInteger("chess.hash.mb", 16);
+
+    private static final int LONGS_PER_BUCKET = 4;
+    private static final int BUCKET_BYTES     = LONGS_PER_BUCKET * Long.BYTES;
+
+    private final long[] table;
+    private final long   mask;         // baldes - 1
+    private volatile int generation;
+
+    /** aloca a maior potência de dois de baldes que cabe em {@code megabytes} */
+    public TranspositionTable(int megabytes) {
+        long bytes   = Math.max(1, megabytes) * 1024L * 1024L;
+        long buckets = Long.highestOneBit(bytes / BUCKET_BYTES);
+        if (buckets * LONGS_PER_BUCKET > Integer.MAX_VALUE - 8)
+            buckets = Integer.highestOneBit((Integer.MAX_VALUE - 8) / LONGS_PER_BUCKET);
+        table = new long[(int) (buckets * LONGS_PER_BUCKET)];
+        mask  = buckets - 1;
+    }
+
+    public TranspositionTable() {
+        this(DEFAULT_MB);
+    }
+
+    /** capacidade em entradas */
+    public int capacity() {
+        return table.length / 2;
+    }
+
+    /** marca o início de uma nova busca: entradas antigas passam a ser substituíveis */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(table, 0L);
+        generation = 0;
+    }
+
+    /* ---------- acesso ---------- */
+
+    /** dados da posição, ou 0 se ausente */
+    public long probe(long key) {
+        int i = index(key);
+        long d0 = table[i + 1];
+        if ((table[i] ^ d0) == key && d0 != 0) return d0;
+        long d1 = table[i + 3];
+        if ((table[i + 2] ^ d1) == key && d1 != 0) return d1;
+        return 0L;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int  i   = index(key);
+        int  gen = generation;
+        long data = (move & 0xFFFFFL)
+                  | ((score & 0xFFFFL) << 20)
+                  | ((long) (depth & 0xFF) << 36)
+                  | ((long) bound << 44)
+                  | ((long) gen << 46);
+
+        long d0 = table[i + 1];
+        boolean same0 = (table[i] ^ d0) == key;
+
+        /* mesma posição sem lance novo: preserva o lance conhecido */
+        if (same0 && move == 0) data |= d0 & 0xFFFFFL;
+
+        if (same0 || d0 == 0 || depth >= depth(d0) || generation(d0) != gen) {
+            table[i]     = key ^ data;
+            table[i + 1] = data;
+        } else {
+            long d1 = table[i + 3];
+            if (move == 0 && (table[i + 2] ^ d1) == key) data |= d1 & 0xFFFFFL;
+            table[i + 2] = key ^ data;
+            table[i + 3] = data;
+        }
+    }
+
+    /** ocupação aproximada em milésimos (amostra dos primeiros baldes), entradas da busca atual */
+    public int hashfull() {
+        int sample = (int) Math.min(500, mask + 1), used = 0;
+        for (int b = 0; b < sample; b++) {
+            for (int s = 1; s < LONGS_PER_BUCKET; s += 2) {
+                long d = table[b * LONGS_PER_BUCKET + s];
+                if (d != 0 && generation(d) == generation) used++;
+            }
+        }
+        return used * 1000 / (sample * 2);
+    }
+
+    private int index(long key) {
+        return (int) ((key >>> 1 ^ key >>> 33) & mask) * LONGS_PER_BUCKET;
+    }
+
+    /* ---------- decodificação ---------- */
+
+    public static int move(long data)       { return (int) (data & 0xFFFFF); }
+
+    public static int score(long data)      { return (short) (data >>> 20); }
+
+    public static int depth(long data)      { return (int) (data >>> 36) & 0xFF; }
+
+    public static int bound(long data)      { return (int) (data >>> 44) & 3; }
+
+    static int generation(long data)        { return (int) (data >>> 46) & 0xFF; }
+}
@@ -0,0 +1,87 @@
+package model;
+
+/**
+ * Utilitários de bitboard. Casa = linha * 8 + coluna, na mesma orientação
+ * do {@link Board}: casa 0 é a8 (canto superior esquerdo) e 63 é h1.
+ */
+public final class Bitboards {
+
+    private Bitboards() { }
+
+    /* ---------- máscaras fixas ---------- */
+
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+
+    /** casas claras (a8 é clara) */
+    public static final long LIGHT_SQUARES = 0xAA55AA55AA55AA55L;
+
+    /** linha 0 (oitava fileira, pretas) … linha 7 (primeira fileira, brancas) */
+    public static long rowMask(int row) { return 0xFFL << (row * 8); }
+
+    public static long fileMask(int col) { return FILE_A << col; }
+
+    /* ---------- tabelas de ataque de peças que saltam ---------- */
+
+    public static final long[] KNIGHT_ATTACKS = new long[64];
+    public static final long[] KING_ATTACKS   = new long[64];
+
+    /** [cor][casa] – casas atacadas por um peão da cor situado na casa */
+    public static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    /** [a][b] – casas estritamente entre a e b, se alinhadas (senão 0) */
+    public static final long[][] BETWEEN = new long[64][64];
+
+    static {
+        int[][] jump = {{-2,-1},{-2,1},{-1,-2},{-1,2},
+                        { 1,-2},{ 1,2},{ 2,-1},{ 2,1}};
+        int[][] step = {{-1,-1},{-1,0},{-1,1},{0,-1},
+                        { 0, 1},{ 1,-1},{ 1,0},{1, 1}};
+
+        for (int sq = 0; sq < 64; sq++) {
+            int r = sq >>> 3, c = sq & 7;
+            KNIGHT_ATTACKS[sq] = offsets(r, c, jump);
+            KING_ATTACKS[sq]   = offsets(r, c, step);
+
+            /* brancas sobem (linha - 1), pretas descem (linha + 1) */
+            PAWN_ATTACKS[Position.WHITE][sq] = offsets(r, c, new int[][]{{-1,-1},{-1,1}});
+            PAWN_ATTACKS[Position.BLACK][sq] = offsets(r, c, new int[][]{{ 1,-1},{ 1,1}});
+
+            /* percorre as 8 direções acumulando as casas intermediárias */
+            for (int[] d : step) {
+                long between = 0L;
+                int nr = r + d[0], nc = c + d[1];
+                while (nr >= 0 && nr < 8 && nc >= 0 && nc < 8) {
+                    BETWEEN[sq][nr * 8 + nc] = between;
+                    between |= bit(nr * 8 + nc);
+                    nr += d[0];
+                    nc += d[1];
+                }
+            }
+        }
+    }
+
+    private static long offsets(int r, int c, int[][] deltas) {
+        long bb = 0L;
+        for (int[] d : deltas) {
+            int nr = r + d[0], nc = c + d[1];
+            if (nr >= 0 && nr < 8 && nc >= 0 && nc < 8) bb |= bit(nr * 8 + nc);
+        }
+        return bb;
+    }
+
+    /* ---------- operações básicas ---------- */
+
+    public static long bit(int sq) { return 1L << sq; }
+
+    public static int square(int row, int col) { return (row << 3) | col; }
+
+    public static int rowOf(int sq) { return sq >>> 3; }
+
+    public static int colOf(int sq) { return sq & 7; }
+
+    /** índice do bit menos significativo (casa de menor número) */
+    public static int lsb(long bb) { return Long.numberOfTrailingZeros(bb); }
+
+    public static int popCount(long bb) { return Long.bitCount(bb); }
+}
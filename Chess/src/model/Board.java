@@ -1,39 +1,36 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-/** Tabuleiro 8 × 8 – Singleton. */
+/**
+ * Tabuleiro 8 × 8. Cada partida tem o seu, sem estado global: instâncias
+ * diferentes podem ser usadas em threads diferentes (uma thread por tabuleiro).
+ * Mantém os objetos Piece para a View e, em paralelo, o núcleo bitboard
+ * ({@link Position}) usado pelas consultas de ocupação e ataque.
+ */
 public class Board {
 
-    private static Board instance;
+    /** peças indexadas por casa (linha * 8 + coluna) */
+    private final Piece[] pieces = new Piece[64];
 
-    /** matriz [linha][coluna] de casas */
-    private final Square[][] squares = new Square[8][8];
+    /** núcleo bitboard sempre sincronizado com {@link #pieces} */
+    private final Position position = new Position();
 
-    /** construtor privado – singleton */
-    private Board() {
-        initializeEmptyBoard();
-        setupInitialPosition();
-    }
+    /** gerador de lances legais (pins e máscara de xeque) deste tabuleiro */
+    private final MoveGenerator generator = new MoveGenerator();
 
-    /* ---------- Singleton ---------- */
-
-    public static Board getInstance() {
-        if (instance == null) {
-            instance = new Board();
-        }
-        return instance;
+    /** novo tabuleiro já na posição inicial */
+    public Board() {
+        setupInitialPosition();
     }
 
     /* ---------- inicialização ---------- */
 
     private void initializeEmptyBoard() {
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                squares[r][c] = new Square(null);
-            }
-        }
+        Arrays.fill(pieces, null);
+        position.clear();
     }
 
     /* posiciona as peças na orientação “brancas embaixo” */
@@ -42,8 +39,8 @@ public class Board {
 
         /* peões */
         for (int c = 0; c < 8; c++) {
-            squares[6][c].setPiece(new Pawn('W', 6, c)); // brancos
-            squares[1][c].setPiece(new Pawn('B', 1, c)); // pretos
+            placePiece(new Pawn('W', 6, c)); // brancos
+            placePiece(new Pawn('B', 1, c)); // pretos
         }
 
         /* linha de peças maiores – brancos */
@@ -69,7 +66,56 @@ public class Board {
 
     /* utilitário */
     private void placePiece(Piece p) {
-        squares[p.getRow()][p.getCol()].setPiece(p);
+        setPiece(p.getRow(), p.getCol(), p);
+    }
+
+    /**
+     * Substitui a posição pela da FEN (ver {@link Fen}). Reis e torres fora
+     * das casas iniciais, ou sem o direito de roque correspondente, ficam
+     * marcados como já movidos; peões fora da fileira inicial também.
+     */
+    public void loadFen(String fen) {
+        position.copyFrom(Fen.parse(fen)); // lida à parte: FEN inválida não toca o tabuleiro
+        Arrays.fill(pieces, null);
+
+        int rights = position.castlingRights();
+        for (long occ = position.occupied(); occ != 0; occ &= occ - 1) {
+            int  sq    = Bitboards.lsb(occ);
+            int  code  = position.pieceAt(sq);
+            int  r     = Bitboards.rowOf(sq), c = Bitboards.colOf(sq);
+            char color = Position.colorChar(Position.colorOf(code));
+            Piece p = switch (Position.typeOf(code)) {
+                case Position.PAWN   -> new Pawn  (color, r, c);
+                case Position.KNIGHT -> new Knight(color, r, c);
+                case Position.BISHOP -> new Bishop(color, r, c);
+                case Position.ROOK   -> new Rook  (color, r, c);
+                case Position.QUEEN  -> new Queen (color, r, c);
+                default              -> new King  (color, r, c);
+            };
+            p.setHasMoved(!startsUnmoved(p, rights));
+            pieces[sq] = p;
+        }
+        refreshCastlingRights();
+    }
+
+    /* FEN completa da posição atual */
+    public String toFen() {
+        return Fen.toFen(position);
+    }
+
+    /* a peça ainda pode estar no lance inicial, segundo os direitos de roque da FEN */
+    private static boolean startsUnmoved(Piece p, int rights) {
+        boolean white = p.getColor() == 'W';
+        int r     = p.getRow(), c = p.getCol();
+        int home  = white ? 7 : 0;
+        int king  = white ? Position.WHITE_KINGSIDE  : Position.BLACK_KINGSIDE;
+        int queen = white ? Position.WHITE_QUEENSIDE : Position.BLACK_QUEENSIDE;
+        return switch (p.getTypeChar()) {
+            case 'P' -> r == (white ? 6 : 1);
+            case 'K' -> r == home && c == 4 && (rights & (king | queen)) != 0;
+            case 'R' -> r == home && ((c == 7 && (rights & king) != 0) || (c == 0 && (rights & queen) != 0));
+            default  -> true;
+        };
     }
 
     /* ---------- consultas simples ---------- */
@@ -79,20 +125,38 @@ public class Board {
     }
 
     public boolean isEmpty(int r, int c) {
-        return getPiece(r, c) == null;
+        return !isValidPosition(r, c)
+            || position.isEmpty(Bitboards.square(r, c));
     }
 
     public boolean hasEnemyPiece(int r, int c, char myColor) {
-        Piece p = getPiece(r, c);
-        return p != null && p.getColor() != myColor;
+        if (!isValidPosition(r, c)) return false;
+        int enemy = Position.colorIndex(myColor) ^ 1;
+        return (position.occupancy(enemy) & Bitboards.bit(Bitboards.square(r, c))) != 0;
     }
 
     public Piece getPiece(int r, int c) {
-        return isValidPosition(r, c) ? squares[r][c].getPiece() : null;
+        return isValidPosition(r, c) ? pieces[Bitboards.square(r, c)] : null;
     }
 
     public void setPiece(int r, int c, Piece p) {
-        if (isValidPosition(r, c)) squares[r][c].setPiece(p);
+        if (!isValidPosition(r, c)) return;
+
+        int sq = Bitboards.square(r, c);
+        pieces[sq] = p;
+        position.remove(sq);
+        if (p != null) position.put(sq, p.code());
+        refreshCastlingRights();
+    }
+
+    /** chave Zobrist da posição atual (peças, vez, roque e en-passant) */
+    public long getZobristKey() {
+        return position.key();
+    }
+
+    /** núcleo bitboard (somente leitura fora do pacote) */
+    public Position getPosition() {
+        return position;
     }
 
     /* ---------- movimentação bruta ---------- */
@@ -107,6 +171,7 @@ public class Board {
             moving.setPosition(toR, toC);
             moving.setHasMoved(true);
         }
+        refreshCastlingRights();
     }
 
     public void undoMove(int fromR, int fromC, int toR, int toC,
@@ -121,120 +186,99 @@ public class Board {
         }
     }
 
+    /* direitos de roque do núcleo: rei e torre ainda não movidos nas casas iniciais */
+    private void refreshCastlingRights() {
+        int rights = 0;
+        if (unmoved(7, 4, 'W', 'K')) {
+            if (unmoved(7, 7, 'W', 'R')) rights |= Position.WHITE_KINGSIDE;
+            if (unmoved(7, 0, 'W', 'R')) rights |= Position.WHITE_QUEENSIDE;
+        }
+        if (unmoved(0, 4, 'B', 'K')) {
+            if (unmoved(0, 7, 'B', 'R')) rights |= Position.BLACK_KINGSIDE;
+            if (unmoved(0, 0, 'B', 'R')) rights |= Position.BLACK_QUEENSIDE;
+        }
+        position.setCastlingRights(rights);
+    }
+
+    private boolean unmoved(int r, int c, char color, char type) {
+        Piece p = pieces[Bitboards.square(r, c)];
+        return p != null && p.getColor() == color
+            && p.getTypeChar() == type && !p.hasMoved();
+    }
+
     /* ---------- detecção de xeque ---------- */
 
-    /** true se qualquer rei da cor estiver atacado */
+    /** true se qualquer rei da cor estiver atacado (consulta ao mapa de ataques da posição) */
     public boolean isInCheck(char color) {
+        return position.isInCheck(Position.colorIndex(color));
+    }
 
-        /* coleta todas as posições de rei dessa cor */
-        List<int[]> kings = new ArrayList<>();
-        for (int r = 0; r < 8; r++) {
-            for (int c = 0; c < 8; c++) {
-                Piece p = getPiece(r, c);
-                if (p instanceof King && p.getColor() == color) {
-                    kings.add(new int[]{r, c});
-                }
-            }
-        }
-        if (kings.isEmpty()) return false;
+    /* ---------- lances legais ---------- */
 
-        char enemy = color == 'W' ? 'B' : 'W';
-        for (int[] k : kings) {
-            if (squareAttacked(k[0], k[1], enemy)) return true;
-        }
-        return false;
+    /** destinos legais da peça em (r,c), como bitboard (0 se vazia) */
+    public long legalTargets(int r, int c) {
+        Piece p = getPiece(r, c);
+        if (p == null) return 0L;
+
+        generator.prepare(position, Position.colorIndex(p.getColor()));
+        return generator.targets(Bitboards.square(r, c));
     }
 
-    /* verifica ataques inimigos à casa (row,col) */
-    private boolean squareAttacked(int r, int c, char byColor) {
+    /** true se a cor tem ao menos um lance legal (uma única análise da posição) */
+    public boolean hasLegalMove(char color) {
+        generator.prepare(position, Position.colorIndex(color));
+        return generator.hasLegalMove();
+    }
 
-        /* 1. cavalo */
-        int[][] jump = {{-2,-1},{-2,1},{-1,-2},{-1,2},
-                        { 1,-2},{ 1,2},{ 2,-1},{ 2,1}};
-        for (int[] d : jump) {
-            int nr = r + d[0], nc = c + d[1];
-            Piece p = getPiece(nr, nc);
-            if (p instanceof Knight && p.getColor() == byColor) return true;
-        }
+    /**
+     * Escreve no buffer (do chamador, reutilizável) todos os lances legais
+     * da cor como ints compactados ({@link Move}), incluindo roques e promoções.
+     */
+    public void generateLegalMoves(char color, MoveList out) {
+        generator.prepare(position, Position.colorIndex(color));
+        generator.generate(out);
+    }
 
-        /* 2. peões */
-        int dir = byColor == 'W' ? -1 : 1;
-        int[] dc = {-1, 1};
-        for (int d : dc) {
-            Piece p = getPiece(r - dir, c + d);
-            if (p instanceof Pawn && p.getColor() == byColor) return true;
-        }
+    /** verifica um lance compactado da peça na origem, sem gerar a lista */
+    public boolean isLegal(int move) {
+        int code = position.pieceAt(Move.from(move));
+        if (code == Position.EMPTY) return false;
 
-        /* 3. linhas e colunas (torre / dama) */
-        int[][] straight = {{1,0},{-1,0},{0,1},{0,-1}};
-        if (rayHits(r, c, straight, byColor, true)) return true;
-
-        /* 4. diagonais (bispo / dama) */
-        int[][] diag = {{1,1},{1,-1},{-1,1},{-1,-1}};
-        return rayHits(r, c, diag, byColor, false);
-    }
-
-    /* varre cada direção até encontrar peça que ataque essa reta */
-    private boolean rayHits(int r, int c, int[][] dirs, char byColor,
-                            boolean rookLike) {
-
-        for (int[] d : dirs) {
-            int nr = r + d[0];
-            int nc = c + d[1];
-
-            while (isValidPosition(nr, nc)) {
-                Piece p = getPiece(nr, nc);
-
-                if (p != null) {
-                    if (p.getColor() == byColor) {
-                        if (rookLike) {
-                            if (p instanceof Rook || p instanceof Queen)
-                                return true;
-                        } else {
-                            if (p instanceof Bishop || p instanceof Queen)
-                                return true;
-                        }
-                    }
-                    break;  // primeira peça bloqueia
-                }
-                nr += d[0];
-                nc += d[1];
-            }
-        }
-        return false;
+        generator.prepare(position, Position.colorOf(code));
+        return generator.isLegal(move);
     }
 
     /* ---------- xeque-mate (usado apenas para popup) ---------- */
 
     public boolean isCheckmate(char color) {
-        if (!isInCheck(color)) return false;
-
-        /* tenta todos os lances para escapar */
-        for (Piece p : getAllPieces()) {
-            if (p.getColor() != color) continue;
-
-            for (int[] mv : p.pieceMovement(this)) {
-                int fr = p.getRow(), fc = p.getCol();
-                int tr = mv[0], tc = mv[1];
-                Piece captured = getPiece(tr, tc);
-
-                makeMove(fr, fc, tr, tc);
-                boolean stillInCheck = isInCheck(color);
-                undoMove(fr, fc, tr, tc, captured);
+        return isInCheck(color) && !hasLegalMove(color);
+    }
 
-                if (!stillInCheck) return false;
-            }
+    /**
+     * Nenhum lado consegue dar mate: só reis, rei e uma peça menor contra
+     * rei, ou apenas bispos, todos em casas da mesma cor.
+     */
+    public boolean isInsufficientMaterial() {
+        long heavy = 0L, knights = 0L, bishops = 0L;
+        for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+            heavy   |= position.pieces(color, Position.PAWN)
+                     | position.pieces(color, Position.ROOK)
+                     | position.pieces(color, Position.QUEEN);
+            knights |= position.pieces(color, Position.KNIGHT);
+            bishops |= position.pieces(color, Position.BISHOP);
         }
-        return true;
+        if (heavy != 0) return false;
+        if (Bitboards.popCount(knights | bishops) <= 1) return true;
+        return knights == 0
+            && ((bishops & Bitboards.LIGHT_SQUARES) == 0 || (bishops & ~Bitboards.LIGHT_SQUARES) == 0);
     }
 
     /* ---------- util ---------- */
 
     public List<Piece> getAllPieces() {
         List<Piece> list = new ArrayList<>();
-        for (int r = 0; r < 8; r++)
-            for (int c = 0; c < 8; c++)
-                if (getPiece(r,c) != null) list.add(getPiece(r,c));
+        for (long occ = position.occupied(); occ != 0; occ &= occ - 1)
+            list.add(pieces[Bitboards.lsb(occ)]);
         return list;
     }
 }
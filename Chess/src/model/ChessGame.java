@@ -1,58 +1,95 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-/* Façade do Model: único ponto de acesso da View/Controller */
+/* Façade do Model: ponto de acesso da View/Controller a uma partida.
+   Cada instância é dona do seu tabuleiro, vez, en-passant e roques. */
 public class ChessGame {
 
-    /* ---------- Singleton ---------- */
-    private static ChessGame instance;
-    public static ChessGame getInstance() {
-        if (instance == null) instance = new ChessGame();
-        return instance;
-    }
-
     /* ---------- estado ---------- */
     private final Board board;
     private Piece  selectedPiece;
-    private char   currentTurn = 'W';
 
     /* fim de jogo */
     private boolean gameEnded   = false;
     private char    winner      = '\0';   // 'W', 'B', '=' ou '\0'
+    private DrawReason drawReason;
+
+    public enum DrawReason { STALEMATE, THREEFOLD_REPETITION, FIFTY_MOVES, INSUFFICIENT_MATERIAL }
+
+    /* histórico de chaves Zobrist (uma por posição da partida); os relógios vivem no núcleo */
+    private long[] keyHistory = new long[256];
+    private int    historySize;
 
-    /* en-passant: {row,col} atrás do peão que avançou duas casas */
-    private int[] enPassantTarget;
+    /* lances jogados (compactados, ver Move) e a FEN de onde a partida partiu */
+    private int[]  moveHistory = new int[256];
+    private int    moveCount;
+    private String startFen = Fen.START;
+
+    /* durante replay() o fim de jogo só é avaliado na posição final */
+    private boolean replaying;
 
     /* promoção */
     private boolean promotionPending = false;
     private int     promoRow, promoCol;
 
-    private ChessGame() {
-        board = Board.getInstance();
+    public ChessGame() {
+        board = new Board();
+        resetGame();
     }
 
+    /* tabuleiro desta partida */
+    public Board getBoard()              { return board; }
+
     /* Brancas = 'W'   Pretas = 'B' */
-    public char  getCurrentTurn()        { return currentTurn; }
+    public char  getCurrentTurn()        { return Position.colorChar(board.getPosition().sideToMove()); }
     public boolean isGameEnded()         { return gameEnded;   }
     public char  getWinner()             { return winner;      }
+    public DrawReason getDrawReason()    { return drawReason;  }
+    public boolean isInCheck()           { return board.isInCheck(getCurrentTurn()); }
+    public int   getHalfmoveClock()      { return board.getPosition().halfmoveClock(); }
 
     /* Reinicia completamente a partida. */
     public void resetGame() {
-        board.setupInitialPosition();
-        currentTurn      = 'W';
+        board.setupInitialPosition();     // brancas jogam primeiro
+        startFen = Fen.START;
+        clearState();
+    }
+
+    /*
+     * Continua a partida a partir da FEN (peças, vez, roque, en-passant e
+     * relógios). O histórico de repetição começa na posição carregada.
+     * Lança IllegalArgumentException se a FEN for inválida.
+     */
+    public void loadFen(String fen) {
+        board.loadFen(fen);
+        startFen = board.toFen();
+        clearState();
+        checkEndOfGame();
+    }
+
+    /* FEN da posição atual */
+    public String toFen() {
+        return board.toFen();
+    }
+
+    private void clearState() {
         selectedPiece    = null;
-        enPassantTarget  = null;
         promotionPending = false;
         gameEnded        = false;
         winner           = '\0';
+        drawReason       = null;
+        historySize      = 0;
+        moveCount        = 0;
+        recordPosition();
     }
 
     /* Seleciona a peça da vez situada em (row,col) */
     public boolean selectPiece(int row, int col) {
         Piece p = board.getPiece(row, col);
-        if (p != null && p.getColor() == currentTurn) {
+        if (p != null && p.getColor() == getCurrentTurn()) {
             selectedPiece = p;
             return true;
         }
@@ -67,10 +104,16 @@ public class ChessGame {
         Piece target = board.getPiece(row, col);
         if (selectedPiece instanceof King && target instanceof Rook
                 && target.getColor() == selectedPiece.getColor()) {
+            int  home = Bitboards.square(selectedPiece.getRow(), selectedPiece.getCol());
+            int  dst  = home + (target.getCol() > selectedPiece.getCol() ? 2 : -2);
             boolean ok = tryCastle((King) selectedPiece, (Rook) target);
             if (ok) {
+                recordMove(Move.of(home, dst, Move.CASTLE));
                 endTurn();
-                enPassantTarget = null;
+                setEnPassantTarget(null);
+                tickHalfmoveClock(false);
+                recordPosition();
+                checkEndOfGame();
             }
             return ok;
         }
@@ -82,15 +125,23 @@ public class ChessGame {
 
         /* -------- en-passant captura -------- */
         Piece captured = board.getPiece(row, col);
+        int[] enPassantTarget = getEnPassantTarget();
         if (captured == null && enPassantTarget != null
                 && row == enPassantTarget[0] && col == enPassantTarget[1]
                 && selectedPiece instanceof Pawn) {
 
-            int dir = (currentTurn == 'W') ? 1 : -1;   // peão inimigo atrás
+            int dir = (getCurrentTurn() == 'W') ? 1 : -1;   // peão inimigo atrás
             captured = board.getPiece(row + dir, col);
             board.setPiece(row + dir, col, null);      // remove-o
         }
 
+        boolean irreversible = captured != null || selectedPiece instanceof Pawn;
+        int flags = captured == null ? 0 : Move.CAPTURE;
+        if (selectedPiece instanceof Pawn) {
+            if (captured != null && board.isEmpty(row, col)) flags |= Move.EN_PASSANT;
+            if (Math.abs(row - fr) == 2)                     flags  = Move.DOUBLE_PUSH;
+        }
+        recordMove(Move.of(Bitboards.square(fr, fc), Bitboards.square(row, col), flags));
         board.makeMove(fr, fc, row, col);
 
         /* marca alvo e.p. se peão andou duas casas */
@@ -108,13 +159,58 @@ public class ChessGame {
         }
 
         endTurn();
-        checkEndOfGame();          // <-- avaliação concentrada aqui
+        tickHalfmoveClock(irreversible);
+        if (irreversible) historySize = 0;    // posições anteriores não podem mais se repetir
+        recordPosition();
+        if (!promotionPending) checkEndOfGame();   // com promoção, avaliada em promote()
+        return true;
+    }
+
+    /*
+     * Executa um lance compactado ({@link Move}) pelo mesmo caminho dos
+     * cliques: seleciona a origem, "clica" na torre para o roque e escolhe a
+     * peça da promoção (dama, se o lance não indicar).
+     */
+    public boolean playMove(int move) {
+        int fr = Bitboards.rowOf(Move.from(move)), fc = Bitboards.colOf(Move.from(move));
+        int tr = Bitboards.rowOf(Move.to(move)),   tc = Bitboards.colOf(Move.to(move));
+
+        if (!selectPiece(fr, fc)) return false;
+        if (selectedPiece instanceof King && Math.abs(tc - fc) == 2)
+            tc = tc > fc ? 7 : 0;
+        if (!moveTo(tr, tc)) return false;
+
+        if (promotionPending)
+            promote(Move.isPromotion(move) ? Position.typeChar(Move.promotion(move)) : 'Q');
         return true;
     }
 
+    /*
+     * Joga lances gravados (PGN, arquivo) a partir da posição atual sem
+     * encerrar a partida pelo caminho: uma partida real pode ter continuado
+     * após uma repetição ou os 50 lances, que só valem se reclamados. Só a
+     * posição final é avaliada. Devolve quantos lances foram aceitos; para
+     * no primeiro recusado.
+     */
+    public int replay(int[] moves) {
+        int played = 0;
+        replaying = true;
+        try {
+            while (played < moves.length && playMove(moves[played])) played++;
+        } finally {
+            replaying = false;
+        }
+        checkEndOfGame();
+        return played;
+    }
+
     /* ---------------- getters auxiliares ---------------- */
 
-    public int[] getEnPassantTarget() { return enPassantTarget; }
+    /* en-passant: {row,col} atrás do peão que avançou duas casas, ou null */
+    public int[] getEnPassantTarget() {
+        int sq = board.getPosition().enPassantSquare();
+        return sq < 0 ? null : new int[]{ Bitboards.rowOf(sq), Bitboards.colOf(sq) };
+    }
 
     public List<java.awt.Point> getReachableSquares() {
         List<java.awt.Point> res = new ArrayList<>();
@@ -124,6 +220,46 @@ public class ChessGame {
         return res;
     }
 
+    /* lances legais da vez, compactados, no buffer do chamador */
+    public void generateLegalMoves(MoveList out) {
+        board.generateLegalMoves(getCurrentTurn(), out);
+    }
+
+    /* lances jogados desde o início (ou desde a FEN carregada), compactados */
+    public int[] getMoves() {
+        return Arrays.copyOf(moveHistory, moveCount);
+    }
+
+    /* FEN da posição de onde a partida começou */
+    public String getStartFen() {
+        return startFen;
+    }
+
+    /* resultado em notação PGN: "1-0", "0-1", "1/2-1/2" ou "*" (em andamento) */
+    public String getResult() {
+        if (!gameEnded) return "*";
+        return switch (winner) {
+            case 'W' -> "1-0";
+            case 'B' -> "0-1";
+            default  -> "1/2-1/2";
+        };
+    }
+
+    /* chaves das posições desde o último lance irreversível (a atual é a última) */
+    public long[] getRepetitionKeys() {
+        return Arrays.copyOf(keyHistory, historySize);
+    }
+
+    /* identifica a posição atual (mesma chave = mesma posição, com altíssima probabilidade) */
+    public long getPositionKey() {
+        return board.getZobristKey();
+    }
+
+    /* perft da posição atual (numa cópia – não altera a partida) */
+    public long perft(int depth) {
+        return Perft.perft(board.getPosition(), depth);
+    }
+
     /* código interno da peça ('p','P','q'…) ou null */
     public String getPieceCode(int row, int col) {
         Piece p = board.getPiece(row, col);
@@ -148,16 +284,30 @@ public class ChessGame {
         }
         board.setPiece(promoRow, promoCol, nova);
         promotionPending = false;
+        int last = moveHistory[moveCount - 1];
+        moveHistory[moveCount - 1] = Move.of(Move.from(last), Move.to(last), Move.flags(last),
+                                             Position.typeIndex(nova.getTypeChar()));
+        keyHistory[historySize - 1] = getPositionKey();   // a posição registrada ainda tinha o peão
+        checkEndOfGame();                                 // mate ou afogamento pela peça nova
     }
 
     private void endTurn() {
-        currentTurn   = (currentTurn == 'W') ? 'B' : 'W';
+        Position pos  = board.getPosition();
+        if (pos.sideToMove() == Position.BLACK) pos.setFullmoveNumber(pos.fullmoveNumber() + 1);
+        pos.setSideToMove(pos.sideToMove() ^ 1);
         selectedPiece = null;
     }
 
+    /* regra dos 50 lances: zera em captura ou lance de peão */
+    private void tickHalfmoveClock(boolean irreversible) {
+        Position pos = board.getPosition();
+        pos.setHalfmoveClock(irreversible ? 0 : pos.halfmoveClock() + 1);
+    }
+
     /* avalia se a partida terminou após um lance */
     private void checkEndOfGame() {
-        char enemy = currentTurn;          // já trocado por endTurn()
+        if (replaying) return;
+        char enemy = getCurrentTurn();     // já trocado por endTurn()
 
         if (board.isCheckmate(enemy)) {
             gameEnded = true;
@@ -165,18 +315,53 @@ public class ChessGame {
             return;
         }
         if (!anyLegalMoves(enemy)) {
-            gameEnded = true;
-            winner    = '=';
+            declareDraw(DrawReason.STALEMATE);
+        } else if (isThreefoldRepetition()) {
+            declareDraw(DrawReason.THREEFOLD_REPETITION);
+        } else if (getHalfmoveClock() >= 100) {
+            declareDraw(DrawReason.FIFTY_MOVES);
+        } else if (board.isInsufficientMaterial()) {
+            declareDraw(DrawReason.INSUFFICIENT_MATERIAL);
         }
     }
 
-    private boolean anyLegalMoves(char color) {
-        for (Piece p : board.getAllPieces())
-            if (p.getColor() == color && !p.pieceMovement(board).isEmpty())
-                return true;
+    private void declareDraw(DrawReason reason) {
+        gameEnded  = true;
+        winner     = '=';
+        drawReason = reason;
+    }
+
+    private void recordMove(int move) {
+        if (moveCount == moveHistory.length)
+            moveHistory = Arrays.copyOf(moveHistory, moveCount * 2);
+        moveHistory[moveCount++] = move;
+    }
+
+    /* ---------------- repetição ---------------- */
+
+    private void recordPosition() {
+        if (historySize == keyHistory.length)
+            keyHistory = Arrays.copyOf(keyHistory, historySize * 2);
+        keyHistory[historySize++] = getPositionKey();
+    }
+
+    /*
+     * Terceira ocorrência da posição atual. O histórico é zerado a cada lance
+     * irreversível, então só se percorrem as posições desde então, e de duas
+     * em duas (mesma cor da vez).
+     */
+    private boolean isThreefoldRepetition() {
+        long key   = keyHistory[historySize - 1];
+        int  count = 1;
+        for (int i = historySize - 3; i >= 0; i -= 2)
+            if (keyHistory[i] == key && ++count == 3) return true;
         return false;
     }
 
+    private boolean anyLegalMoves(char color) {
+        return board.hasLegalMove(color);
+    }
+
     /* --------------------------- roque ------------------------ */
     private boolean tryCastle(King king, Rook rook) {
         if (king.hasMoved() || rook.hasMoved()) return false;
@@ -194,17 +379,12 @@ public class ChessGame {
         for (int c = kc + dir; c != rc; c += dir)
             if (!board.isEmpty(r, c)) return false;
 
-        /* rei não atravessa casas atacadas */
+        /* rei não atravessa casas atacadas (o próprio rei não bloqueia raios) */
+        Position pos = board.getPosition();
+        int  enemy = Position.colorIndex(king.getColor()) ^ 1;
+        long occ   = pos.occupied() & ~Bitboards.bit(Bitboards.square(r, kc));
         for (int c = kc + dir; c != kingDst + dir; c += dir) {
-            Piece cap = board.getPiece(r, c);
-            board.makeMove(r, kc, r, c);
-            boolean check = board.isInCheck(king.getColor());
-            board.undoMove(r, kc, r, c, cap);
-            if (check) {
-                king.setHasMoved(false);
-                rook.setHasMoved(false);
-            	return false;
-            }
+            if (pos.isAttacked(Bitboards.square(r, c), enemy, occ)) return false;
         }
 
         board.makeMove(r, kc, r, kingDst);
@@ -218,12 +398,15 @@ public class ChessGame {
     private void setEnPassantIfDoublePush(Piece p,int fromRow,int toRow,int col){
         if (p instanceof Pawn && Math.abs(toRow-fromRow)==2) {
             int dir = (p.getColor()=='W') ? -1 : 1;
-            enPassantTarget = new int[]{ toRow - dir, col };
+            setEnPassantTarget(new int[]{ toRow - dir, col });
         } else {
-            enPassantTarget = null;
+            setEnPassantTarget(null);
         }
     }
 
-    /* setter usado em testes, se necessário */
-    public void setEnPassantTarget(int[] value) { enPassantTarget = value; }
+    /* setter usado em testes, se necessário – o alvo vive no núcleo bitboard */
+    public void setEnPassantTarget(int[] value) {
+        board.getPosition().setEnPassantSquare(
+            value == null ? -1 : Bitboards.square(value[0], value[1]));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package model;
+
+/**
+ * Leitura e escrita de posições em notação FEN para o núcleo bitboard.
+ * Campos: peças, cor da vez, roque, en-passant e os dois relógios; ler e
+ * escrever de volta reproduz a mesma FEN (forma canônica).
+ *
+ * A leitura percorre o texto caractere a caractere, sem split nem objetos
+ * temporários, e a escrita acrescenta a um StringBuilder do chamador: ambas
+ * servem para carregar milhões de posições sobre uma única {@link Position}.
+ */
+public final class Fen {
+
+    private Fen() { }
+
+    public static final String START =
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /* letra FEN de cada código de peça (brancas maiúsculas) */
+    private static final char[] PIECE_CHARS = "PNBRQKpnbrqk".toCharArray();
+
+    /** nova posição a partir da FEN */
+    public static Position parse(String fen) {
+        Position pos = new Position();
+        load(fen, pos);
+        return pos;
+    }
+
+    /**
+     * Sobrescreve {@code pos} com a FEN; lança IllegalArgumentException se
+     * inválida. Roque, en-passant e relógios podem faltar (valem "-", "-",
+     * 0 e 1).
+     */
+    public static void load(CharSequence fen, Position pos) {
+        pos.clear();
+        int n = fen.length();
+        int i = skipSpaces(fen, 0);
+
+        /* 1. peças – a FEN começa na oitava fileira, que é a linha 0 do tabuleiro */
+        int row = 0, col = 0;
+        for (; i < n && fen.charAt(i) != ' '; i++) {
+            char ch = fen.charAt(i);
+            if (ch == '/') {
+                if (col != 8) throw invalid(fen);
+                row++;
+                col = 0;
+            } else if (ch >= '1' && ch <= '8') {
+                col += ch - '0';
+                if (col > 8) throw invalid(fen);
+            } else {
+                int type = Position.typeIndex(Character.toUpperCase(ch));
+                if (type < 0 || row > 7 || col > 7) throw invalid(fen);
+                int color = Character.isUpperCase(ch) ? Position.WHITE : Position.BLACK;
+                pos.put(Bitboards.square(row, col++), Position.code(color, type));
+            }
+        }
+        if (row != 7 || col != 8) throw invalid(fen);
+
+        /* 2. cor da vez */
+        i = skipSpaces(fen, i);
+        if (i >= n) throw new IllegalArgumentException("FEN incompleta: " + fen);
+        switch (fen.charAt(i++)) {
+            case 'w' -> pos.setSideToMove(Position.WHITE);
+            case 'b' -> pos.setSideToMove(Position.BLACK);
+            default  -> throw invalid(fen);
+        }
+
+        /* 3. roque */
+        i = skipSpaces(fen, i);
+        int rights = 0;
+        for (; i < n && fen.charAt(i) != ' '; i++) {
+            switch (fen.charAt(i)) {
+                case 'K' -> rights |= Position.WHITE_KINGSIDE;
+                case 'Q' -> rights |= Position.WHITE_QUEENSIDE;
+                case 'k' -> rights |= Position.BLACK_KINGSIDE;
+                case 'q' -> rights |= Position.BLACK_QUEENSIDE;
+                case '-' -> { }
+                default  -> throw invalid(fen);
+            }
+        }
+        pos.setCastlingRights(rights);
+
+        /* 4. en-passant */
+        i = skipSpaces(fen, i);
+        if (i < n && fen.charAt(i) != '-') {
+            if (i + 1 >= n) throw invalid(fen);
+            pos.setEnPassantSquare(square(fen, i));
+            i += 2;
+        } else {
+            i++;
+        }
+
+        /* 5. relógios */
+        i = skipSpaces(fen, i);
+        if (i < n) {
+            int end = skipDigits(fen, i);
+            pos.setHalfmoveClock(number(fen, i, end));
+            i = skipSpaces(fen, end);
+            if (i < n) {
+                end = skipDigits(fen, i);
+                pos.setFullmoveNumber(Math.max(1, number(fen, i, end)));
+            }
+        }
+    }
+
+    /** FEN completa da posição */
+    public static String toFen(Position pos) {
+        StringBuilder sb = new StringBuilder(90);
+        append(pos, sb);
+        return sb.toString();
+    }
+
+    /** acrescenta a FEN completa de {@code pos} a {@code sb} */
+    public static void append(Position pos, StringBuilder sb) {
+        appendPlacement(pos, sb);
+
+        sb.append(' ').append(pos.sideToMove() == Position.WHITE ? 'w' : 'b').append(' ');
+
+        int rights = pos.castlingRights();
+        if (rights == 0) sb.append('-');
+        if ((rights & Position.WHITE_KINGSIDE)  != 0) sb.append('K');
+        if ((rights & Position.WHITE_QUEENSIDE) != 0) sb.append('Q');
+        if ((rights & Position.BLACK_KINGSIDE)  != 0) sb.append('k');
+        if ((rights & Position.BLACK_QUEENSIDE) != 0) sb.append('q');
+
+        sb.append(' ');
+        int ep = pos.enPassantSquare();
+        if (ep < 0) sb.append('-');
+        else appendSquare(ep, sb);
+
+        sb.append(' ').append(pos.halfmoveClock())
+          .append(' ').append(pos.fullmoveNumber());
+    }
+
+    /** acrescenta só o primeiro campo (peças), da oitava fileira para a primeira */
+    public static void appendPlacement(Position pos, StringBuilder sb) {
+        for (int row = 0; row < 8; row++) {
+            if (row > 0) sb.append('/');
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                int code = pos.pieceAt(Bitboards.square(row, col));
+                if (code == Position.EMPTY) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) sb.append((char) ('0' + empty));
+                empty = 0;
+                sb.append(PIECE_CHARS[code]);
+            }
+            if (empty > 0) sb.append((char) ('0' + empty));
+        }
+    }
+
+    /** "e3" → casa do tabuleiro */
+    public static int parseSquare(String s) {
+        return square(s, 0);
+    }
+
+    /** casa do tabuleiro → "e3" */
+    public static void appendSquare(int sq, StringBuilder sb) {
+        sb.append((char) ('a' + Bitboards.colOf(sq)))
+          .append((char) ('8' - Bitboards.rowOf(sq)));
+    }
+
+    /* ---------- util ---------- */
+
+    private static int square(CharSequence s, int i) {
+        int col = s.charAt(i) - 'a';
+        int row = '8' - s.charAt(i + 1);
+        if (col < 0 || col > 7 || row < 0 || row > 7)
+            throw new IllegalArgumentException("casa inválida: " + s);
+        return Bitboards.square(row, col);
+    }
+
+    private static int skipSpaces(CharSequence s, int i) {
+        while (i < s.length() && s.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    private static int skipDigits(CharSequence s, int i) {
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') i++;
+        return i;
+    }
+
+    private static int number(CharSequence s, int from, int to) {
+        if (from == to || to - from > 9) throw invalid(s);
+        int v = 0;
+        for (int i = from; i < to; i++) v = v * 10 + (s.charAt(i) - '0');
+        return v;
+    }
+
+    private static IllegalArgumentException invalid(CharSequence fen) {
+        return new IllegalArgumentException("FEN inválida: " + fen);
+    }
+}
@@ -0,0 +1,144 @@
+package model;
+
+/**
+ * Tabelas "magic bitboard" de ataques de peças deslizantes (torre, bispo
+ * e dama). Os números mágicos são procurados uma única vez no carregamento
+ * da classe, com semente fixa, e depois cada consulta é um único acesso:
+ * {@code table[offset + ((occ & mask) * magic >>> shift)]}.
+ */
+public final class Magics {
+
+    private Magics() { }
+
+    private static final int[][] ROOK_DIRS   = {{1,0},{-1,0},{0,1},{0,-1}};
+    private static final int[][] BISHOP_DIRS = {{1,1},{1,-1},{-1,1},{-1,-1}};
+
+    private static final long[] ROOK_MASK     = new long[64];
+    private static final long[] ROOK_MAGIC    = new long[64];
+    private static final int[]  ROOK_SHIFT    = new int[64];
+    private static final int[]  ROOK_OFFSET   = new int[64];
+
+    private static final long[] BISHOP_MASK   = new long[64];
+    private static final long[] BISHOP_MAGIC  = new long[64];
+    private static final int[]  BISHOP_SHIFT  = new int[64];
+    private static final int[]  BISHOP_OFFSET = new int[64];
+
+    /* tabela única, compartilhada: 102400 entradas de torre + 5248 de bispo */
+    private static final long[] ATTACKS;
+
+    /* estado do gerador xorshift usado na busca dos números mágicos */
+    private static long seed = 0x9E3779B97F4A7C15L;
+
+    static {
+        int size = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            ROOK_MASK[sq]   = relevantMask(sq, ROOK_DIRS);
+            BISHOP_MASK[sq] = relevantMask(sq, BISHOP_DIRS);
+            size += 1 << Long.bitCount(ROOK_MASK[sq]);
+            size += 1 << Long.bitCount(BISHOP_MASK[sq]);
+        }
+        ATTACKS = new long[size];
+
+        int offset = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            ROOK_OFFSET[sq] = offset;
+            ROOK_SHIFT[sq]  = 64 - Long.bitCount(ROOK_MASK[sq]);
+            ROOK_MAGIC[sq]  = findMagic(sq, ROOK_MASK[sq], ROOK_SHIFT[sq], offset, ROOK_DIRS);
+            offset += 1 << Long.bitCount(ROOK_MASK[sq]);
+
+            BISHOP_OFFSET[sq] = offset;
+            BISHOP_SHIFT[sq]  = 64 - Long.bitCount(BISHOP_MASK[sq]);
+            BISHOP_MAGIC[sq]  = findMagic(sq, BISHOP_MASK[sq], BISHOP_SHIFT[sq], offset, BISHOP_DIRS);
+            offset += 1 << Long.bitCount(BISHOP_MASK[sq]);
+        }
+    }
+
+    /* ---------- consultas ---------- */
+
+    public static long rookAttacks(int sq, long occ) {
+        return ATTACKS[ROOK_OFFSET[sq]
+                + (int) (((occ & ROOK_MASK[sq]) * ROOK_MAGIC[sq]) >>> ROOK_SHIFT[sq])];
+    }
+
+    public static long bishopAttacks(int sq, long occ) {
+        return ATTACKS[BISHOP_OFFSET[sq]
+                + (int) (((occ & BISHOP_MASK[sq]) * BISHOP_MAGIC[sq]) >>> BISHOP_SHIFT[sq])];
+    }
+
+    public static long queenAttacks(int sq, long occ) {
+        return rookAttacks(sq, occ) | bishopAttacks(sq, occ);
+    }
+
+    /* ---------- construção ---------- */
+
+    /* casas que influenciam o raio, sem a borda final de cada direção */
+    private static long relevantMask(int sq, int[][] dirs) {
+        long mask = 0L;
+        int r0 = sq >>> 3, c0 = sq & 7;
+        for (int[] d : dirs) {
+            int r = r0 + d[0], c = c0 + d[1];
+            while (r + d[0] >= 0 && r + d[0] < 8 && c + d[1] >= 0 && c + d[1] < 8) {
+                mask |= 1L << (r * 8 + c);
+                r += d[0];
+                c += d[1];
+            }
+        }
+        return mask;
+    }
+
+    /* ataques calculados casa a casa – usado só para montar as tabelas */
+    private static long slowAttacks(int sq, long occ, int[][] dirs) {
+        long att = 0L;
+        int r0 = sq >>> 3, c0 = sq & 7;
+        for (int[] d : dirs) {
+            int r = r0 + d[0], c = c0 + d[1];
+            while (r >= 0 && r < 8 && c >= 0 && c < 8) {
+                long b = 1L << (r * 8 + c);
+                att |= b;
+                if ((occ & b) != 0) break;
+                r += d[0];
+                c += d[1];
+            }
+        }
+        return att;
+    }
+
+    private static long findMagic(int sq, long mask, int shift, int offset, int[][] dirs) {
+        int n = 1 << Long.bitCount(mask);
+        long[] occs = new long[n];
+        long[] refs = new long[n];
+
+        /* enumera todos os subconjuntos da máscara (carry-rippler) */
+        long occ = 0L;
+        for (int i = 0; i < n; i++) {
+            occs[i] = occ;
+            refs[i] = slowAttacks(sq, occ, dirs);
+            occ = (occ - mask) & mask;
+        }
+
+        int[] epoch = new int[n];
+        for (int attempt = 1; ; attempt++) {
+            long magic = nextRandom() & nextRandom() & nextRandom();
+            if (Long.bitCount((mask * magic) >>> 56) < 6) continue;
+
+            boolean ok = true;
+            for (int i = 0; i < n && ok; i++) {
+                int idx = (int) ((occs[i] * magic) >>> shift);
+                if (epoch[idx] < attempt) {
+                    epoch[idx] = attempt;
+                    ATTACKS[offset + idx] = refs[i];
+                } else if (ATTACKS[offset + idx] != refs[i]) {
+                    ok = false;   // colisão destrutiva
+                }
+            }
+            if (ok) return magic;
+        }
+    }
+
+    private static long nextRandom() {
+        seed ^= seed >>> 12;
+        seed ^= seed << 25;
+        seed ^= seed >>> 27;
+        return seed * 0x2545F4914F6CDD1DL;
+    }
+}
@@ -0,0 +1,60 @@
+package model;
+
+/**
+ * Lance compactado num int, sem alocação:
+ * bits 0-5 origem, 6-11 destino, 12-15 flags, 16-18 tipo da promoção.
+ * Casas no mesmo índice do {@link Board} (linha * 8 + coluna).
+ */
+public final class Move {
+
+    private Move() { }
+
+    /** nenhum lance (a8-a8 nunca é gerado) */
+    public static final int NONE = 0;
+
+    /* flags */
+    public static final int CAPTURE     = 1;
+    public static final int DOUBLE_PUSH = 2;
+    public static final int EN_PASSANT  = 4;
+    public static final int CASTLE      = 8;
+
+    public static int of(int from, int to, int flags, int promotion) {
+        return from | (to << 6) | (flags << 12) | (promotion << 16);
+    }
+
+    public static int of(int from, int to, int flags) {
+        return from | (to << 6) | (flags << 12);
+    }
+
+    public static int from(int move)      { return move & 63; }
+
+    public static int to(int move)        { return (move >>> 6) & 63; }
+
+    public static int flags(int move)     { return (move >>> 12) & 15; }
+
+    /** tipo da peça promovida (Position.KNIGHT … QUEEN) ou 0 */
+    public static int promotion(int move) { return (move >>> 16) & 7; }
+
+    public static boolean isCapture(int move)   { return (move & (CAPTURE << 12)) != 0; }
+
+    public static boolean isEnPassant(int move) { return (move & (EN_PASSANT << 12)) != 0; }
+
+    public static boolean isCastle(int move)    { return (move & (CASTLE << 12)) != 0; }
+
+    public static boolean isPromotion(int move) { return promotion(move) != 0; }
+
+    /* ---------- notação ---------- */
+
+    /** casa em notação algébrica ("e4"); linha 0 do tabuleiro é a oitava fileira */
+    public static String squareName(int sq) {
+        return "" + (char) ('a' + Bitboards.colOf(sq)) + (char) ('8' - Bitboards.rowOf(sq));
+    }
+
+    /** notação de coordenadas, ex.: "e2e4", "e7e8q" */
+    public static String toString(int move) {
+        String s = squareName(from(move)) + squareName(to(move));
+        if (isPromotion(move))
+            s += Character.toLowerCase(Position.typeChar(promotion(move)));
+        return s;
+    }
+}
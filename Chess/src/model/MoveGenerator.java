@@ -0,0 +1,256 @@
+package model;
+
+import static model.Bitboards.*;
+import static model.Position.*;
+
+/**
+ * Gerador de lances legais por máscaras. {@link #prepare} calcula uma única
+ * vez por posição o rei, os xequeadores, a máscara de evasão e as peças
+ * cravadas; depois os destinos de cada peça saem só de operações de bits,
+ * sem simular lances. Não é thread-safe: cada tabuleiro usa sua instância.
+ */
+public final class MoveGenerator {
+
+    private Position pos;
+    private int  us, them;
+    private int  kingSq;
+
+    private long checkers;
+    private long checkMask;   // casas que resolvem o xeque (todas, se não há xeque)
+    private long pinned;
+    private final long[] pinRay = new long[64];   // raio permitido a cada cravada
+
+    /* ---------- preparação ---------- */
+
+    /** analisa a posição do ponto de vista da cor {@code us} */
+    public void prepare(Position pos, int us) {
+        this.pos  = pos;
+        this.us   = us;
+        this.them = us ^ 1;
+
+        checkers  = 0L;
+        checkMask = ~0L;
+        pinned    = 0L;
+
+        long kings = pos.pieces(us, KING);
+        if (kings == 0) {              // posições de teste sem rei
+            kingSq = -1;
+            return;
+        }
+        kingSq = lsb(kings);
+
+        long occ    = pos.occupied();
+        long ourOcc = pos.occupancy(us);
+        long theirs = pos.occupancy(them);
+
+        checkers = us == pos.sideToMove() ? pos.checkers() : pos.attackersTo(kingSq, occ) & theirs;
+        if (checkers != 0) {
+            checkMask = (checkers & (checkers - 1)) != 0
+                      ? 0L                                   // xeque duplo: só o rei
+                      : checkers | BETWEEN[kingSq][lsb(checkers)];
+        }
+
+        /* deslizantes inimigos alinhados com o rei através só de peças nossas */
+        long queens  = pos.pieces(them, QUEEN);
+        long snipers = (Magics.rookAttacks(kingSq, theirs)   & (pos.pieces(them, ROOK)   | queens))
+                     | (Magics.bishopAttacks(kingSq, theirs) & (pos.pieces(them, BISHOP) | queens));
+
+        for (long s = snipers; s != 0; s &= s - 1) {
+            int  sniper  = lsb(s);
+            long between = BETWEEN[kingSq][sniper] & occ;
+
+            if (between != 0 && (between & (between - 1)) == 0 && (between & ourOcc) != 0) {
+                int p = lsb(between);
+                pinned   |= bit(p);
+                pinRay[p] = BETWEEN[kingSq][sniper] | bit(sniper);
+            }
+        }
+    }
+
+    public boolean inCheck() { return checkers != 0; }
+
+    /* ---------- destinos legais ---------- */
+
+    /**
+     * Destinos legais da peça na casa {@code from} (deve ser da cor preparada).
+     * Como no restante do modelo, o Rei inimigo nunca é alvo e o roque não
+     * está incluído aqui.
+     */
+    public long targets(int from) {
+        int code = pos.pieceAt(from);
+        if (code == EMPTY || colorOf(code) != us) return 0L;
+
+        long occ    = pos.occupied();
+        long notOwn = ~pos.occupancy(us) & ~pos.pieces(them, KING);
+
+        return switch (typeOf(code)) {
+            case PAWN   -> pawnTargets(from);
+            case KNIGHT -> restrict(from, KNIGHT_ATTACKS[from] & notOwn);
+            case BISHOP -> restrict(from, Magics.bishopAttacks(from, occ) & notOwn);
+            case ROOK   -> restrict(from, Magics.rookAttacks(from, occ) & notOwn);
+            case QUEEN  -> restrict(from, Magics.queenAttacks(from, occ) & notOwn);
+            default     -> kingTargets(from, notOwn);
+        };
+    }
+
+    /** true se a cor preparada tem ao menos um lance legal */
+    public boolean hasLegalMove() {
+        for (long b = pos.occupancy(us); b != 0; b &= b - 1)
+            if (targets(lsb(b)) != 0) return true;
+        return false;
+    }
+
+    /* ---------- lista completa de lances compactados ---------- */
+
+    /**
+     * Escreve em {@code out} todos os lances legais da cor preparada,
+     * incluindo promoções (uma entrada por peça) e roques. Não aloca.
+     */
+    public void generate(MoveList out) {
+        out.clear();
+        add(out, ~0L, ~0L);
+
+        int ks = castleMove(true), qs = castleMove(false);
+        if (ks != Move.NONE) out.add(ks);
+        if (qs != Move.NONE) out.add(qs);
+    }
+
+    /**
+     * Só as capturas (en-passant incluído) e as promoções legais, na mesma
+     * codificação de {@link #generate}; usado pela busca de quiescência.
+     */
+    public void generateCaptures(MoveList out) {
+        out.clear();
+        long theirs = pos.occupancy(them);
+        int  ep     = pos.enPassantSquare();
+        add(out, theirs, theirs | rowMask(0) | rowMask(7) | (ep >= 0 ? bit(ep) : 0L));
+    }
+
+    /**
+     * O complemento de {@link #generateCaptures}: lances sem captura nem
+     * promoção, roques incluídos.
+     */
+    public void generateQuiets(MoveList out) {
+        out.clear();
+        long quiet = ~pos.occupancy(them);
+        int  ep    = pos.enPassantSquare();
+        add(out, quiet, quiet & ~rowMask(0) & ~rowMask(7) & ~(ep >= 0 ? bit(ep) : 0L));
+
+        int ks = castleMove(true), qs = castleMove(false);
+        if (ks != Move.NONE) out.add(ks);
+        if (qs != Move.NONE) out.add(qs);
+    }
+
+    /* lances das peças da cor preparada com destino nas máscaras (peões têm a sua) */
+    private void add(MoveList out, long pieceMask, long pawnMask) {
+        for (long b = pos.occupancy(us); b != 0; b &= b - 1) {
+            int from = lsb(b);
+            boolean pawn = typeOf(pos.pieceAt(from)) == PAWN;
+
+            for (long t = targets(from) & (pawn ? pawnMask : pieceMask); t != 0; t &= t - 1) {
+                int to    = lsb(t);
+                int flags = flagsFor(from, to, pawn);
+
+                if (pawn && (to < 8 || to >= 56)) {
+                    for (int promo = QUEEN; promo >= KNIGHT; promo--)
+                        out.add(Move.of(from, to, flags, promo));
+                } else {
+                    out.add(Move.of(from, to, flags));
+                }
+            }
+        }
+    }
+
+    /** verifica um único lance compactado, sem gerar a lista */
+    public boolean isLegal(int move) {
+        int from = Move.from(move), to = Move.to(move);
+        int code = pos.pieceAt(from);
+        if (move == Move.NONE || code == EMPTY || colorOf(code) != us) return false;
+
+        if (Move.isCastle(move))
+            return move == castleMove(true) || move == castleMove(false);
+        if ((targets(from) & bit(to)) == 0) return false;
+
+        boolean pawn     = typeOf(code) == PAWN;
+        boolean promoRow = pawn && (to < 8 || to >= 56);
+        int     promo    = Move.promotion(move);
+        if (promoRow ? promo < KNIGHT || promo > QUEEN : promo != 0) return false;
+
+        return Move.flags(move) == flagsFor(from, to, pawn);
+    }
+
+    private int flagsFor(int from, int to, boolean pawn) {
+        if (!pos.isEmpty(to)) return Move.CAPTURE;
+        if (!pawn) return 0;
+        if (to == pos.enPassantSquare() && (from & 7) != (to & 7))
+            return Move.CAPTURE | Move.EN_PASSANT;
+        return Math.abs(to - from) == 16 ? Move.DOUBLE_PUSH : 0;
+    }
+
+    /* roque (rei anda duas casas) se legal, senão Move.NONE */
+    private int castleMove(boolean kingside) {
+        int right = us == WHITE
+                  ? (kingside ? WHITE_KINGSIDE : WHITE_QUEENSIDE)
+                  : (kingside ? BLACK_KINGSIDE : BLACK_QUEENSIDE);
+        if ((pos.castlingRights() & right) == 0 || checkers != 0) return Move.NONE;
+
+        int  home = us == WHITE ? 60 : 4;                  // e1 / e8
+        int  rook = kingside ? home + 3 : home - 4;
+        if (kingSq != home || pos.pieceAt(rook) != code(us, ROOK)) return Move.NONE;
+
+        /* casas entre rei e torre vazias */
+        long between = BETWEEN[home][rook];
+        if ((pos.occupied() & between) != 0) return Move.NONE;
+
+        /* rei não atravessa nem termina em casa atacada */
+        int dir = kingside ? 1 : -1;
+        if ((pos.attacks(them) & (bit(home + dir) | bit(home + 2 * dir))) != 0) return Move.NONE;
+
+        return Move.of(home, home + 2 * dir, Move.CASTLE);
+    }
+
+    /* aplica máscara de evasão e, se cravada, o raio da cravada */
+    private long restrict(int from, long t) {
+        t &= checkMask;
+        if ((pinned & bit(from)) != 0) t &= pinRay[from];
+        return t;
+    }
+
+    /* o mapa de ataques adversário já trata o rei como transparente aos raios */
+    private long kingTargets(int from, long notOwn) {
+        return KING_ATTACKS[from] & notOwn & ~pos.attacks(them);
+    }
+
+    private long pawnTargets(int from) {
+        long t    = 0L;
+        int  fwd  = us == WHITE ? from - 8 : from + 8;
+        int  home = us == WHITE ? 6 : 1;
+
+        /* avanços de 1 e 2 casas */
+        if (fwd >= 0 && fwd < 64 && pos.isEmpty(fwd)) {
+            t |= bit(fwd);
+            int fwd2 = us == WHITE ? from - 16 : from + 16;
+            if (rowOf(from) == home && pos.isEmpty(fwd2)) t |= bit(fwd2);
+        }
+
+        /* capturas diagonais (nunca o Rei) */
+        t |= PAWN_ATTACKS[us][from] & pos.occupancy(them) & ~pos.pieces(them, KING);
+        t  = restrict(from, t);
+
+        /* en-passant: testado direto pela ocupação resultante */
+        int ep = pos.enPassantSquare();
+        if (ep >= 0 && (PAWN_ATTACKS[us][from] & bit(ep)) != 0 && enPassantLegal(from, ep))
+            t |= bit(ep);
+
+        return t;
+    }
+
+    /* remove os dois peões e recalcula ataques ao rei (cobre a cravada horizontal) */
+    private boolean enPassantLegal(int from, int ep) {
+        if (kingSq < 0) return true;
+
+        int  cap = us == WHITE ? ep + 8 : ep - 8;
+        long occ = (pos.occupied() & ~bit(from) & ~bit(cap)) | bit(ep);
+        return (pos.attackersTo(kingSq, occ) & pos.occupancy(them) & ~bit(cap)) == 0;
+    }
+}
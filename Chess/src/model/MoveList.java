@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Buffer reutilizável de lances compactados ({@link Move}). Pertence a quem
+ * chama: o gerador apenas escreve nele, sem alocar nada por lance.
+ */
+public final class MoveList {
+
+    /** nenhuma posição legal tem mais de 218 lances */
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private int size;
+
+    public void clear()          { size = 0; }
+
+    public void add(int move)    { moves[size++] = move; }
+
+    public int  get(int i)       { return moves[i]; }
+
+    public void set(int i, int move) { moves[i] = move; }
+
+    public int  size()           { return size; }
+
+    public boolean isEmpty()     { return size == 0; }
+
+    public boolean contains(int move) {
+        for (int i = 0; i < size; i++)
+            if (moves[i] == move) return true;
+        return false;
+    }
+}
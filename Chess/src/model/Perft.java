@@ -0,0 +1,147 @@
+package model;
+
+import java.io.PrintStream;
+
+/**
+ * Perft: conta as folhas da árvore de lances legais até uma profundidade.
+ * Serve ao mesmo tempo de medida de desempenho do gerador e de teste de
+ * regressão, comparando com contagens conhecidas de posições de referência.
+ *
+ * Uso: {@code java model.Perft <profundidade> [FEN] [--divide]}
+ *  ou: {@code java model.Perft --suite [profundidade máxima]}
+ */
+public final class Perft {
+
+    /** posição de referência com as contagens conhecidas para as profundidades 1, 2, … */
+    public record Reference(String name, String fen, long... nodes) { }
+
+    public static final Reference[] REFERENCES = {
+        new Reference("inicial", Fen.START,
+                      20, 400, 8_902, 197_281, 4_865_609, 119_060_324),
+        new Reference("kiwipete",
+                      "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                      48, 2_039, 97_862, 4_085_603, 193_690_690),
+        new Reference("posição 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                      14, 191, 2_812, 43_238, 674_624, 11_030_083),
+        new Reference("posição 4",
+                      "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                      6, 264, 9_467, 422_333, 15_833_292),
+        new Reference("posição 5",
+                      "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                      44, 1_486, 62_379, 2_103_487, 89_941_194),
+        new Reference("posição 6",
+                      "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                      46, 2_079, 89_890, 3_894_594, 164_075_551),
+    };
+
+    private static final int MAX_DEPTH = 64;
+
+    private final Position      pos;
+    private final MoveGenerator gen   = new MoveGenerator();
+    private final MoveList[]    lists = new MoveList[MAX_DEPTH];
+
+    /** opera diretamente sobre {@code pos}, que volta ao estado original ao final */
+    public Perft(Position pos) {
+        this.pos = pos;
+        for (int i = 0; i < MAX_DEPTH; i++) lists[i] = new MoveList();
+    }
+
+    /** conta as folhas numa cópia, sem tocar a posição recebida */
+    public static long perft(Position pos, int depth) {
+        return new Perft(pos.copy()).run(depth);
+    }
+
+    public long run(int depth) {
+        return count(depth, 0);
+    }
+
+    /** imprime as folhas sob cada lance da raiz e devolve o total */
+    public long divide(int depth, PrintStream out) {
+        MoveList list = lists[0];
+        gen.prepare(pos, pos.sideToMove());
+        gen.generate(list);
+
+        long total = 0;
+        for (int i = 0; i < list.size(); i++) {
+            int  move = list.get(i);
+            pos.makeMove(move);
+            long n = depth <= 1 ? 1 : count(depth - 1, 1);
+            pos.unmakeMove(move);
+
+            out.println(Move.toString(move) + ": " + n);
+            total += n;
+        }
+        return total;
+    }
+
+    private long count(int depth, int ply) {
+        if (depth == 0) return 1;
+
+        MoveList list = lists[ply];
+        gen.prepare(pos, pos.sideToMove());
+        gen.generate(list);
+        if (depth == 1) return list.size();    // contagem em lote nas folhas
+
+        long nodes = 0;
+        for (int i = 0; i < list.size(); i++) {
+            int move = list.get(i);
+            pos.makeMove(move);
+            nodes += count(depth - 1, ply + 1);
+            pos.unmakeMove(move);
+        }
+        return nodes;
+    }
+
+    /* ---------- linha de comando ---------- */
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("uso: Perft <profundidade> [FEN] [--divide]");
+            System.out.println("     Perft --suite [profundidade máxima]");
+            return;
+        }
+
+        if (args[0].equals("--suite")) {
+            int maxDepth = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+            boolean ok = runSuite(maxDepth, System.out);
+            System.exit(ok ? 0 : 1);
+        }
+
+        int     depth  = Integer.parseInt(args[0]);
+        boolean divide = false;
+        String  fen    = Fen.START;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--divide")) divide = true;
+            else fen = args[i];
+        }
+
+        Perft perft = new Perft(Fen.parse(fen));
+        long  t0    = System.nanoTime();
+        long  nodes = divide ? perft.divide(depth, System.out) : perft.run(depth);
+        report(nodes, System.nanoTime() - t0, System.out);
+    }
+
+    /** roda todas as referências até {@code maxDepth}; true se todas conferem */
+    public static boolean runSuite(int maxDepth, PrintStream out) {
+        boolean ok = true;
+        for (Reference ref : REFERENCES) {
+            Perft perft = new Perft(Fen.parse(ref.fen()));
+            for (int d = 1; d <= Math.min(maxDepth, ref.nodes().length); d++) {
+                long t0    = System.nanoTime();
+                long nodes = perft.run(d);
+                long ns    = System.nanoTime() - t0;
+
+                boolean match = nodes == ref.nodes()[d - 1];
+                ok &= match;
+                out.printf("%-10s d=%d %,15d %s  ", ref.name(), d, nodes, match ? "ok" : "ERRO");
+                report(nodes, ns, out);
+            }
+        }
+        return ok;
+    }
+
+    private static void report(long nodes, long nanos, PrintStream out) {
+        long ms  = Math.max(1, nanos / 1_000_000);
+        out.printf("nós: %,d  tempo: %,d ms  nps: %,d%n", nodes, ms, nodes * 1000 / ms);
+    }
+}
@@ -1,5 +1,6 @@
 package model;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public abstract class Piece {
@@ -35,7 +36,27 @@ public abstract class Piece {
     	return hasMoved; 
     	}
 
+    /* código da peça no núcleo bitboard (ver Position) */
+    int code() {
+        return Position.code(Position.colorIndex(color),
+                             Position.typeIndex(getTypeChar()));
+    }
+
     public abstract char getTypeChar();
-    public abstract List<int[]> pieceMovement(Board board);
-    public abstract boolean canMove(int fr,int fc,int tr,int tc,Board board);
+
+    /* Casas que a peça pode realmente jogar (já filtradas contra xeque) */
+    public List<int[]> pieceMovement(Board board) {
+        List<int[]> moves = new ArrayList<>();
+        for (long t = board.legalTargets(row, col); t != 0; t &= t - 1) {
+            int sq = Bitboards.lsb(t);
+            moves.add(new int[]{ Bitboards.rowOf(sq), Bitboards.colOf(sq) });
+        }
+        return moves;
+    }
+
+    /* checagem pontual: um teste de bit na máscara de destinos legais */
+    public boolean canMove(int fr,int fc,int tr,int tc,Board board) {
+        if (!board.isValidPosition(tr,tc)) return false;
+        return (board.legalTargets(fr,fc) & Bitboards.bit(Bitboards.square(tr,tc))) != 0;
+    }
 }
@@ -0,0 +1,423 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Núcleo bitboard da posição: doze máscaras de 64 bits (tipo × cor),
+ * ocupação por cor e total, e um mailbox de códigos para consulta direta.
+ * Código da peça = cor * 6 + tipo; {@link #EMPTY} marca casa vazia.
+ */
+public final class Position {
+
+    /* cores */
+    public static final int WHITE = 0;
+    public static final int BLACK = 1;
+
+    /* tipos */
+    public static final int PAWN   = 0;
+    public static final int KNIGHT = 1;
+    public static final int BISHOP = 2;
+    public static final int ROOK   = 3;
+    public static final int QUEEN  = 4;
+    public static final int KING   = 5;
+
+    public static final int EMPTY = -1;
+
+    /* direitos de roque */
+    public static final int WHITE_KINGSIDE  = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE  = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    private static final String TYPE_CHARS = "PNBRQK";
+
+    /* ---------- estado ---------- */
+
+    private final long[] pieces   = new long[12];
+    private final long[] colorOcc = new long[2];
+    private long occupied;
+
+    private final byte[] mailbox = new byte[64];
+
+    /** casa de destino de uma captura en-passant, ou -1 */
+    private int enPassant = -1;
+
+    /** combinação de WHITE_KINGSIDE … BLACK_QUEENSIDE */
+    private int castling;
+
+    /** cor da vez */
+    private int side = WHITE;
+
+    /**
+     * chave Zobrist, atualizada a cada alteração (ver {@link Zobrist}), sem o
+     * en-passant: ele depende dos peões da vez e é somado em {@link #key()}
+     */
+    private long key;
+
+    /* relógios da FEN: meios-lances desde captura/lance de peão e número do lance */
+    private int halfmoveClock;
+    private int fullmoveNumber = 1;
+
+    /* avaliação incremental (ver {@link PieceSquareTables}): brancas − pretas */
+    private int mgScore, egScore, phase;
+
+    /* pilha de desfazer de makeMove: captura, en-passant, roque e relógio de meios-lances anteriores */
+    private int[] undo = new int[256];
+    private int   ply;
+
+    /*
+     * Mapas de ataque por cor (o rei adversário não bloqueia raios) e
+     * atacantes do rei da vez, calculados na primeira consulta após uma
+     * alteração. makeMove guarda os mapas da posição anterior e unmakeMove
+     * os devolve, então desfazer não recalcula nada.
+     */
+    private final long[] attackMap = new long[2];
+    private long checkers;
+    private int  cached;                              // bits ATTACKS_WHITE | ATTACKS_BLACK | CHECKERS
+    private long[] savedMaps   = new long[3 * 256];
+    private int[]  savedCached = new int[256];
+
+    private static final int ATTACKS_WHITE = 1, ATTACKS_BLACK = 2, CHECKERS = 4;
+
+    /* direitos preservados quando uma peça sai de / chega a cada casa */
+    private static final int[] CASTLE_KEEP = new int[64];
+
+    static {
+        Arrays.fill(CASTLE_KEEP, 15);
+        CASTLE_KEEP[60] = ~(WHITE_KINGSIDE | WHITE_QUEENSIDE) & 15;   // e1
+        CASTLE_KEEP[63] = ~WHITE_KINGSIDE  & 15;                      // h1
+        CASTLE_KEEP[56] = ~WHITE_QUEENSIDE & 15;                      // a1
+        CASTLE_KEEP[4]  = ~(BLACK_KINGSIDE | BLACK_QUEENSIDE) & 15;   // e8
+        CASTLE_KEEP[7]  = ~BLACK_KINGSIDE  & 15;                      // h8
+        CASTLE_KEEP[0]  = ~BLACK_QUEENSIDE & 15;                      // a8
+    }
+
+    public Position() {
+        Arrays.fill(mailbox, (byte) EMPTY);
+    }
+
+    /** cópia independente (para buscas em outras threads) */
+    public Position copy() {
+        Position p = new Position();
+        p.copyFrom(this);
+        return p;
+    }
+
+    /** torna esta posição igual a {@code src}, sem lances a desfazer */
+    public void copyFrom(Position src) {
+        System.arraycopy(src.pieces, 0, pieces, 0, 12);
+        System.arraycopy(src.colorOcc, 0, colorOcc, 0, 2);
+        System.arraycopy(src.mailbox, 0, mailbox, 0, 64);
+        occupied  = src.occupied;
+        enPassant = src.enPassant;
+        castling  = src.castling;
+        side      = src.side;
+        key       = src.key;
+        halfmoveClock  = src.halfmoveClock;
+        fullmoveNumber = src.fullmoveNumber;
+        mgScore   = src.mgScore;
+        egScore   = src.egScore;
+        phase     = src.phase;
+        attackMap[WHITE] = src.attackMap[WHITE];
+        attackMap[BLACK] = src.attackMap[BLACK];
+        checkers  = src.checkers;
+        cached    = src.cached;
+        ply       = 0;
+    }
+
+    /* ---------- códigos ---------- */
+
+    public static int code(int color, int type) { return color * 6 + type; }
+
+    public static int colorOf(int code) { return code < 6 ? WHITE : BLACK; }
+
+    public static int typeOf(int code)  { return code % 6; }
+
+    /** 'W' → WHITE, qualquer outro → BLACK */
+    public static int colorIndex(char color) { return color == 'W' ? WHITE : BLACK; }
+
+    public static char colorChar(int color) { return color == WHITE ? 'W' : 'B'; }
+
+    /** 'P','N','B','R','Q','K' → tipo */
+    public static int typeIndex(char typeChar) { return TYPE_CHARS.indexOf(typeChar); }
+
+    public static char typeChar(int type) { return TYPE_CHARS.charAt(type); }
+
+    /* ---------- alteração ---------- */
+
+    /** coloca a peça na casa (a casa deve estar vazia) */
+    public void put(int sq, int code) {
+        long b = 1L << sq;
+        pieces[code]           |= b;
+        colorOcc[colorOf(code)] |= b;
+        occupied               |= b;
+        mailbox[sq] = (byte) code;
+        cached = 0;
+        key ^= Zobrist.PIECE[code][sq];
+        mgScore += PieceSquareTables.MG[code][sq];
+        egScore += PieceSquareTables.EG[code][sq];
+        phase   += PieceSquareTables.PHASE[typeOf(code)];
+    }
+
+    /** remove a peça da casa, devolvendo seu código (ou EMPTY) */
+    public int remove(int sq) {
+        int code = mailbox[sq];
+        if (code == EMPTY) return EMPTY;
+
+        long b = ~(1L << sq);
+        pieces[code]           &= b;
+        colorOcc[colorOf(code)] &= b;
+        occupied               &= b;
+        mailbox[sq] = (byte) EMPTY;
+        cached = 0;
+        key ^= Zobrist.PIECE[code][sq];
+        mgScore -= PieceSquareTables.MG[code][sq];
+        egScore -= PieceSquareTables.EG[code][sq];
+        phase   -= PieceSquareTables.PHASE[typeOf(code)];
+        return code;
+    }
+
+    public void clear() {
+        Arrays.fill(pieces, 0L);
+        Arrays.fill(colorOcc, 0L);
+        occupied = 0L;
+        Arrays.fill(mailbox, (byte) EMPTY);
+        enPassant = -1;
+        castling  = 0;
+        side      = WHITE;
+        ply       = 0;
+        key       = 0L;
+        halfmoveClock  = 0;
+        fullmoveNumber = 1;
+        mgScore   = 0;
+        egScore   = 0;
+        phase     = 0;
+        cached    = 0;
+    }
+
+    public void setEnPassantSquare(int sq) {
+        enPassant = sq;
+    }
+
+    public void setCastlingRights(int rights) {
+        key ^= Zobrist.CASTLING[castling] ^ Zobrist.CASTLING[rights];
+        castling = rights;
+    }
+
+    public void setSideToMove(int color) {
+        if (color != side) key ^= Zobrist.SIDE;
+        side = color;
+        cached &= ~CHECKERS;
+    }
+
+    public void setHalfmoveClock(int n) { halfmoveClock = n; }
+
+    public void setFullmoveNumber(int n) { fullmoveNumber = n; }
+
+    /* ---------- lances compactados ---------- */
+
+    /**
+     * Executa um lance legal compactado ({@link Move}) da cor da vez,
+     * tratando captura, en-passant, roque e promoção. Desfeito por
+     * {@link #unmakeMove} na ordem inversa.
+     */
+    public void makeMove(int move) {
+        int from  = Move.from(move);
+        int to    = Move.to(move);
+        int flags = Move.flags(move);
+        int code  = mailbox[from];
+
+        if (ply == undo.length) {
+            undo        = Arrays.copyOf(undo, ply * 2);
+            savedMaps   = Arrays.copyOf(savedMaps, ply * 6);
+            savedCached = Arrays.copyOf(savedCached, ply * 2);
+        }
+        savedMaps[3 * ply]     = attackMap[WHITE];
+        savedMaps[3 * ply + 1] = attackMap[BLACK];
+        savedMaps[3 * ply + 2] = checkers;
+        savedCached[ply]       = cached;
+
+        int captured;
+        if ((flags & Move.EN_PASSANT) != 0) {
+            captured = remove(side == WHITE ? to + 8 : to - 8);
+        } else {
+            captured = remove(to);
+        }
+        undo[ply++] = (captured + 1) | ((enPassant + 1) << 4) | (castling << 11)
+                    | (Math.min(halfmoveClock, 0x1FFFF) << 15);
+        halfmoveClock = captured != EMPTY || typeOf(code) == PAWN ? 0 : halfmoveClock + 1;
+        if (side == BLACK) fullmoveNumber++;
+
+        remove(from);
+        int promo = Move.promotion(move);
+        put(to, promo != 0 ? code(side, promo) : code);
+
+        if ((flags & Move.CASTLE) != 0) {
+            int rookFrom = to > from ? to + 1 : to - 2;
+            int rookTo   = to > from ? to - 1 : to + 1;
+            put(rookTo, remove(rookFrom));
+        }
+
+        setEnPassantSquare((flags & Move.DOUBLE_PUSH) != 0 ? (from + to) >>> 1 : -1);
+        setCastlingRights(castling & CASTLE_KEEP[from] & CASTLE_KEEP[to]);
+        side ^= 1;
+        key  ^= Zobrist.SIDE;
+        cached = 0;
+    }
+
+    /** desfaz o último {@link #makeMove}, que deve ter sido {@code move} */
+    public void unmakeMove(int move) {
+        int from  = Move.from(move);
+        int to    = Move.to(move);
+        int flags = Move.flags(move);
+        int state = undo[--ply];
+
+        side ^= 1;
+        key  ^= Zobrist.SIDE;
+        setEnPassantSquare(((state >>> 4) & 127) - 1);
+        setCastlingRights((state >>> 11) & 15);
+        halfmoveClock = state >>> 15;
+        if (side == BLACK) fullmoveNumber--;
+
+        if ((flags & Move.CASTLE) != 0) {
+            int rookFrom = to > from ? to + 1 : to - 2;
+            int rookTo   = to > from ? to - 1 : to + 1;
+            put(rookFrom, remove(rookTo));
+        }
+
+        int code = remove(to);
+        put(from, Move.isPromotion(move) ? code(side, PAWN) : code);
+
+        int captured = (state & 15) - 1;
+        if (captured != EMPTY) {
+            int capSq = (flags & Move.EN_PASSANT) != 0
+                      ? (side == WHITE ? to + 8 : to - 8)
+                      : to;
+            put(capSq, captured);
+        }
+
+        attackMap[WHITE] = savedMaps[3 * ply];
+        attackMap[BLACK] = savedMaps[3 * ply + 1];
+        checkers         = savedMaps[3 * ply + 2];
+        cached           = savedCached[ply];
+    }
+
+    /* ---------- consultas ---------- */
+
+    public int  pieceAt(int sq)             { return mailbox[sq]; }
+
+    public long pieces(int code)            { return pieces[code]; }
+
+    public long pieces(int color, int type) { return pieces[color * 6 + type]; }
+
+    public long occupancy(int color)        { return colorOcc[color]; }
+
+    public long occupied()                  { return occupied; }
+
+    public boolean isEmpty(int sq)          { return (occupied & (1L << sq)) == 0; }
+
+    public int  enPassantSquare()           { return enPassant; }
+
+    public int  castlingRights()            { return castling; }
+
+    public int  sideToMove()                { return side; }
+
+    public long key()                       { return enPassant < 0 ? key : key ^ Zobrist.enPassant(this); }
+
+    public int  halfmoveClock()             { return halfmoveClock; }
+
+    public int  fullmoveNumber()            { return fullmoveNumber; }
+
+    /** material + peça-casa de meio-jogo, brancas − pretas */
+    public int  mgScore()                   { return mgScore; }
+
+    /** material + peça-casa de final, brancas − pretas */
+    public int  egScore()                   { return egScore; }
+
+    /** fase do jogo pelas peças em jogo: {@link PieceSquareTables#MAX_PHASE} na abertura, 0 no final */
+    public int  phase()                     { return phase; }
+
+    /* ---------- ataques ---------- */
+
+    /** todas as peças (de ambas as cores) que atacam a casa, dada a ocupação */
+    public long attackersTo(int sq, long occ) {
+        long rooks   = pieces[code(WHITE, ROOK)]   | pieces[code(BLACK, ROOK)];
+        long bishops = pieces[code(WHITE, BISHOP)] | pieces[code(BLACK, BISHOP)];
+        long queens  = pieces[code(WHITE, QUEEN)]  | pieces[code(BLACK, QUEEN)];
+
+        return (Bitboards.PAWN_ATTACKS[BLACK][sq] & pieces[code(WHITE, PAWN)])
+             | (Bitboards.PAWN_ATTACKS[WHITE][sq] & pieces[code(BLACK, PAWN)])
+             | (Bitboards.KNIGHT_ATTACKS[sq] & (pieces[code(WHITE, KNIGHT)] | pieces[code(BLACK, KNIGHT)]))
+             | (Bitboards.KING_ATTACKS[sq]   & (pieces[code(WHITE, KING)]   | pieces[code(BLACK, KING)]))
+             | (Magics.rookAttacks(sq, occ)   & (rooks | queens))
+             | (Magics.bishopAttacks(sq, occ) & (bishops | queens));
+    }
+
+    /* ---------- mapas de ataque ---------- */
+
+    /** casa do rei da cor (o primeiro, em posições de teste com vários), ou -1 */
+    public int kingSquare(int color) {
+        long k = pieces[code(color, KING)];
+        return k == 0 ? -1 : Bitboards.lsb(k);
+    }
+
+    /**
+     * Casas atacadas pela cor, com o rei adversário transparente aos raios
+     * (uma casa "atrás" do rei na linha de um deslizante conta como
+     * atacada, como precisa o lance do rei).
+     */
+    public long attacks(int color) {
+        int bit = color == WHITE ? ATTACKS_WHITE : ATTACKS_BLACK;
+        if ((cached & bit) == 0) {
+            attackMap[color] = computeAttacks(color);
+            cached |= bit;
+        }
+        return attackMap[color];
+    }
+
+    /** true se o rei da cor está atacado */
+    public boolean isInCheck(int color) {
+        return (pieces[code(color, KING)] & attacks(color ^ 1)) != 0;
+    }
+
+    /** peças adversárias que dão xeque ao rei da vez (0 sem rei) */
+    public long checkers() {
+        if ((cached & CHECKERS) == 0) {
+            int king = kingSquare(side);
+            checkers = king < 0 ? 0 : attackersTo(king, occupied) & colorOcc[side ^ 1];
+            cached |= CHECKERS;
+        }
+        return checkers;
+    }
+
+    private long computeAttacks(int color) {
+        long occ = occupied & ~pieces[code(color ^ 1, KING)];
+        long pawns = pieces[code(color, PAWN)];
+        long a = color == WHITE
+               ? ((pawns & ~Bitboards.FILE_A) >>> 9) | ((pawns & ~Bitboards.FILE_H) >>> 7)
+               : ((pawns & ~Bitboards.FILE_A) <<  7) | ((pawns & ~Bitboards.FILE_H) <<  9);
+
+        for (long b = pieces[code(color, KNIGHT)]; b != 0; b &= b - 1)
+            a |= Bitboards.KNIGHT_ATTACKS[Bitboards.lsb(b)];
+        for (long b = pieces[code(color, KING)]; b != 0; b &= b - 1)
+            a |= Bitboards.KING_ATTACKS[Bitboards.lsb(b)];
+
+        long queens = pieces[code(color, QUEEN)];
+        for (long b = pieces[code(color, BISHOP)] | queens; b != 0; b &= b - 1)
+            a |= Magics.bishopAttacks(Bitboards.lsb(b), occ);
+        for (long b = pieces[code(color, ROOK)] | queens; b != 0; b &= b - 1)
+            a |= Magics.rookAttacks(Bitboards.lsb(b), occ);
+        return a;
+    }
+
+    /** true se a cor {@code by} ataca a casa, dada a ocupação */
+    public boolean isAttacked(int sq, int by, long occ) {
+        if ((Bitboards.KNIGHT_ATTACKS[sq] & pieces[code(by, KNIGHT)]) != 0) return true;
+        if ((Bitboards.PAWN_ATTACKS[by ^ 1][sq] & pieces[code(by, PAWN)]) != 0) return true;
+        if ((Bitboards.KING_ATTACKS[sq] & pieces[code(by, KING)]) != 0) return true;
+
+        long queens = pieces[code(by, QUEEN)];
+        if ((Magics.rookAttacks(sq, occ) & (pieces[code(by, ROOK)] | queens)) != 0) return true;
+        return (Magics.bishopAttacks(sq, occ) & (pieces[code(by, BISHOP)] | queens)) != 0;
+    }
+}
@@ -0,0 +1,160 @@
+package model;
+
+/**
+ * Notação algébrica padrão (SAN: "Nf3", "exd6", "O-O", "e8=Q+") resolvida
+ * contra o gerador de lances legais. Leitura e escrita trabalham sobre
+ * trechos de CharSequence e StringBuilder do chamador, sem alocação.
+ * Não é thread-safe: cada thread usa a sua instância.
+ */
+public final class San {
+
+    private final MoveGenerator gen  = new MoveGenerator();
+    private final MoveList      list = new MoveList();
+
+    /**
+     * Lance legal de {@code pos} escrito em {@code s[start, end)}, ou
+     * {@link Move#NONE} se não existir ou for ambíguo. Aceita sufixos
+     * (+ # ! ?), roque com "O" ou "0" e promoção com ou sem "=".
+     */
+    public int parse(Position pos, CharSequence s, int start, int end) {
+        while (end > start && isSuffix(s.charAt(end - 1))) end--;
+        if (end - start < 2) return Move.NONE;
+
+        gen.prepare(pos, pos.sideToMove());
+        gen.generate(list);
+
+        char first = s.charAt(start);
+        if (first == 'O' || first == '0') return castle(s, start, end);
+
+        int type = Position.PAWN;
+        if (first >= 'B' && first <= 'R') {
+            type = Position.typeIndex(first);
+            if (type <= Position.PAWN) return Move.NONE;
+            start++;
+        }
+
+        int promo = 0;
+        if (type == Position.PAWN) {
+            char last = Character.toUpperCase(s.charAt(end - 1));
+            if (last >= 'B' && last <= 'R') {
+                promo = Position.typeIndex(last);
+                if (promo < Position.KNIGHT || promo > Position.QUEEN) return Move.NONE;
+                end--;
+                if (end > start && s.charAt(end - 1) == '=') end--;
+            }
+        }
+
+        if (end - start < 2) return Move.NONE;
+        int toCol = s.charAt(end - 2) - 'a', toRow = '8' - s.charAt(end - 1);
+        if (toCol < 0 || toCol > 7 || toRow < 0 || toRow > 7) return Move.NONE;
+        int to = Bitboards.square(toRow, toCol);
+        end -= 2;
+
+        /* o que sobra: desambiguação (coluna e/ou fileira) e o "x" */
+        int fromCol = -1, fromRow = -1;
+        for (int i = start; i < end; i++) {
+            char ch = s.charAt(i);
+            if (ch >= 'a' && ch <= 'h')      fromCol = ch - 'a';
+            else if (ch >= '1' && ch <= '8') fromRow = '8' - ch;
+            else if (ch != 'x' && ch != ':' && ch != '-') return Move.NONE;
+        }
+
+        int found = Move.NONE;
+        for (int i = 0; i < list.size(); i++) {
+            int m    = list.get(i);
+            int from = Move.from(m);
+            if (Move.to(m) != to || Move.isCastle(m)
+                    || Position.typeOf(pos.pieceAt(from)) != type
+                    || Move.promotion(m) != promo
+                    || (fromCol >= 0 && Bitboards.colOf(from) != fromCol)
+                    || (fromRow >= 0 && Bitboards.rowOf(from) != fromRow)) continue;
+            if (found != Move.NONE) return Move.NONE;       // ambíguo
+            found = m;
+        }
+        return found;
+    }
+
+    /** idem, para o texto inteiro */
+    public int parse(Position pos, CharSequence s) {
+        return parse(pos, s, 0, s.length());
+    }
+
+    /**
+     * Acrescenta o SAN de um lance legal de {@code pos}, com "+" ou "#".
+     * A posição é alterada e restaurada para testar o xeque.
+     */
+    public void append(Position pos, int move, StringBuilder sb) {
+        int from = Move.from(move), to = Move.to(move);
+        int type = Position.typeOf(pos.pieceAt(from));
+
+        if (Move.isCastle(move)) {
+            sb.append(to > from ? "O-O" : "O-O-O");
+        } else if (type == Position.PAWN) {
+            if (Move.isCapture(move)) sb.append((char) ('a' + Bitboards.colOf(from))).append('x');
+            Fen.appendSquare(to, sb);
+            if (Move.isPromotion(move)) sb.append('=').append(Position.typeChar(Move.promotion(move)));
+        } else {
+            sb.append(Position.typeChar(type));
+            appendDisambiguation(pos, move, type, sb);
+            if (Move.isCapture(move)) sb.append('x');
+            Fen.appendSquare(to, sb);
+        }
+
+        pos.makeMove(move);
+        gen.prepare(pos, pos.sideToMove());
+        if (gen.inCheck()) sb.append(gen.hasLegalMove() ? '+' : '#');
+        pos.unmakeMove(move);
+    }
+
+    /** SAN de um lance legal de {@code pos} */
+    public String toString(Position pos, int move) {
+        StringBuilder sb = new StringBuilder(8);
+        append(pos, move, sb);
+        return sb.toString();
+    }
+
+    /* ---------- util ---------- */
+
+    /* coluna, fileira ou ambas, se outra peça igual também alcança o destino */
+    private void appendDisambiguation(Position pos, int move, int type, StringBuilder sb) {
+        int from = Move.from(move), to = Move.to(move);
+        gen.prepare(pos, pos.sideToMove());
+        gen.generate(list);
+
+        boolean other = false, sameCol = false, sameRow = false;
+        for (int i = 0; i < list.size(); i++) {
+            int m = list.get(i), f = Move.from(m);
+            if (Move.to(m) != to || f == from || Position.typeOf(pos.pieceAt(f)) != type) continue;
+            other = true;
+            sameCol |= Bitboards.colOf(f) == Bitboards.colOf(from);
+            sameRow |= Bitboards.rowOf(f) == Bitboards.rowOf(from);
+        }
+        if (!other) return;
+        if (!sameCol) {
+            sb.append((char) ('a' + Bitboards.colOf(from)));
+        } else if (!sameRow) {
+            sb.append((char) ('8' - Bitboards.rowOf(from)));
+        } else {
+            Fen.appendSquare(from, sb);
+        }
+    }
+
+    private int castle(CharSequence s, int start, int end) {
+        int len = end - start;
+        if (len != 3 && len != 5) return Move.NONE;
+        for (int i = start; i < end; i++) {
+            char ch = s.charAt(i);
+            if ((i - start) % 2 == 1 ? ch != '-' : ch != 'O' && ch != '0') return Move.NONE;
+        }
+        boolean kingside = len == 3;
+        for (int i = 0; i < list.size(); i++) {
+            int m = list.get(i);
+            if (Move.isCastle(m) && (Move.to(m) > Move.from(m)) == kingside) return m;
+        }
+        return Move.NONE;
+    }
+
+    private static boolean isSuffix(char ch) {
+        return ch == '+' || ch == '#' || ch == '!' || ch == '?';
+    }
+}
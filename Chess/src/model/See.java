@@ -0,0 +1,137 @@
+package model;
+
+/**
+ * Troca estática (SEE): o saldo de material da sequência de capturas numa
+ * casa, cada lado recapturando sempre com a peça menos valiosa e podendo
+ * parar quando continuar não compensa. Não joga os lances: parte dos
+ * atacantes da casa ({@link Position#attackersTo}) e, a cada peça que sai,
+ * acrescenta os deslizantes que estavam atrás dela (raios-x).
+ *
+ * Aproximações usuais: cravadas e xeques são ignorados, e só a promoção do
+ * lance inicial é considerada. O rei só captura por último (quando o outro
+ * lado não tem mais atacantes).
+ */
+public final class See {
+
+    private See() { }
+
+    /** valor de cada tipo (PAWN … KING) nas trocas; o rei nunca é capturado */
+    public static final int[] VALUE = { 100, 320, 330, 500, 900, 0 };
+
+    /**
+     * Saldo da troca iniciada por {@code move}, do ponto de vista de quem o
+     * joga. Num lance sem captura, é o que se perde se a peça for tomada ao chegar.
+     */
+    public static int see(Position pos, int move) {
+        if (Move.isCastle(move)) return 0;
+        int from = Move.from(move), to = Move.to(move);
+        int us   = Position.colorOf(pos.pieceAt(from));
+
+        int[] gain = new int[32];
+        int d = 0;
+        gain[0] = captured(pos, move);
+        int onSquare = moved(pos, move);             // peça que fica na casa e pode ser capturada
+
+        long occ = occupancyAfter(pos, move);
+        long attackers = pos.attackersTo(to, occ) & occ;
+        int side = us ^ 1;
+        while (true) {
+            long mine = attackers & pos.occupancy(side);
+            if (mine == 0) break;
+            int type = leastValuable(pos, side, mine);
+            if (type == Position.KING && (attackers & pos.occupancy(side ^ 1)) != 0) break;
+
+            d++;
+            gain[d] = onSquare - gain[d - 1];
+
+            occ ^= Bitboards.bit(Bitboards.lsb(mine & pos.pieces(side, type)));
+            attackers = (attackers | xrays(pos, to, occ, type)) & occ;
+            onSquare = VALUE[type];
+            side ^= 1;
+        }
+        while (d > 0) {
+            gain[d - 1] = -Math.max(-gain[d - 1], gain[d]);
+            d--;
+        }
+        return gain[0];
+    }
+
+    /**
+     * true se {@link #see} ≥ {@code threshold}, com saída antecipada: para
+     * assim que um dos lados pode encerrar a troca com o resultado decidido.
+     */
+    public static boolean seeGE(Position pos, int move, int threshold) {
+        if (Move.isCastle(move)) return 0 >= threshold;
+        int from = Move.from(move), to = Move.to(move);
+
+        /* mesmo perdendo a peça que captura, o saldo já alcança o limite? */
+        int swap = captured(pos, move) - threshold;
+        if (swap < 0) return false;
+        swap = moved(pos, move) - swap;
+        if (swap <= 0) return true;
+
+        long occ = occupancyAfter(pos, move);
+        long attackers = pos.attackersTo(to, occ) & occ;
+        int side = Position.colorOf(pos.pieceAt(from));
+        int res  = 1;
+        while (true) {
+            side ^= 1;
+            attackers &= occ;
+            long mine = attackers & pos.occupancy(side);
+            if (mine == 0) break;
+            res ^= 1;
+
+            int type = leastValuable(pos, side, mine);
+            if (type == Position.KING)
+                return ((attackers & pos.occupancy(side ^ 1)) != 0 ? res ^ 1 : res) != 0;
+
+            swap = VALUE[type] - swap;
+            if (swap < res) break;
+            occ ^= Bitboards.bit(Bitboards.lsb(mine & pos.pieces(side, type)));
+            attackers |= xrays(pos, to, occ, type);
+        }
+        return res != 0;
+    }
+
+    /* material ganho pelo próprio lance (peça capturada e promoção) */
+    private static int captured(Position pos, int move) {
+        int v = 0;
+        if (Move.isEnPassant(move))  v = VALUE[Position.PAWN];
+        else if (Move.isCapture(move)) v = VALUE[Position.typeOf(pos.pieceAt(Move.to(move)))];
+        if (Move.isPromotion(move))  v += VALUE[Move.promotion(move)] - VALUE[Position.PAWN];
+        return v;
+    }
+
+    /* valor da peça que chega à casa */
+    private static int moved(Position pos, int move) {
+        return Move.isPromotion(move) ? VALUE[Move.promotion(move)]
+                                      : VALUE[Position.typeOf(pos.pieceAt(Move.from(move)))];
+    }
+
+    /* ocupação depois do lance, sem a peça que moveu (o peão capturado en-passant também sai) */
+    private static long occupancyAfter(Position pos, int move) {
+        int from = Move.from(move), to = Move.to(move);
+        long occ = pos.occupied() ^ Bitboards.bit(from) | Bitboards.bit(to);
+        if (Move.isEnPassant(move)) occ ^= Bitboards.bit(to + (to < from ? 8 : -8));
+        return occ;
+    }
+
+    private static int leastValuable(Position pos, int side, long mine) {
+        int type = Position.PAWN;
+        while ((mine & pos.pieces(side, type)) == 0) type++;
+        return type;
+    }
+
+    /* deslizantes revelados pela saída de uma peça do tipo dado */
+    private static long xrays(Position pos, int to, long occ, int type) {
+        long queens = pos.pieces(Position.WHITE, Position.QUEEN) | pos.pieces(Position.BLACK, Position.QUEEN);
+        long x = 0;
+        if (type == Position.PAWN || type == Position.BISHOP || type == Position.QUEEN)
+            x |= Magics.bishopAttacks(to, occ)
+               & (pos.pieces(Position.WHITE, Position.BISHOP) | pos.pieces(Position.BLACK, Position.BISHOP) | queens);
+        if (type == Position.ROOK || type == Position.QUEEN)
+            x |= Magics.rookAttacks(to, occ)
+               & (pos.pieces(Position.WHITE, Position.ROOK) | pos.pieces(Position.BLACK, Position.ROOK) | queens);
+        return x;
+    }
+}
@@ -0,0 +1,64 @@
+package model;
+
+/**
+ * Chaves Zobrist de 64 bits: um número aleatório por (peça, casa), por
+ * combinação de direitos de roque, por coluna de en-passant e para a cor
+ * da vez. A chave da posição é o XOR dos números presentes e é mantida
+ * incrementalmente pelo {@link Position}.
+ */
+public final class Zobrist {
+
+    private Zobrist() { }
+
+    public static final long[][] PIECE    = new long[12][64];
+    public static final long[]   CASTLING = new long[16];
+    public static final long[]   EP_FILE  = new long[8];
+    public static final long     SIDE;
+
+    static {
+        long[] state = { 0x2C1B3C6D4E5F6071L };   // semente fixa: chaves estáveis entre execuções
+
+        for (int code = 0; code < 12; code++)
+            for (int sq = 0; sq < 64; sq++)
+                PIECE[code][sq] = next(state);
+        for (int i = 1; i < 16; i++)             // sem direitos = 0
+            CASTLING[i] = next(state);
+        for (int f = 0; f < 8; f++)
+            EP_FILE[f] = next(state);
+        SIDE = next(state);
+    }
+
+    /* SplitMix64 */
+    private static long next(long[] state) {
+        long z = (state[0] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Parcela do en-passant: a coluna só entra na chave se um peão da vez
+     * ataca a casa. Sem captura possível a posição é a mesma (FIDE 9.2), e
+     * a repetição precisa reconhecê-la.
+     */
+    static long enPassant(Position pos) {
+        int ep = pos.enPassantSquare();
+        if (ep < 0) return 0L;
+        int us = pos.sideToMove();
+        return (Bitboards.PAWN_ATTACKS[us ^ 1][ep] & pos.pieces(us, Position.PAWN)) != 0
+             ? EP_FILE[Bitboards.colOf(ep)] : 0L;
+    }
+
+    /** chave calculada do zero – referência para conferir a atualização incremental */
+    public static long compute(Position pos) {
+        long key = 0L;
+        for (long occ = pos.occupied(); occ != 0; occ &= occ - 1) {
+            int sq = Bitboards.lsb(occ);
+            key ^= PIECE[pos.pieceAt(sq)][sq];
+        }
+        key ^= CASTLING[pos.castlingRights()];
+        key ^= enPassant(pos);
+        if (pos.sideToMove() == Position.BLACK) key ^= SIDE;
+        return key;
+    }
+}
@@ -0,0 +1,152 @@
+package pgn;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import model.ChessGame;
+import model.Fen;
+
+/**
+ * Uma partida de um arquivo PGN: etiquetas, posição inicial, lances
+ * compactados ({@link model.Move}) e resultado. Mutável e reaproveitável:
+ * {@link PgnReader#next(PgnGame)} sobrescreve a mesma instância a cada
+ * partida, para que a leitura em massa não gere lixo por lance.
+ *
+ * Lida com {@link PgnReader#nextUnresolved}, a partida traz só o texto SAN
+ * dos lances ({@link #sanCount()}, {@link #sanText()}), para que outra
+ * thread os resolva.
+ */
+public final class PgnGame {
+
+    /** etiquetas obrigatórias do PGN, na ordem em que são escritas */
+    static final String[] SEVEN_TAG_ROSTER = { "Event", "Site", "Date", "Round", "White", "Black", "Result" };
+
+    private final Map<String, String> tags = new LinkedHashMap<>();
+    private String startFen = Fen.START;
+    private int[]  moves    = new int[256];
+    private int    size;
+    private String result   = "*";
+    private String error;
+
+    /* lances ainda não resolvidos: texto SAN encostado, com o fim de cada um */
+    private final StringBuilder sanText = new StringBuilder(1024);
+    private int[] sanEnds = new int[256];
+    private int   sanCount;
+
+    /** volta ao estado de partida vazia a partir da posição inicial */
+    public void clear() {
+        tags.clear();
+        startFen = Fen.START;
+        size     = 0;
+        result   = "*";
+        error    = null;
+        sanText.setLength(0);
+        sanCount = 0;
+    }
+
+    /**
+     * Cópia da partida em andamento ou encerrada, com as sete etiquetas
+     * (data de hoje, jogadores desconhecidos) e SetUp/FEN se ela não começou
+     * da posição inicial.
+     */
+    public static PgnGame of(ChessGame game) {
+        PgnGame g = new PgnGame();
+        g.setTag("Event", "Partida");
+        g.setTag("Site",  "?");
+        g.setTag("Date",  LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy.MM.dd")));
+        g.setTag("Round", "-");
+        g.setTag("White", "?");
+        g.setTag("Black", "?");
+        g.setResult(game.getResult());
+        g.setStartFen(game.getStartFen());
+        for (int m : game.getMoves()) g.addMove(m);
+        return g;
+    }
+
+    /**
+     * Nova partida do model que joga os lances pelo mesmo caminho da
+     * interface, sem adjudicar empates antes do último lance (ver
+     * {@link ChessGame#replay}); lança IllegalStateException se algum lance
+     * for recusado.
+     */
+    public ChessGame toChessGame() {
+        ChessGame game = new ChessGame();
+        if (!startFen.equals(Fen.START)) game.loadFen(startFen);
+        int played = game.replay(moves());
+        if (played < size)
+            throw new IllegalStateException("lance " + (played + 1) + " recusado pela partida");
+        return game;
+    }
+
+    /* ---------- etiquetas ---------- */
+
+    public String tag(String name)               { return tags.get(name); }
+
+    public Map<String, String> tags()            { return tags; }
+
+    public void setTag(String name, String value) {
+        tags.put(name, value);
+        if (name.equals("Result")) result = value;
+    }
+
+    /* ---------- posição, lances e resultado ---------- */
+
+    public String startFen()                     { return startFen; }
+
+    public void setStartFen(String fen) {
+        startFen = fen;
+        if (fen.equals(Fen.START)) {
+            tags.remove("SetUp");
+            tags.remove("FEN");
+        } else {
+            tags.put("SetUp", "1");
+            tags.put("FEN", fen);
+        }
+    }
+
+    public int  moveCount()                      { return size; }
+
+    public int  move(int i)                      { return moves[i]; }
+
+    public int[] moves()                         { return Arrays.copyOf(moves, size); }
+
+    public void addMove(int move) {
+        if (size == moves.length) moves = Arrays.copyOf(moves, size * 2);
+        moves[size++] = move;
+    }
+
+    /* ---------- lances em SAN, não resolvidos ---------- */
+
+    public int  sanCount()                       { return sanCount; }
+
+    /** texto de todos os lances SAN; o i-ésimo vai de {@link #sanStart} a {@link #sanEnd} */
+    public CharSequence sanText()                { return sanText; }
+
+    public int  sanStart(int i)                  { return i == 0 ? 0 : sanEnds[i - 1]; }
+
+    public int  sanEnd(int i)                    { return sanEnds[i]; }
+
+    void addSan(CharSequence s, int start, int end) {
+        if (sanCount == sanEnds.length) sanEnds = Arrays.copyOf(sanEnds, sanCount * 2);
+        sanText.append(s, start, end);
+        sanEnds[sanCount++] = sanText.length();
+    }
+
+    /** "1-0", "0-1", "1/2-1/2" ou "*" */
+    public String result()                       { return result; }
+
+    public void setResult(String result) {
+        this.result = result;
+        tags.put("Result", result);
+    }
+
+    /** motivo pelo qual a leitura parou no meio dos lances, ou null */
+    public String error()                        { return error; }
+
+    public boolean isValid()                     { return error == null; }
+
+    void setError(String error)                  { this.error = error; }
+}
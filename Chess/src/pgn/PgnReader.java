@@ -0,0 +1,268 @@
+package pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import model.Fen;
+import model.Move;
+import model.Position;
+import model.San;
+
+/**
+ * Leitura incremental de arquivos PGN, uma partida por vez. O texto passa
+ * por um buffer fixo e cada lance SAN é resolvido contra o gerador de lances
+ * legais numa única {@link Position} reaproveitada; a memória usada não
+ * depende do tamanho do arquivo, só da maior partida.
+ *
+ * Comentários ({…} e ;), variantes (…), NAGs ($n), números de lance e linhas
+ * de escape (%) são ignorados. Uma partida com lance inválido não interrompe
+ * a leitura: ela volta com {@link PgnGame#error()} preenchido e os lances até
+ * o problema, e a leitura segue para a próxima. Não é thread-safe.
+ */
+public final class PgnReader implements Closeable {
+
+    private static final int BUFFER = 1 << 16;
+
+    private final Reader in;
+    private final char[] buf = new char[BUFFER];
+    private int     pos, limit;
+    private int     pushback = -1;
+    private boolean lineStart = true;
+
+    private final StringBuilder token    = new StringBuilder(64);
+    private final Position      position = new Position();
+    private final San           san      = new San();
+    private boolean resolve = true;
+    private long games;
+
+    public PgnReader(Reader in) {
+        this.in = in;
+    }
+
+    /** arquivo em UTF-8 (compatível com o ASCII do padrão) */
+    public static PgnReader open(Path file) throws IOException {
+        return new PgnReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /** próxima partida, ou null no fim do arquivo */
+    public PgnGame next() throws IOException {
+        PgnGame game = new PgnGame();
+        return next(game) ? game : null;
+    }
+
+    /** sobrescreve {@code game} com a próxima partida; false no fim do arquivo */
+    public boolean next(PgnGame game) throws IOException {
+        resolve = true;
+        return read(game);
+    }
+
+    /**
+     * Como {@link #next(PgnGame)}, mas sem resolver os lances: a partida
+     * traz só o texto SAN de cada um e a FEN não é verificada. Serve para a
+     * leitura ficar só com o léxico e a resolução ir para outras threads.
+     */
+    public boolean nextUnresolved(PgnGame game) throws IOException {
+        resolve = false;
+        return read(game);
+    }
+
+    private boolean read(PgnGame game) throws IOException {
+        game.clear();
+        int c = skipSeparators();
+        if (c < 0) return false;
+
+        /* seção de etiquetas */
+        while (c == '[') {
+            readTag(game);
+            c = skipSeparators();
+        }
+
+        String fen = game.tag("FEN");
+        if (fen != null) game.setStartFen(fen.trim());
+        if (resolve) {
+            try {
+                Fen.load(game.startFen(), position);
+            } catch (IllegalArgumentException e) {
+                game.setError(e.getMessage());
+            }
+        }
+
+        /* lances */
+        for (; c >= 0; c = skipSeparators()) {
+            if (c == '[') {                        // partida sem resultado: começa a próxima
+                pushback = c;
+                break;
+            }
+            readToken(c);
+            if (isResult()) {
+                game.setResult(token.toString());
+                break;
+            }
+            if (game.isValid()) playToken(game);
+        }
+        games++;
+        return true;
+    }
+
+    /** partidas lidas até agora */
+    public long games() {
+        return games;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /* ---------- lances ---------- */
+
+    /* número de lance, NAG ou SAN (que pode vir colado ao número: "12.Nf3") */
+    private void playToken(PgnGame game) {
+        int start = 0, end = token.length();
+        char first = token.charAt(0);
+        if (first == '$') return;
+        if (first >= '1' && first <= '9' || first == '.') {
+            while (start < end && Character.isDigit(token.charAt(start))) start++;
+            if (start == end || token.charAt(start) != '.') {
+                game.setError("lance inválido: " + token);
+                return;
+            }
+            while (start < end && token.charAt(start) == '.') start++;
+            if (start == end) return;
+        }
+
+        if (!resolve) {
+            game.addSan(token, start, end);
+            return;
+        }
+        int move = san.parse(position, token, start, end);
+        if (move == Move.NONE) {
+            game.setError("lance inválido no meio-lance " + (game.moveCount() + 1) + ": "
+                          + token.substring(start, end));
+            return;
+        }
+        position.makeMove(move);
+        game.addMove(move);
+    }
+
+    private boolean isResult() {
+        return equals("1-0") || equals("0-1") || equals("1/2-1/2") || equals("*");
+    }
+
+    private boolean equals(String s) {
+        if (token.length() != s.length()) return false;
+        for (int i = 0; i < s.length(); i++)
+            if (token.charAt(i) != s.charAt(i)) return false;
+        return true;
+    }
+
+    /* ---------- léxico ---------- */
+
+    private void readToken(int c) throws IOException {
+        token.setLength(0);
+        do {
+            token.append((char) c);
+            c = read();
+        } while (c >= 0 && !isDelimiter(c));
+        if (c >= 0) pushback = c;
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c <= ' ' || c == '{' || c == '}' || c == '(' || c == ')'
+            || c == '[' || c == ']' || c == ';';
+    }
+
+    /* [Nome "valor"], com \" e \\ escapados dentro do valor */
+    private void readTag(PgnGame game) throws IOException {
+        int c = skipSpaces(read());
+        token.setLength(0);
+        while (c >= 0 && c > ' ' && c != '"' && c != ']') {
+            token.append((char) c);
+            c = read();
+        }
+        String name = token.toString();
+
+        c = skipSpaces(c);
+        token.setLength(0);
+        if (c == '"') {
+            for (c = read(); c >= 0 && c != '"'; c = read()) {
+                if (c == '\\') c = read();
+                if (c >= 0) token.append((char) c);
+            }
+            c = read();
+        }
+        while (c >= 0 && c != ']' && c != '\n') c = read();
+        if (!name.isEmpty()) game.setTag(name, token.toString());
+    }
+
+    /* espaços, comentários, variantes e linhas de escape; devolve o próximo caractere útil */
+    private int skipSeparators() throws IOException {
+        for (;;) {
+            boolean atLineStart = pushback < 0 && lineStart;
+            int c = read();
+            if (c < 0) return c;
+            if (c <= ' ' || c == ')' || c == ']') continue;
+            if (c == '%' && atLineStart || c == ';') {
+                skipLine();
+            } else if (c == '{') {
+                skipComment();
+            } else if (c == '(') {
+                skipVariation();
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int skipSpaces(int c) throws IOException {
+        while (c >= 0 && c <= ' ' && c != '\n') c = read();
+        return c;
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        do c = read(); while (c >= 0 && c != '\n');
+    }
+
+    private void skipComment() throws IOException {
+        int c;
+        do c = read(); while (c >= 0 && c != '}');
+    }
+
+    /* variantes podem se aninhar e conter comentários com parênteses */
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c < 0) return;
+            if (c == '(') depth++;
+            else if (c == ')') depth--;
+            else if (c == '{') skipComment();
+            else if (c == ';') skipLine();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback >= 0) {
+            int c = pushback;
+            pushback = -1;
+            return c;
+        }
+        if (pos == limit) {
+            limit = in.read(buf, 0, BUFFER);
+            pos   = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        char c = buf[pos++];
+        lineStart = c == '\n';
+        return c;
+    }
+}
@@ -0,0 +1,126 @@
+package pgn;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import model.Fen;
+import model.MoveGenerator;
+import model.Position;
+import model.San;
+
+/**
+ * Escrita de partidas em PGN no formato de exportação: as sete etiquetas
+ * obrigatórias primeiro, lances em SAN (com + e #) em linhas de até 79
+ * colunas e o resultado no fim. Cada partida é montada num buffer
+ * reaproveitado e entregue ao Writer de uma vez. Não é thread-safe.
+ */
+public final class PgnWriter implements Closeable, Flushable {
+
+    private static final int LINE = 79;
+
+    private final Writer out;
+    private final StringBuilder sb       = new StringBuilder(4096);
+    private final StringBuilder word     = new StringBuilder(16);
+    private final Position      position = new Position();
+    private final San           san      = new San();
+    private final MoveGenerator gen      = new MoveGenerator();
+
+    public PgnWriter(Writer out) {
+        this.out = out;
+    }
+
+    /** acrescenta ao fim do arquivo (criado se não existir) */
+    public static PgnWriter append(Path file) throws IOException {
+        return new PgnWriter(new OutputStreamWriter(
+            Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND),
+            StandardCharsets.UTF_8));
+    }
+
+    /** lança IllegalArgumentException se a FEN inicial ou algum lance for inválido */
+    public void write(PgnGame game) throws IOException {
+        sb.setLength(0);
+
+        for (String name : PgnGame.SEVEN_TAG_ROSTER) {
+            String value = game.tag(name);
+            appendTag(name, value != null ? value : name.equals("Result") ? game.result() : "?");
+        }
+        for (Map.Entry<String, String> e : game.tags().entrySet()) {
+            if (!isRoster(e.getKey())) appendTag(e.getKey(), e.getValue());
+        }
+        sb.append('\n');
+
+        Fen.load(game.startFen(), position);
+        int column = 0;
+        for (int i = 0; i < game.moveCount(); i++) {
+            word.setLength(0);
+            int number = position.fullmoveNumber();
+            if (position.sideToMove() == Position.WHITE) word.append(number).append(". ");
+            else if (i == 0) word.append(number).append("... ");
+
+            int move = game.move(i);
+            gen.prepare(position, position.sideToMove());
+            if (!gen.isLegal(move))
+                throw new IllegalArgumentException("lance " + (i + 1) + " ilegal na partida");
+            san.append(position, move, word);
+            position.makeMove(move);
+            column = appendWord(column);
+        }
+        word.setLength(0);
+        word.append(game.result());
+        appendWord(column);
+        sb.append("\n\n");
+
+        out.append(sb);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /* ---------- util ---------- */
+
+    /* quebra a linha antes de passar de LINE colunas; número e lance ficam juntos */
+    private int appendWord(int column) {
+        if (column > 0) {
+            if (column + 1 + word.length() > LINE) {
+                sb.append('\n');
+                column = 0;
+            } else {
+                sb.append(' ');
+                column++;
+            }
+        }
+        sb.append(word);
+        return column + word.length();
+    }
+
+    private void appendTag(String name, String value) {
+        sb.append('[').append(name).append(" \"");
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '"' || ch == '\\') sb.append('\\');
+            sb.append(ch);
+        }
+        sb.append("\"]\n");
+    }
+
+    private static boolean isRoster(String name) {
+        for (String r : PgnGame.SEVEN_TAG_ROSTER)
+            if (r.equals(name)) return true;
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.ChessGame;
+
+/**
+ * Servidor sem interface gráfica: hospeda muitas partidas independentes
+ * numa mesma JVM e as expõe por um protocolo de linhas ({@link Session}).
+ * Cada conexão é atendida por uma thread virtual, de modo que milhares de
+ * sessões simultâneas não ocupam milhares de threads do sistema.
+ *
+ * Uso: {@code java server.GameServer [--port N]}  (apenas na interface local)
+ *  ou: {@code java server.GameServer --stdin}      (uma sessão na entrada padrão)
+ */
+public class GameServer {
+
+    public static final int DEFAULT_PORT = 7000;
+
+    /* partidas abertas, visíveis a todas as sessões */
+    private final ConcurrentHashMap<Long, ChessGame> games = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    /** cria uma partida e devolve o seu identificador */
+    public long create() {
+        long id = nextId.getAndIncrement();
+        games.put(id, new ChessGame());
+        return id;
+    }
+
+    /** partida com o identificador, ou null */
+    public ChessGame get(long id) {
+        return games.get(id);
+    }
+
+    /** encerra a partida; false se não existia */
+    public boolean close(long id) {
+        return games.remove(id) != null;
+    }
+
+    public int openGames() {
+        return games.size();
+    }
+
+    /* ---------- transporte ---------- */
+
+    /** aceita conexões locais até o processo terminar, uma thread virtual por sessão */
+    public void listen(int port) throws IOException {
+        try (ServerSocket server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+             ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor()) {
+            System.out.println("servidor de xadrez em " + server.getLocalSocketAddress());
+            while (!server.isClosed()) {
+                Socket socket = server.accept();
+                sessions.submit(() -> serve(socket));
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(
+                 new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            new Session(this, in, out).run();
+        } catch (IOException e) {
+            // conexão caiu: as partidas da sessão já foram fechadas por Session.run
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        GameServer server = new GameServer();
+
+        if (args.length > 0 && args[0].equals("--stdin")) {
+            BufferedReader in  = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            PrintWriter    out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), true);
+            new Session(server, in, out).run();
+            return;
+        }
+
+        int port = DEFAULT_PORT;
+        if (args.length > 1 && args[0].equals("--port")) port = Integer.parseInt(args[1]);
+        server.listen(port);
+    }
+}
@@ -0,0 +1,181 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.Bitboards;
+import model.ChessGame;
+import model.Fen;
+import model.Move;
+import model.MoveList;
+import model.Position;
+
+/**
+ * Uma sessão do protocolo de linhas do {@link GameServer}. Cada linha é um
+ * comando; cada resposta é uma linha começando por {@code OK} ou {@code ERR}.
+ *
+ * <pre>
+ *   NEW                  → OK &lt;id&gt;
+ *   MOVE &lt;id&gt; e2e4      → OK &lt;vez&gt; &lt;situação&gt;     (promoção: e7e8q; roque: e1g1)
+ *   LEGAL &lt;id&gt;           → OK e2e4 g1f3 …
+ *   STATE &lt;id&gt;           → OK &lt;peças&gt; &lt;vez&gt; &lt;situação&gt;
+ *   CLOSE &lt;id&gt;           → OK
+ *   QUIT                 → OK  (encerra a sessão)
+ * </pre>
+ *
+ * Situação: {@code ongoing}, {@code check}, {@code checkmate W|B} (vencedor)
+ * ou {@code draw <motivo>}. Os lances passam por selectPiece/moveTo, como
+ * os cliques da interface. As partidas criadas na sessão são fechadas quando
+ * ela termina.
+ */
+public class Session implements Runnable {
+
+    private final GameServer     server;
+    private final BufferedReader in;
+    private final PrintWriter    out;
+
+    /* partidas criadas por esta sessão */
+    private final List<Long> owned = new ArrayList<>();
+
+    /* buffer reaproveitado pelo comando LEGAL */
+    private final MoveList moves = new MoveList();
+
+    public Session(GameServer server, BufferedReader in, PrintWriter out) {
+        this.server = server;
+        this.in     = in;
+        this.out    = out;
+    }
+
+    @Override
+    public void run() {
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                String reply = handle(line.split("\\s+"));
+                if (reply == null) break;
+                out.println(reply);
+            }
+        } catch (IOException e) {
+            // cliente desconectou
+        } finally {
+            for (long id : owned) server.close(id);
+        }
+    }
+
+    /** resposta ao comando, ou null para encerrar a sessão (já respondido) */
+    String handle(String[] cmd) {
+        try {
+            return switch (cmd[0].toUpperCase()) {
+                case "NEW"   -> {
+                    long id = server.create();
+                    owned.add(id);
+                    yield "OK " + id;
+                }
+                case "MOVE"  -> move(game(cmd), arg(cmd, 2));
+                case "LEGAL" -> legal(game(cmd));
+                case "STATE" -> state(game(cmd));
+                case "CLOSE" -> {
+                    long id = id(cmd);
+                    owned.remove(id);
+                    yield server.close(id) ? "OK" : "ERR partida inexistente: " + id;
+                }
+                case "QUIT"  -> {
+                    out.println("OK");
+                    yield null;
+                }
+                default      -> "ERR comando desconhecido: " + cmd[0];
+            };
+        } catch (IllegalArgumentException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    /* ---------- comandos ---------- */
+
+    private String move(ChessGame game, String text) {
+        if (text.length() < 4 || text.length() > 5)
+            throw new IllegalArgumentException("lance inválido: " + text);
+        int from  = Fen.parseSquare(text.substring(0, 2));
+        int to    = Fen.parseSquare(text.substring(2, 4));
+        int promo = 0;
+        if (text.length() == 5) {
+            promo = Position.typeIndex(Character.toUpperCase(text.charAt(4)));
+            if (promo < Position.KNIGHT || promo > Position.QUEEN)
+                throw new IllegalArgumentException("lance inválido: " + text);
+        }
+
+        synchronized (game) {
+            if (game.isGameEnded()) return "ERR partida encerrada";
+            /* a letra da promoção só vale para peão chegando à última fileira */
+            if (promo != 0 && !isPromotion(game.getBoard().getPosition(), from, to))
+                throw new IllegalArgumentException("lance inválido: " + text);
+            if (!game.playMove(Move.of(from, to, 0, promo))) return "ERR lance ilegal: " + text;
+            return "OK " + game.getCurrentTurn() + " " + status(game);
+        }
+    }
+
+    private static boolean isPromotion(Position pos, int from, int to) {
+        int row = Bitboards.rowOf(to);
+        return Position.typeOf(pos.pieceAt(from)) == Position.PAWN && (row == 0 || row == 7);
+    }
+
+    private String legal(ChessGame game) {
+        StringBuilder sb = new StringBuilder("OK");
+        synchronized (game) {
+            if (!game.isGameEnded()) game.generateLegalMoves(moves);
+            else moves.clear();
+            for (int i = 0; i < moves.size(); i++)
+                sb.append(' ').append(Move.toString(moves.get(i)));
+        }
+        return sb.toString();
+    }
+
+    private String state(ChessGame game) {
+        synchronized (game) {
+            return "OK " + placement(game.getBoard().getPosition())
+                 + " " + game.getCurrentTurn() + " " + status(game);
+        }
+    }
+
+    /* ---------- auxiliares ---------- */
+
+    private static String status(ChessGame game) {
+        if (!game.isGameEnded())
+            return game.isInCheck() ? "check" : "ongoing";
+        if (game.getWinner() == '=')
+            return "draw " + game.getDrawReason().name().toLowerCase();
+        return "checkmate " + game.getWinner();
+    }
+
+    /** campo de peças da FEN (maiúsculas = brancas) */
+    private static String placement(Position pos) {
+        StringBuilder sb = new StringBuilder(72);
+        Fen.appendPlacement(pos, sb);
+        return sb.toString();
+    }
+
+    private ChessGame game(String[] cmd) {
+        long id = id(cmd);
+        ChessGame game = server.get(id);
+        if (game == null) throw new IllegalArgumentException("partida inexistente: " + id);
+        return game;
+    }
+
+    private static long id(String[] cmd) {
+        try {
+            return Long.parseLong(arg(cmd, 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("identificador inválido: " + cmd[1]);
+        }
+    }
+
+    private static String arg(String[] cmd, int i) {
+        if (cmd.length <= i) throw new IllegalArgumentException("faltam argumentos para " + cmd[0]);
+        return cmd[i];
+    }
+}
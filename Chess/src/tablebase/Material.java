@@ -0,0 +1,187 @@
+package tablebase;
+
+import static model.Position.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Material de uma tabela, como "KQK" ou "KRKP": peças das brancas (rei
+ * primeiro, depois da mais forte para a mais fraca) seguidas das pretas.
+ * Só existe a tabela da orientação canônica, com o lado mais forte de
+ * brancas; a outra é consultada espelhando cores e tabuleiro.
+ *
+ * As peças além dos reis (no máximo duas) também formam uma chave pequena
+ * ({@link #key}, menor que {@link #KEYS}), usada para achar a tabela sem
+ * montar o nome.
+ */
+final class Material {
+
+    /** reis incluídos */
+    static final int MAX_PIECES = 4;
+
+    /** chaves possíveis: par ordenado de peças extras, 10 = nenhuma */
+    static final int KEYS = 11 * 11;
+
+    private static final String ORDER = "KQRBNP";          // da mais forte para a mais fraca
+
+    final String name;
+
+    /** códigos das peças (ver {@link model.Position#code}) na ordem do índice */
+    final int[] codes;
+
+    private Material(String name, int[] codes) {
+        this.name  = name;
+        this.codes = codes;
+    }
+
+    /**
+     * Lê um nome como "KQK" ou "KPKP" (em qualquer orientação) e devolve
+     * o material canônico; lança IllegalArgumentException se inválido.
+     */
+    static Material parse(String name) {
+        String s = name.trim().toUpperCase();
+        int split = s.indexOf('K', 1);
+        if (!s.startsWith("K") || split < 0 || s.length() > MAX_PIECES || s.length() < 2)
+            throw new IllegalArgumentException("material inválido: " + name);
+
+        int[] codes = new int[s.length()];
+        for (int i = 0; i < s.length(); i++) {
+            int type = typeIndex(s.charAt(i));
+            if (type < 0 || (type == KING) != (i == 0 || i == split))
+                throw new IllegalArgumentException("material inválido: " + name);
+            codes[i] = code(i < split ? WHITE : BLACK, type);
+        }
+        return of(codes, codes.length);
+    }
+
+    /** material canônico das {@code n} primeiras peças (em qualquer ordem e orientação) */
+    static Material of(int[] pieces, int n) {
+        String white = side(pieces, n, WHITE), black = side(pieces, n, BLACK);
+        String name  = stronger(white, black) ? white + black : black + white;
+
+        int[] codes = new int[name.length()];
+        int split = name.indexOf('K', 1);
+        for (int i = 0; i < codes.length; i++)
+            codes[i] = code(i < split ? WHITE : BLACK, typeIndex(name.charAt(i)));
+        return new Material(name, codes);
+    }
+
+    /* "K" e as demais peças da cor, da mais forte para a mais fraca */
+    private static String side(int[] pieces, int n, int color) {
+        StringBuilder sb = new StringBuilder(MAX_PIECES);
+        for (int i = 0; i < ORDER.length(); i++) {
+            int code = code(color, typeIndex(ORDER.charAt(i)));
+            for (int j = 0; j < n; j++)
+                if (pieces[j] == code) sb.append(ORDER.charAt(i));
+        }
+        return sb.toString();
+    }
+
+    /* a ≥ b: mais peças, ou peças mais fortes na primeira diferença */
+    private static boolean stronger(String a, String b) {
+        if (a.length() != b.length()) return a.length() > b.length();
+        for (int i = 0; i < a.length(); i++) {
+            int d = ORDER.indexOf(a.charAt(i)) - ORDER.indexOf(b.charAt(i));
+            if (d != 0) return d < 0;
+        }
+        return true;
+    }
+
+    int pieces() {
+        return codes.length;
+    }
+
+    /** posições do índice: lado da vez × 64 casas por peça */
+    long size() {
+        return 2L << (6 * codes.length);
+    }
+
+    int key() {
+        return key(codes, codes.length);
+    }
+
+    /** chave das peças extras das {@code n} primeiras peças, sem considerar a orientação */
+    static int key(int[] pieces, int n) {
+        int a = 10, b = 10;
+        for (int i = 0; i < n; i++) {
+            int c = pieces[i];
+            if (typeOf(c) == KING) continue;
+            int x = c < 6 ? c : c - 1;                  // 0…9 sem os reis
+            if (x < a) { b = a; a = x; }
+            else if (x < b) b = x;
+        }
+        return a * 11 + b;
+    }
+
+    /** mesma chave com as cores trocadas */
+    static int flippedKey(int key) {
+        int a = flip(key / 11), b = flip(key % 11);
+        return Math.min(a, b) * 11 + Math.max(a, b);
+    }
+
+    private static int flip(int x) {
+        return x == 10 ? 10 : x < 5 ? x + 5 : x - 5;
+    }
+
+    /**
+     * Materiais alcançados por uma captura ou promoção, canônicos e sem
+     * repetição; só reis não conta (é sempre empate).
+     */
+    List<Material> children() {
+        List<Material> out = new ArrayList<>();
+        int n = codes.length;
+        int[] tmp = new int[n];
+        for (int i = 0; i < n; i++) {
+            int type = typeOf(codes[i]);
+            if (type == KING) continue;
+
+            /* captura da peça i */
+            int m = 0;
+            for (int j = 0; j < n; j++) if (j != i) tmp[m++] = codes[j];
+            if (m > 2) add(out, of(tmp, m));
+
+            /* promoção */
+            if (type == PAWN) {
+                for (int promo = KNIGHT; promo <= QUEEN; promo++) {
+                    System.arraycopy(codes, 0, tmp, 0, n);
+                    tmp[i] = code(colorOf(codes[i]), promo);
+                    add(out, of(tmp, n));
+                }
+            }
+        }
+        return out;
+    }
+
+    private static void add(List<Material> out, Material m) {
+        for (Material x : out) if (x.name.equals(m.name)) return;
+        out.add(m);
+    }
+
+    /** todos os materiais canônicos com até {@code maxPieces} peças (reis incluídos) */
+    static List<Material> all(int maxPieces) {
+        List<Material> out = new ArrayList<>();
+        String extra = "QRBNPqrbnp";
+        int[] pieces = new int[MAX_PIECES];
+        for (int a = 0; a < extra.length(); a++) {
+            for (int b = a; b <= extra.length(); b++) {
+                int n = 2;
+                pieces[0] = code(WHITE, KING);
+                pieces[1] = code(BLACK, KING);
+                pieces[n++] = piece(extra.charAt(a));
+                if (b < extra.length()) pieces[n++] = piece(extra.charAt(b));
+                if (n <= maxPieces) add(out, of(pieces, n));
+            }
+        }
+        return out;
+    }
+
+    private static int piece(char c) {
+        return code(Character.isUpperCase(c) ? WHITE : BLACK, typeIndex(Character.toUpperCase(c)));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,188 @@
+package tablebase;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Um arquivo de tabela (.ctb): um byte por posição do índice de
+ * {@link Material} (0 = empate, k &gt; 0 = mate em k − 1 meios-lances;
+ * ímpar a favor de quem joga, par contra; posições impossíveis têm valor
+ * qualquer), em blocos de {@link #BLOCK} bytes comprimidos com Deflate.
+ *
+ * Arquivo (little-endian): cabeçalho de 32 bytes (mágico, material em 8
+ * bytes ASCII, entradas, blocos), {@code blocks + 1} deslocamentos de 8
+ * bytes e os blocos. O arquivo é mapeado em memória; uma consulta
+ * descomprime no máximo um bloco, que fica num cache pequeno da thread.
+ */
+final class Table {
+
+    static final int MAGIC  = 0x43544231;          // "CTB1"
+    static final int BLOCK  = 4096;
+    static final int HEADER = 32;
+
+    /* blocos descomprimidos guardados por thread (mapeamento direto) */
+    private static final int CACHE = 64;
+
+    static final String EXTENSION = ".ctb";
+
+    final Material material;
+
+    private final FileChannel      channel;
+    private final MappedByteBuffer map;
+    private final long             entries;
+    private final int              blocks;
+
+    /* tabela inteira descomprimida (ver {@link #load}), ou null */
+    private byte[] full;
+
+    private final ThreadLocal<Cache> cache = ThreadLocal.withInitial(Cache::new);
+
+    private Table(FileChannel channel) throws IOException {
+        this.channel = channel;
+        if (channel.size() < HEADER) throw new IOException("não é uma tabela de finais");
+        map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        map.order(ByteOrder.LITTLE_ENDIAN);
+        if (map.getInt(0) != MAGIC) throw new IOException("não é uma tabela de finais");
+
+        byte[] name = new byte[8];
+        map.get(4, name);
+        int len = 0;
+        while (len < name.length && name[len] != 0) len++;
+        try {
+            material = Material.parse(new String(name, 0, len, StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("tabela de finais com material inválido", e);
+        }
+        entries = map.getLong(12);
+        blocks  = map.getInt(20);
+        if (entries != material.size() || blocks != (entries + BLOCK - 1) / BLOCK
+                || map.getLong(HEADER + 8 * blocks) != channel.size())
+            throw new IOException("tabela de finais incompleta: " + material);
+    }
+
+    static Table open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new Table(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** nome do arquivo da tabela, ex.: "KQK.ctb" */
+    static String fileName(Material m) {
+        return m.name + EXTENSION;
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    /* ---------- consulta ---------- */
+
+    /** valor da posição de índice {@code index} (ver o formato acima) */
+    int value(long index) {
+        byte[] all = full;
+        if (all != null) return all[(int) index] & 0xFF;
+
+        int   block = (int) (index / BLOCK);
+        Cache c     = cache.get();
+        int   slot  = block & (CACHE - 1);
+        if (c.tags[slot] != block) {
+            inflate(block, c.data[slot], c.inflater);
+            c.tags[slot] = block;
+        }
+        return c.data[slot][(int) (index % BLOCK)] & 0xFF;
+    }
+
+    /** descomprime a tabela inteira no heap (usado na geração das tabelas maiores) */
+    void load() {
+        if (full != null) return;
+        byte[] all = new byte[(int) entries];
+        byte[] buf = new byte[BLOCK];
+        Inflater inflater = new Inflater(true);
+        for (int b = 0; b < blocks; b++) {
+            inflate(b, buf, inflater);
+            System.arraycopy(buf, 0, all, b * BLOCK, (int) Math.min(BLOCK, entries - (long) b * BLOCK));
+        }
+        inflater.end();
+        full = all;
+    }
+
+    private void inflate(int block, byte[] out, Inflater inflater) {
+        long from = map.getLong(HEADER + 8 * block);
+        long to   = map.getLong(HEADER + 8 * (block + 1));
+        inflater.reset();
+        inflater.setInput(map.slice((int) from, (int) (to - from)));
+        try {
+            int n = 0;
+            while (n < out.length && !inflater.finished()) n += inflater.inflate(out, n, out.length - n);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("bloco " + block + " corrompido em " + material, e);
+        }
+    }
+
+    private static final class Cache {
+        final int[]    tags     = new int[CACHE];
+        final byte[][] data     = new byte[CACHE][BLOCK];
+        final Inflater inflater = new Inflater(true);
+
+        Cache() {
+            Arrays.fill(tags, -1);
+        }
+    }
+
+    /* ---------- escrita ---------- */
+
+    /**
+     * Comprime {@code values} (um byte por posição) em {@code file}; escreve
+     * ao lado e só então substitui, como o índice de posições.
+     */
+    static void write(Path file, Material m, byte[] values) throws IOException {
+        int blocks = (values.length + BLOCK - 1) / BLOCK;
+        ByteBuffer head = ByteBuffer.allocate(HEADER + 8 * (blocks + 1)).order(ByteOrder.LITTLE_ENDIAN);
+        head.putInt(MAGIC);
+        byte[] name = m.name.getBytes(StandardCharsets.US_ASCII);
+        head.put(name).put(new byte[8 - name.length]);
+        head.putLong(values.length).putInt(blocks).putInt(0).putInt(0);
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                                               StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ch.position(head.capacity());
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+            byte[] out = new byte[BLOCK * 2];
+            long offset = head.capacity();
+            for (int b = 0; b < blocks; b++) {
+                head.putLong(offset);
+                deflater.reset();
+                deflater.setInput(values, b * BLOCK, Math.min(BLOCK, values.length - b * BLOCK));
+                deflater.finish();
+                int n = deflater.deflate(out);
+                ByteBuffer bb = ByteBuffer.wrap(out, 0, n);
+                while (bb.hasRemaining()) ch.write(bb);
+                offset += n;
+            }
+            deflater.end();
+            head.putLong(offset);
+
+            head.flip();
+            while (head.hasRemaining()) ch.write(head, head.position());
+            ch.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,135 @@
+package tablebase;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.Bitboards;
+import model.Position;
+
+/**
+ * Tabelas de finais de até {@link #MAX_PIECES} peças (reis incluídos),
+ * geradas por {@link TablebaseGenerator}: para cada posição coberta, vitória,
+ * empate ou derrota de quem joga e a distância até o mate em jogo perfeito.
+ *
+ * Cada material é um arquivo .ctb mapeado em memória (ver {@link Table}); a
+ * consulta monta o índice direto das casas das peças, sem busca, e
+ * descomprime no máximo um bloco de 4 KB. Posições com direito de roque ou
+ * captura en-passant possível não são cobertas, nem a regra dos 50 lances.
+ * Consulta thread-safe.
+ */
+public final class Tablebase implements AutoCloseable {
+
+    public static final int MAX_PIECES = Material.MAX_PIECES;
+
+    /** do ponto de vista de quem joga */
+    public enum Outcome { WIN, DRAW, LOSS }
+
+    /** {@code dtm}: meios-lances até o mate (0 no empate e na posição de mate) */
+    public record Result(Outcome outcome, int dtm) { }
+
+    /* por chave de material canônica (ver {@link Material#key}) */
+    private final Table[]     byKey = new Table[Material.KEYS];
+    private final List<Table> tables;
+
+    private Tablebase(List<Table> tables) {
+        this.tables = tables;
+        for (Table t : tables) byKey[t.material.key()] = t;
+    }
+
+    /** todas as tabelas (.ctb) do diretório */
+    public static Tablebase open(Path dir) throws IOException {
+        List<Table> tables = new ArrayList<>();
+        try (var files = Files.newDirectoryStream(dir, "*" + Table.EXTENSION)) {
+            for (Path p : files) tables.add(Table.open(p));
+        } catch (IOException | RuntimeException e) {
+            for (Table t : tables) t.close();
+            throw e;
+        }
+        return new Tablebase(tables);
+    }
+
+    /** tabelas de {@code -Dchess.tablebases=diretório}, ou null se não configurado */
+    public static Tablebase openConfigured() throws IOException {
+        String path = System.getProperty("chess.tablebases");
+        return path == null ? null : open(Path.of(path));
+    }
+
+    /** materiais disponíveis, ex.: "KQK", "KRKP" */
+    public List<String> materials() {
+        List<String> out = new ArrayList<>();
+        for (Table t : tables) out.add(t.material.name);
+        return out;
+    }
+
+    /**
+     * Resultado exato da posição, ou null se ela não é coberta (peças
+     * demais, material sem tabela, roque ou en-passant possível).
+     */
+    public Result probe(Position pos) {
+        long occ = pos.occupied();
+        int  n   = Long.bitCount(occ);
+        if (n > MAX_PIECES || pos.castlingRights() != 0) return null;
+
+        int us = pos.sideToMove(), ep = pos.enPassantSquare();
+        if (ep >= 0 && (Bitboards.PAWN_ATTACKS[us ^ 1][ep] & pos.pieces(us, Position.PAWN)) != 0) return null;
+
+        int[] codes = new int[MAX_PIECES], squares = new int[MAX_PIECES];
+        int i = 0;
+        for (long b = occ; b != 0; b &= b - 1, i++) {
+            squares[i] = Bitboards.lsb(b);
+            codes[i]   = pos.pieceAt(squares[i]);
+        }
+        int v = value(codes, squares, n, us);
+        if (v < 0) return null;
+        if (v == 0) return new Result(Outcome.DRAW, 0);
+        int dtm = v - 1;
+        return new Result((dtm & 1) != 0 ? Outcome.WIN : Outcome.LOSS, dtm);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Table t : tables) t.close();
+    }
+
+    /* ---------- acesso direto (também usado na geração) ---------- */
+
+    /**
+     * Valor bruto ({@link Table}) das {@code n} peças dadas com {@code side}
+     * a jogar; 0 só com os reis, −1 sem tabela para o material.
+     */
+    int value(int[] codes, int[] squares, int n, int side) {
+        if (n == 2) return 0;
+        int  key  = Material.key(codes, n);
+        Table t   = byKey[key];
+        boolean flip = false;
+        if (t == null) {
+            t    = byKey[Material.flippedKey(key)];
+            flip = true;
+            if (t == null) return -1;
+        }
+
+        /* casa de cada peça da tabela; com as cores trocadas, o tabuleiro é espelhado */
+        int[] want  = t.material.codes;
+        long  index = flip ? side ^ 1 : side;
+        int   used  = 0;
+        for (int j = 0; j < want.length; j++) {
+            int code = flip ? (want[j] + 6) % 12 : want[j];
+            int i = 0;
+            while (codes[i] != code || (used & 1 << i) != 0) i++;
+            used |= 1 << i;
+            index = index << 6 | (flip ? squares[i] ^ 56 : squares[i]);
+        }
+        return t.value(index);
+    }
+
+    /** descomprime no heap as tabelas dos materiais (canônicos) dados */
+    void load(List<Material> materials) {
+        for (Material m : materials) {
+            Table t = byKey[m.key()];
+            if (t != null) t.load();
+        }
+    }
+}
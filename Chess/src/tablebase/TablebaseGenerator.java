@@ -0,0 +1,499 @@
+package tablebase;
+
+import static model.Position.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import model.Bitboards;
+import model.Magics;
+
+/**
+ * Gera as tabelas de {@link Tablebase} por análise retrógrada, um material
+ * por vez, depois das tabelas alcançadas por captura ou promoção.
+ *
+ * Cada posição do índice ocupa um byte de valor (e dois auxiliares só
+ * durante a geração). A partir dos mates, nível a nível de distância d:
+ * <ul>
+ *   <li>d par (quem joga perde): toda posição anterior (lance desfeito,
+ *       sem captura nem promoção) ainda sem valor vence em d + 1;</li>
+ *   <li>d ímpar (quem joga vence): as anteriores viram candidatas, e uma
+ *       candidata perde em d + 1 se todos os seus lances levam a vitórias
+ *       do adversário.</li>
+ * </ul>
+ * Lances que saem do material (capturas e promoções) são resolvidos uma
+ * vez, no início, consultando as tabelas menores, e entram no nível certo.
+ * O que não se resolve é empate. Cada fase percorre o índice em blocos
+ * distribuídos entre as threads; as escritas concorrentes de uma fase
+ * gravam sempre o mesmo valor, então dispensam sincronização.
+ *
+ * Uso: {@code java tablebase.TablebaseGenerator <diretório> <material|todas>... [--threads n]}
+ */
+public final class TablebaseGenerator {
+
+    /** uma tabela gerada */
+    public record Report(String material, long positions, long wins, long draws, long losses,
+                         int longestMate, long millis) { }
+
+    /* valores durante a geração; 1…253 = distância + 1, como no arquivo */
+    private static final int UNKNOWN = 0;
+    private static final int DRAW    = 254;
+    private static final int ILLEGAL = 255;
+    private static final int MAX_DTM = 252;
+
+    /** posições por bloco distribuído às threads */
+    private static final int CHUNK = 1 << 14;
+
+    private final int threads;
+
+    public TablebaseGenerator(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("parâmetros inválidos");
+        this.threads = threads;
+    }
+
+    /** uma thread por processador */
+    public TablebaseGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Gera em {@code dir} a tabela do material (ex.: "KQK", "KRKP") e as de
+     * que ela depende, pulando as que já existem; devolve as geradas.
+     */
+    public List<Report> generate(String material, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        List<Report> done = new ArrayList<>();
+        generate(Material.parse(material), dir, done);
+        return done;
+    }
+
+    private void generate(Material m, Path dir, List<Report> done) throws IOException {
+        Path file = dir.resolve(Table.fileName(m));
+        if (Files.exists(file)) return;
+        for (Material child : m.children()) generate(child, dir, done);
+
+        long t0 = System.nanoTime();
+        try (Tablebase sub = Tablebase.open(dir)) {
+            sub.load(m.children());
+            Solver s = new Solver(m, sub);
+            s.solve();
+            Table.write(file, m, s.val);
+            done.add(s.report((System.nanoTime() - t0) / 1_000_000));
+        }
+    }
+
+    /* ---------- linha de comando ---------- */
+
+    public static void main(String[] args) throws IOException {
+        List<String> materials = new ArrayList<>();
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--threads")) threads = Integer.parseInt(args[++i]);
+            else if (args[i].equals("todas")) Material.all(Material.MAX_PIECES).forEach(m -> materials.add(m.name));
+            else materials.add(args[i]);
+        }
+        if (materials.isEmpty()) {
+            System.out.println("uso: TablebaseGenerator <diretório> <material|todas>... [--threads n]");
+            return;
+        }
+
+        TablebaseGenerator gen = new TablebaseGenerator(threads);
+        System.out.printf("%-6s %14s %14s %14s %14s %6s %10s%n",
+                          "tabela", "posições", "vitórias", "empates", "derrotas", "mate", "tempo (ms)");
+        for (String m : materials) {
+            for (Report r : gen.generate(m, Path.of(args[0]))) {
+                System.out.printf("%-6s %,14d %,14d %,14d %,14d %6d %,10d%n", r.material(), r.positions(),
+                                  r.wins(), r.draws(), r.losses(), r.longestMate(), r.millis());
+            }
+        }
+    }
+
+    /* ---------- análise retrógrada ---------- */
+
+    /* geração de um material: os três vetores e o pool de threads */
+    private final class Solver {
+        final Material    m;
+        final Tablebase   sub;
+        final byte[]      val;        // valor de cada posição
+        final byte[]      conv;       // melhor resultado só pelas capturas/promoções (0 = nenhuma)
+        final byte[]      flag;       // candidata a derrota no nível atual
+        final Worker[]    workers = new Worker[threads];
+
+        Solver(Material m, Tablebase sub) {
+            this.m   = m;
+            this.sub = sub;
+            int size = (int) m.size();
+            val  = new byte[size];
+            conv = new byte[size];
+            flag = new byte[size];
+            for (int i = 0; i < threads; i++) workers[i] = new Worker(this);
+        }
+
+        void solve() throws IOException {
+            ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "tabela-" + m.name);
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                run(pool, Worker::init);
+                int lastConv = 0;
+                for (Worker w : workers) lastConv = Math.max(lastConv, w.lastConv);
+
+                for (int d = 0; ; d++) {
+                    if (d > MAX_DTM) throw new IllegalStateException("distância até o mate longa demais: " + m);
+                    int level = d;
+                    long found = run(pool, (w, lo, hi) -> w.propagate(lo, hi, level));
+                    if ((d & 1) == 1) run(pool, (w, lo, hi) -> w.verify(lo, hi, level));
+                    if (found == 0 && d > lastConv) break;
+                }
+                run(pool, Worker::finish);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        Report report(long millis) {
+            long wins = 0, draws = 0, losses = 0;
+            int longest = 0;
+            for (Worker w : workers) {
+                wins   += w.wins;
+                draws  += w.draws;
+                losses += w.losses;
+                longest = Math.max(longest, w.longest);
+            }
+            return new Report(m.name, wins + draws + losses, wins, draws, losses, longest, millis);
+        }
+
+        /* uma fase: blocos do índice distribuídos entre as threads, somando o retorno */
+        private long run(ExecutorService pool, Pass pass) throws IOException {
+            AtomicInteger next = new AtomicInteger();
+            int size = val.length;
+            List<Future<Long>> parts = new ArrayList<>();
+            for (Worker w : workers) {
+                parts.add(pool.submit(() -> {
+                    long sum = 0;
+                    for (int lo; (lo = next.getAndAdd(CHUNK)) < size; )
+                        sum += pass.run(w, lo, Math.min(lo + CHUNK, size));
+                    return sum;
+                }));
+            }
+            long total = 0;
+            try {
+                for (Future<Long> f : parts) total += f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("geração interrompida", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw new IOException("falha na geração", e.getCause());
+            }
+            return total;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Pass {
+        long run(Worker w, int lo, int hi);
+    }
+
+    /* estado de uma thread: a posição decodificada, casa por peça do material */
+    private static final class Worker {
+        private final Solver s;
+        private final byte[] val, conv, flag;
+        private final int    n;
+        private final int[]  codes;
+        private final int[]  sq = new int[Material.MAX_PIECES];    // -1 = capturada
+        private final int[]  king = new int[2];                     // índice do rei de cada cor
+        private int side;
+
+        /* resumo das saídas do material da posição em análise (ver {@link #init}) */
+        private int     bestWin, worstLoss;
+        private boolean draw;
+
+        /* peças após uma captura ou promoção, para consultar a tabela menor */
+        private final int[] childCodes = new int[Material.MAX_PIECES];
+        private final int[] childSq    = new int[Material.MAX_PIECES];
+
+        int  lastConv;
+        long wins, draws, losses;
+        int  longest;
+
+        Worker(Solver s) {
+            this.s     = s;
+            this.val   = s.val;
+            this.conv  = s.conv;
+            this.flag  = s.flag;
+            this.codes = s.m.codes;
+            this.n     = codes.length;
+            for (int j = 0; j < n; j++)
+                if (typeOf(codes[j]) == KING) king[colorOf(codes[j])] = j;
+        }
+
+        /* ---------- fases ---------- */
+
+        /* posições impossíveis, mates, afogamentos e o resultado das capturas/promoções */
+        long init(int lo, int hi) {
+            for (int idx = lo; idx < hi; idx++) {
+                if (!decode(idx) || attacked(sq[king[side ^ 1]], side, occupancy())) {
+                    val[idx] = (byte) ILLEGAL;
+                    continue;
+                }
+                bestWin   = Integer.MAX_VALUE;
+                worstLoss = -1;
+                draw      = false;
+                boolean any = false;
+
+                long occ = occupancy();
+                for (int j = 0; j < n; j++) {
+                    if (colorOf(codes[j]) != side) continue;
+                    int from = sq[j];
+                    for (long t = targets(j, occ); t != 0; t &= t - 1) {
+                        int to = Bitboards.lsb(t);
+                        int captured = pieceAt(to);
+                        boolean promo = isPromotion(j, to);
+
+                        sq[j] = to;
+                        if (captured >= 0) sq[captured] = -1;
+                        boolean legal = !attacked(sq[king[side]], side ^ 1, occupancy());
+                        if (legal) {
+                            any = true;
+                            if (promo) {
+                                for (int type = KNIGHT; type <= QUEEN; type++) exit(childValue(j, type));
+                            } else if (captured >= 0) {
+                                exit(childValue(j, -1));
+                            }
+                        }
+                        sq[j] = from;
+                        if (captured >= 0) sq[captured] = to;
+                    }
+                }
+
+                if (!any) {
+                    boolean check = attacked(sq[king[side]], side ^ 1, occ);
+                    val[idx] = (byte) (check ? 1 : DRAW);
+                } else if (bestWin != Integer.MAX_VALUE || draw || worstLoss >= 0) {
+                    /* valor filho v = distância + 1; aqui, distância + 1 + 1 */
+                    int c = bestWin != Integer.MAX_VALUE ? bestWin + 1 : draw ? DRAW : worstLoss + 1;
+                    conv[idx] = (byte) c;
+                    if (c != DRAW) lastConv = Math.max(lastConv, c - 1);
+                }
+            }
+            return 0;
+        }
+
+        /* lance que sai do material: v é o valor do filho, para o adversário */
+        private void exit(int v) {
+            if (v == 0)                  draw = true;
+            else if (((v - 1) & 1) == 0) bestWin   = Math.min(bestWin, v);      // adversário perde
+            else                         worstLoss = Math.max(worstLoss, v);
+        }
+
+        /* nível d: anteriores das posições a d meios-lances do mate; devolve quantas havia */
+        long propagate(int lo, int hi, int d) {
+            int code = d + 1, next = d + 2;
+            long found = 0;
+            for (int idx = lo; idx < hi; idx++) {
+                int v = val[idx] & 0xFF;
+                if (v == code) {
+                    found++;
+                    predecessors(idx, d);
+                } else if (v == UNKNOWN && (conv[idx] & 0xFF) == next) {
+                    if ((d & 1) == 0) val[idx] = (byte) next;       // captura/promoção vence em d + 1
+                    else flag[idx] = 1;                             // pode perder em d + 1
+                }
+            }
+            return found;
+        }
+
+        private void predecessors(int idx, int d) {
+            decode(idx);
+            int  mover = side ^ 1;
+            long occ   = occupancy();
+            for (int j = 0; j < n; j++) {
+                if (colorOf(codes[j]) != mover) continue;
+                int to = sq[j];
+                for (long f = origins(j, occ); f != 0; f &= f - 1) {
+                    sq[j] = Bitboards.lsb(f);
+                    int p = encode(mover);
+                    if ((val[p] & 0xFF) == UNKNOWN) {
+                        if ((d & 1) == 0) val[p] = (byte) (d + 2);
+                        else flag[p] = 1;
+                    }
+                }
+                sq[j] = to;
+            }
+        }
+
+        /* nível d ímpar: candidatas cujos lances todos levam a vitória do adversário perdem em d + 1 */
+        long verify(int lo, int hi, int d) {
+            for (int idx = lo; idx < hi; idx++) {
+                if (flag[idx] == 0) continue;
+                flag[idx] = 0;
+                if ((val[idx] & 0xFF) != UNKNOWN) continue;
+
+                int c = conv[idx] & 0xFF;
+                if (c != 0 && (c == DRAW || ((c - 1) & 1) == 1 || c > d + 2)) continue;
+
+                decode(idx);
+                if (allMovesLose()) val[idx] = (byte) (d + 2);
+            }
+            return 0;
+        }
+
+        private boolean allMovesLose() {
+            long occ = occupancy();
+            for (int j = 0; j < n; j++) {
+                if (colorOf(codes[j]) != side) continue;
+                int from = sq[j];
+                for (long t = targets(j, occ); t != 0; t &= t - 1) {
+                    int to = Bitboards.lsb(t);
+                    if (pieceAt(to) >= 0 || isPromotion(j, to)) continue;
+                    sq[j] = to;
+                    int v = val[encode(side ^ 1)] & 0xFF;
+                    sq[j] = from;
+                    if (v == ILLEGAL) continue;                        // deixaria o rei em xeque
+                    if (v == UNKNOWN || v == DRAW || ((v - 1) & 1) == 0) return false;
+                }
+            }
+            return true;
+        }
+
+        /*
+         * valor final no formato do arquivo, com as contagens; posição
+         * impossível, que nunca é consultada, repete o valor anterior para
+         * comprimir melhor
+         */
+        long finish(int lo, int hi) {
+            byte last = 0;
+            for (int idx = lo; idx < hi; idx++) {
+                int v = val[idx] & 0xFF;
+                if (v == ILLEGAL) {
+                    val[idx] = last;
+                    continue;
+                } else if (v == UNKNOWN || v == DRAW) {
+                    val[idx] = 0;
+                    draws++;
+                } else {
+                    if (((v - 1) & 1) == 1) wins++;
+                    else losses++;
+                    longest = Math.max(longest, v - 1);
+                }
+                last = val[idx];
+            }
+            return 0;
+        }
+
+        /* ---------- posição ---------- */
+
+        private boolean decode(int idx) {
+            side = idx >>> (6 * n);
+            long occ = 0;
+            for (int j = n - 1; j >= 0; j--, idx >>>= 6) {
+                int q = idx & 63;
+                if ((occ & 1L << q) != 0) return false;
+                if (typeOf(codes[j]) == PAWN && (q < 8 || q >= 56)) return false;
+                occ |= 1L << q;
+                sq[j] = q;
+            }
+            return true;
+        }
+
+        private int encode(int side) {
+            int idx = side;
+            for (int j = 0; j < n; j++) idx = idx << 6 | sq[j];
+            return idx;
+        }
+
+        private long occupancy() {
+            long occ = 0;
+            for (int j = 0; j < n; j++) if (sq[j] >= 0) occ |= 1L << sq[j];
+            return occ;
+        }
+
+        /* índice da peça na casa, ou -1 */
+        private int pieceAt(int q) {
+            for (int j = 0; j < n; j++) if (sq[j] == q) return j;
+            return -1;
+        }
+
+        private boolean isPromotion(int j, int to) {
+            return typeOf(codes[j]) == PAWN && (to < 8 || to >= 56);
+        }
+
+        private long attacks(int j, long occ) {
+            int from = sq[j];
+            return switch (typeOf(codes[j])) {
+                case PAWN   -> Bitboards.PAWN_ATTACKS[colorOf(codes[j])][from];
+                case KNIGHT -> Bitboards.KNIGHT_ATTACKS[from];
+                case BISHOP -> Magics.bishopAttacks(from, occ);
+                case ROOK   -> Magics.rookAttacks(from, occ);
+                case QUEEN  -> Magics.queenAttacks(from, occ);
+                default     -> Bitboards.KING_ATTACKS[from];
+            };
+        }
+
+        private boolean attacked(int target, int by, long occ) {
+            for (int j = 0; j < n; j++)
+                if (sq[j] >= 0 && colorOf(codes[j]) == by && (attacks(j, occ) & 1L << target) != 0) return true;
+            return false;
+        }
+
+        /* destinos pseudo-legais da peça j (sem roque nem en-passant) */
+        private long targets(int j, long occ) {
+            int color = colorOf(codes[j]);
+            long own = 0, enemy = 0;
+            for (int k = 0; k < n; k++)
+                if (sq[k] >= 0) {
+                    if (colorOf(codes[k]) == color) own |= 1L << sq[k];
+                    else enemy |= 1L << sq[k];
+                }
+            if (typeOf(codes[j]) != PAWN) return attacks(j, occ) & ~own;
+
+            int from = sq[j], dir = color == WHITE ? -8 : 8;
+            long t = attacks(j, occ) & enemy;
+            int one = from + dir;
+            if ((occ & 1L << one) == 0) {
+                t |= 1L << one;
+                int start = color == WHITE ? 6 : 1;
+                if (from >>> 3 == start && (occ & 1L << (one + dir)) == 0) t |= 1L << (one + dir);
+            }
+            return t;
+        }
+
+        /* casas de onde a peça j pode ter vindo sem capturar nem promover */
+        private long origins(int j, long occ) {
+            if (typeOf(codes[j]) != PAWN) return attacks(j, occ) & ~occ;
+
+            int color = colorOf(codes[j]), to = sq[j], back = color == WHITE ? 8 : -8;
+            int one = to + back;
+            int home = color == WHITE ? 7 : 0;                       // primeira fila da cor
+            if (one >>> 3 == home || (occ & 1L << one) != 0) return 0;
+            long f = 1L << one;
+            int doubled = color == WHITE ? 4 : 3;                    // fila de chegada do lance duplo
+            if (to >>> 3 == doubled && (occ & 1L << (one + back)) == 0) f |= 1L << (one + back);
+            return f;
+        }
+
+        /* valor da posição após a captura/promoção já feita em sq[], com o adversário a jogar */
+        private int childValue(int j, int promo) {
+            int m = 0;
+            for (int k = 0; k < n; k++) {
+                if (sq[k] < 0) continue;
+                childCodes[m] = k == j && promo >= 0 ? code(colorOf(codes[k]), promo) : codes[k];
+                childSq[m++]  = sq[k];
+            }
+            int v = s.sub.value(childCodes, childSq, m, side ^ 1);
+            if (v < 0) throw new IllegalStateException("tabela ausente para " + Material.of(childCodes, m));
+            return v;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package archive;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import model.ChessGame;
+import model.Fen;
+import model.RandomGames;
+import pgn.PgnGame;
+
+public class GameArchiveTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static final String KIWIPETE =
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    /**
+     * Objetivo: Verificar a ida e volta de partidas pelo arquivo binário, inclusive após reabrir.
+     * Retorno: lances, FEN inicial, resultado e etiquetas iguais; números sequenciais; leitura em ordem aleatória.
+     * Significado: índice na lista de lances legais e cabeçalho fixo preservam a partida.
+     */
+    @Test(timeout = 10000)
+    public void test_appendAndReadBack() throws IOException {
+        Path file = tmp.getRoot().toPath().resolve("partidas.cga");
+        SplittableRandom rnd = new SplittableRandom(5);
+        PgnGame[] games = new PgnGame[300];
+
+        try (GameArchive archive = GameArchive.open(file)) {
+            for (int i = 0; i < games.length; i++) {
+                games[i] = RandomGames.game(rnd, i % 7 == 0 ? KIWIPETE : Fen.START, 150);
+                games[i].setResult(i % 2 == 0 ? "1-0" : "*");
+                games[i].setTag("White", "Jogador " + i);
+                games[i].setTag("Event", "Um nome de torneio bem mais longo que o campo");
+                assertEquals(i, archive.append(games[i]));
+            }
+        }
+
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertEquals(games.length, archive.size());
+            PgnGame read = new PgnGame();
+            for (int k = 0; k < games.length; k++) {
+                int i = (k * 127) % games.length;
+                archive.read(i, read);
+                assertArrayEquals(games[i].moves(), read.moves());
+                assertEquals(games[i].startFen(), read.startFen());
+                assertEquals(games[i].result(), read.result());
+                assertEquals("Jogador " + i, read.tag("White"));
+                assertEquals("Um nome de torneio bem m", read.tag("Event"));
+            }
+        }
+
+        /* poucos bits por meio-lance: bem menos que um byte em média */
+        long plies = 0, fenBytes = 0;
+        for (PgnGame g : games) {
+            plies += g.moveCount();
+            if (!g.startFen().equals(Fen.START)) fenBytes += g.startFen().length();
+        }
+        long moveBytes = Files.size(file) - 128L * games.length - fenBytes;
+        assertTrue(moveBytes * 8 < plies * 7);
+    }
+
+    /**
+     * Objetivo: Verificar a recuperação de uma queda no meio de um acréscimo.
+     * Retorno: registro sem entrada no índice e entrada apontando para registro truncado são descartados; novo acréscimo funciona.
+     * Significado: o arquivo continua legível e consistente após uma interrupção.
+     */
+    @Test(timeout = 10000)
+    public void test_recoversFromTornAppend() throws IOException {
+        Path file  = tmp.getRoot().toPath().resolve("queda.cga");
+        Path index = tmp.getRoot().toPath().resolve("queda.cga.idx");
+        SplittableRandom rnd = new SplittableRandom(9);
+        PgnGame a = RandomGames.game(rnd, Fen.START, 60), b = RandomGames.game(rnd, Fen.START, 60);
+
+        try (GameArchive archive = GameArchive.open(file)) {
+            archive.append(a);
+            archive.append(b);
+        }
+        long goodData = Files.size(file);
+
+        /* queda 1: o segundo registro foi cortado ao meio, a entrada do índice chegou a ser gravada */
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(goodData - 20);
+        }
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertEquals(1, archive.size());
+            assertArrayEquals(a.moves(), archive.read(0).moves());
+        }
+        assertEquals(8, Files.size(index));
+
+        /* queda 2: registro gravado por inteiro, índice com meia entrada */
+        try (GameArchive archive = GameArchive.open(file)) {
+            archive.append(b);
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(index.toFile(), "rw")) {
+            raf.setLength(12);
+        }
+        try (GameArchive archive = GameArchive.open(file)) {
+            assertEquals(1, archive.size());
+            assertEquals(1, archive.append(b));
+            assertArrayEquals(b.moves(), archive.read(1).moves());
+        }
+    }
+
+    /**
+     * Objetivo: Verificar que um registro corrompido é detectado na leitura.
+     * Retorno: IOException ao ler a partida com bytes trocados; as outras continuam legíveis.
+     * Significado: o CRC do registro impede devolver uma partida errada.
+     */
+    @Test(timeout = 10000)
+    public void test_detectsCorruption() throws IOException {
+        Path file = tmp.getRoot().toPath().resolve("ruim.cga");
+        SplittableRandom rnd = new SplittableRandom(3);
+        try (GameArchive archive = GameArchive.open(file)) {
+            archive.append(RandomGames.game(rnd, Fen.START, 80));
+            archive.append(RandomGames.game(rnd, Fen.START, 80));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(140);
+            raf.write(raf.read() ^ 0xFF);
+        }
+        try (GameArchive archive = GameArchive.open(file)) {
+            try {
+                archive.read(0);
+                fail("registro corrompido aceito");
+            } catch (IOException expected) {
+                // ok
+            }
+            assertEquals(80, archive.read(1).moveCount());
+        }
+    }
+
+    /**
+     * Objetivo: Verificar o caminho usado pelos botões de salvar e continuar.
+     * Retorno: a partida do ChessGame volta do arquivo na mesma posição e vez.
+     * Significado: lances do ChessGame (sem as flags do gerador) são aceitos pelo codificador.
+     */
+    @Test(timeout = 10000)
+    public void test_chessGameSaveAndContinue() throws IOException {
+        ChessGame game = new ChessGame();
+        assertTrue(game.selectPiece(6, 4)); assertTrue(game.moveTo(4, 4));   // e4
+        assertTrue(game.selectPiece(1, 3)); assertTrue(game.moveTo(3, 3));   // d5
+        assertTrue(game.selectPiece(4, 4)); assertTrue(game.moveTo(3, 3));   // exd5
+        assertTrue(game.selectPiece(1, 2)); assertTrue(game.moveTo(3, 2));   // c5
+        assertTrue(game.selectPiece(3, 3)); assertTrue(game.moveTo(2, 2));   // dxc6 e.p.
+
+        Path file = tmp.getRoot().toPath().resolve("salvas.cga");
+        try (GameArchive archive = GameArchive.open(file)) {
+            archive.append(PgnGame.of(game));
+        }
+        try (GameArchive archive = GameArchive.open(file)) {
+            ChessGame again = archive.read(archive.size() - 1).toChessGame();
+            assertEquals(game.toFen(), again.toFen());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package archive;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import model.Fen;
+import model.Position;
+import model.RandomGames;
+import pgn.PgnGame;
+
+public class PositionIndexTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    /* arquivo com partidas aleatórias; devolve, por chave, as ocorrências esperadas */
+    private static Map<Long, List<PositionIndex.Hit>> fill(GameArchive archive, int games, long seed)
+            throws IOException {
+        Map<Long, List<PositionIndex.Hit>> expected = new HashMap<>();
+        SplittableRandom rnd = new SplittableRandom(seed);
+        for (int g = 0; g < games; g++) {
+            PgnGame game = new PgnGame();
+            Position pos = Fen.parse(Fen.START);
+            int id = archive.size();
+            expected.computeIfAbsent(pos.key(), k -> new ArrayList<>()).add(new PositionIndex.Hit(id, 0));
+            int[] moves = RandomGames.moves(rnd, Fen.START, 40, 3);    // poucas escolhas: muitas transposições
+            for (int ply = 1; ply <= moves.length; ply++) {
+                pos.makeMove(moves[ply - 1]);
+                game.addMove(moves[ply - 1]);
+                expected.computeIfAbsent(pos.key(), k -> new ArrayList<>()).add(new PositionIndex.Hit(id, ply));
+            }
+            archive.append(game, false);
+        }
+        return expected;
+    }
+
+    /**
+     * Objetivo: Verificar o índice construído em paralelo com runs pequenas (muitas runs intercaladas).
+     * Retorno: para cada posição, exatamente as partidas e meios-lances esperados, em ordem; chave ausente devolve vazio.
+     * Significado: ordenação das runs e intercalação de k vias preservam todas as entradas.
+     */
+    @Test(timeout = 20000)
+    public void test_buildAndQuery() throws IOException {
+        Path dir = tmp.getRoot().toPath();
+        try (GameArchive archive = GameArchive.open(dir.resolve("p.cga"))) {
+            Map<Long, List<PositionIndex.Hit>> expected = fill(archive, 400, 1);
+            long total = new PositionIndexBuilder(3, 1000).build(archive, 0, dir.resolve("p.idx"));
+
+            try (PositionIndex index = PositionIndex.open(dir.resolve("p.idx"))) {
+                assertEquals(total, index.size());
+                assertEquals(400, index.games());
+                long sum = 0;
+                for (Map.Entry<Long, List<PositionIndex.Hit>> e : expected.entrySet()) {
+                    assertEquals(e.getValue(), index.find(e.getKey()));
+                    assertEquals(e.getValue().size(), index.count(e.getKey()));
+                    sum += e.getValue().size();
+                }
+                assertEquals(sum, total);
+                assertEquals(400, index.count(Fen.parse(Fen.START).key()));
+                assertTrue(index.find(0x1234_5678_9ABC_DEF0L).isEmpty());
+                assertEquals(5, index.find(Fen.parse(Fen.START).key(), 5).size());
+            }
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(3, files.count());         // p.cga, p.cga.idx, p.idx: runs removidas
+        }
+    }
+
+    /**
+     * Objetivo: Verificar a indexação incremental, intercalando o índice existente com as partidas novas.
+     * Retorno: após a segunda construção, as consultas cobrem as partidas antigas e as novas.
+     * Significado: basta indexar as partidas acrescentadas desde a última construção.
+     */
+    @Test(timeout = 20000)
+    public void test_incrementalBuild() throws IOException {
+        Path dir = tmp.getRoot().toPath();
+        try (GameArchive archive = GameArchive.open(dir.resolve("q.cga"))) {
+            Map<Long, List<PositionIndex.Hit>> first = fill(archive, 50, 2);
+            new PositionIndexBuilder(2, 500).build(archive, 0, dir.resolve("q.idx"));
+
+            Map<Long, List<PositionIndex.Hit>> second = fill(archive, 50, 3);
+            int from;
+            try (PositionIndex index = PositionIndex.open(dir.resolve("q.idx"))) {
+                from = index.games();
+            }
+            assertEquals(50, from);
+            new PositionIndexBuilder(2, 500).build(archive, from, dir.resolve("q.idx"));
+
+            second.forEach((k, v) -> first.merge(k, v, (a, b) -> { a.addAll(b); return a; }));
+            try (PositionIndex index = PositionIndex.open(dir.resolve("q.idx"))) {
+                assertEquals(100, index.games());
+                for (Map.Entry<Long, List<PositionIndex.Hit>> e : first.entrySet())
+                    assertEquals(e.getValue(), index.find(e.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Objetivo: Verificar a ordenação radix das runs contra a ordem sem sinal de chave e valor.
+     * Retorno: chaves negativas depois das positivas, valores crescentes para chaves iguais.
+     * Significado: a ordem das runs é a mesma usada pela busca binária.
+     */
+    @Test(timeout = 2000)
+    public void test_runSortOrder() {
+        SplittableRandom rnd = new SplittableRandom(4);
+        int n = 5000;
+        long[] k = new long[n], v = new long[n];
+        for (int i = 0; i < n; i++) {
+            k[i] = rnd.nextInt(50) * 0x9E3779B97F4A7C15L;
+            v[i] = rnd.nextLong(1L << 47);
+        }
+        PositionIndexBuilder.sort(k, v, new long[n], new long[n], n);
+        for (int i = 1; i < n; i++) {
+            int c = Long.compareUnsigned(k[i - 1], k[i]);
+            assertTrue(c < 0 || (c == 0 && v[i - 1] <= v[i]));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package batch;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import batch.ReplayPipeline.FinalState;
+import batch.ReplayPipeline.GameReport;
+import batch.ReplayPipeline.Summary;
+import model.Fen;
+import model.RandomGames;
+import pgn.PgnGame;
+import pgn.PgnReader;
+import pgn.PgnWriter;
+
+public class ReplayPipelineTest {
+
+    private static final String SCHOLARS_MATE =
+        "[White \"A\"]\n[Black \"B\"]\n[Result \"1-0\"]\n\n"
+      + "1.e4 e5 2.Bc4 Nc6 3.Qh5 Nf6 4.Qxf7# 1-0\n\n";
+
+    private static final String WRONG_RESULT =
+        "[White \"C\"]\n[Black \"D\"]\n[Result \"1/2-1/2\"]\n\n"
+      + "1.f3 e5 2.g4 Qh4# 1/2-1/2\n\n";
+
+    private static final String ILLEGAL =
+        "[White \"E\"]\n[Black \"F\"]\n[Result \"*\"]\n\n"
+      + "1.e4 e5 2.Ke3 Nc6 3.Qh5 *\n\n";
+
+    private static Summary run(String pgn, int threads, int capacity, Map<Long, GameReport> out)
+            throws IOException, InterruptedException {
+        try (PgnReader in = new PgnReader(new StringReader(pgn))) {
+            return new ReplayPipeline(threads, capacity).run(in::nextUnresolved, r -> out.put(r.number(), r));
+        }
+    }
+
+    /**
+     * Objetivo: Verificar os relatórios de partidas curtas conhecidas.
+     * Retorno: mate detectado, resultado incoerente sinalizado e lance ilegal com o meio-lance.
+     * Significado: cada thread refaz a partida no seu tabuleiro e compara com o declarado.
+     */
+    @Test(timeout = 5000)
+    public void test_reportsKnownGames() throws Exception {
+        Map<Long, GameReport> out = new HashMap<>();
+        Summary s = run(SCHOLARS_MATE + WRONG_RESULT + ILLEGAL, 2, 1, out);
+
+        assertEquals(3, s.games());
+        assertEquals(1, s.invalid());
+        assertEquals(1, s.mismatches());
+        assertEquals(1, s.wins('W'));
+        assertEquals(1, s.draws());
+        assertEquals(1, s.unfinished());
+
+        GameReport mate = out.get(1L);
+        assertTrue(mate.isValid());
+        assertEquals(FinalState.BLACK_MATED, mate.finalState());
+        assertFalse(mate.resultMismatch());
+        assertEquals(7, mate.plies());
+        assertEquals(1, mate.captures());
+        assertEquals(1, mate.checks());
+
+        GameReport wrong = out.get(2L);
+        assertEquals(FinalState.WHITE_MATED, wrong.finalState());
+        assertTrue(wrong.resultMismatch());
+
+        GameReport illegal = out.get(3L);
+        assertFalse(illegal.isValid());
+        assertEquals("E", illegal.white());
+        assertEquals(2, illegal.plies());
+        assertTrue(illegal.error(), illegal.error().contains("meio-lance 3: Ke3"));
+        assertEquals(illegal, s.errors().get(0));
+    }
+
+    /**
+     * Objetivo: Verificar que o resultado não depende do número de threads nem da fila.
+     * Retorno: com 1 e 3 threads e fila de 1 lote, os mesmos relatórios por partida,
+     *          iguais aos lances que a leitura sequencial resolve.
+     * Significado: lotes reaproveitados e contrapressão não misturam partidas.
+     */
+    @Test(timeout = 20000)
+    public void test_parallelMatchesSequential() throws Exception {
+        SplittableRandom rnd = new SplittableRandom(5);
+        int games = 500;
+
+        StringWriter text = new StringWriter();
+        try (PgnWriter w = new PgnWriter(text)) {
+            for (int g = 0; g < games; g++) {
+                PgnGame game = RandomGames.game(rnd, Fen.START, rnd.nextInt(150));
+                game.setTag("White", "w" + g);
+                w.write(game);
+            }
+        }
+        String pgn = text.toString() + ILLEGAL;
+
+        Map<Long, GameReport> one   = new HashMap<>();
+        Map<Long, GameReport> three = new HashMap<>();
+        Summary s1 = run(pgn, 1, 1, one);
+        Summary s3 = run(pgn, 3, 1, three);
+        assertEquals(games + 1, s3.games());
+        assertEquals(1, s3.invalid());
+        assertEquals(s1.plies(), s3.plies());
+        assertEquals(one, three);
+
+        try (PgnReader in = new PgnReader(new StringReader(pgn))) {
+            PgnGame g = new PgnGame();
+            for (long n = 1; in.next(g); n++) {
+                GameReport r = three.get(n);
+                assertEquals(g.tag("White"), r.white());
+                assertEquals(g.moveCount(), r.plies());
+            }
+        }
+    }
+
+    /**
+     * Objetivo: Verificar que um erro da origem chega a quem chamou.
+     * Retorno: a IOException lançada pela leitura é relançada por run.
+     * Significado: a execução não termina em silêncio com totais parciais.
+     */
+    @Test(timeout = 5000)
+    public void test_sourceFailureIsRethrown() throws Exception {
+        int[] calls = { 0 };
+        ReplayPipeline.Source source = game -> {
+            if (++calls[0] > 100) throw new IOException("disco");
+            game.clear();
+            return true;
+        };
+        try {
+            new ReplayPipeline(2, 2).run(source, r -> { });
+            fail("esperava IOException");
+        } catch (IOException e) {
+            assertEquals("disco", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.Board;
+import model.ChessGame;
+import model.Fen;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Pawn;
+import model.PieceSquareTables;
+import model.Position;
+import model.Queen;
+
+public class EvaluatorTest {
+
+    /* somas recalculadas percorrendo as 64 casas: referência da versão incremental */
+    private static int[] scratch(Position pos) {
+        int mg = 0, eg = 0, phase = 0;
+        for (int sq = 0; sq < 64; sq++) {
+            int code = pos.pieceAt(sq);
+            if (code == Position.EMPTY) continue;
+            mg    += PieceSquareTables.MG[code][sq];
+            eg    += PieceSquareTables.EG[code][sq];
+            phase += PieceSquareTables.PHASE[Position.typeOf(code)];
+        }
+        return new int[] { mg, eg, phase };
+    }
+
+    private static void assertInSync(Position pos) {
+        assertArrayEquals(scratch(pos), new int[] { pos.mgScore(), pos.egScore(), pos.phase() });
+    }
+
+    /**
+     * Objetivo: Verificar a simetria da avaliação.
+     * Retorno: 0 na posição inicial; a mesma nota para a posição e sua espelhada com cores trocadas.
+     * Significado: as tabelas das pretas são o espelho das brancas.
+     */
+    @Test(timeout = 2000)
+    public void test_symmetry() {
+        assertEquals(0, Evaluator.evaluate(Fen.parse(Fen.START)));
+        assertEquals(PieceSquareTables.MAX_PHASE, Fen.parse(Fen.START).phase());
+
+        int white = Evaluator.evaluate(Fen.parse("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3"));
+        int black = Evaluator.evaluate(Fen.parse("rnbqkb1r/pppp1ppp/5n2/4p3/4P3/2N5/PPPP1PPP/R1BQKBNR b KQkq - 2 3"));
+        assertEquals(white, black);
+    }
+
+    /**
+     * Objetivo: Verificar se make/unmake mantêm as somas iguais às recalculadas.
+     * Retorno: após cada lance legal (capturas, roques, promoções) e ao desfazê-lo, somas conferem.
+     * Significado: avaliar uma folha custa O(1) sem perder exatidão.
+     */
+    @Test(timeout = 2000)
+    public void test_incrementalMatchesScratch() {
+        Position pos = Fen.parse("r3k2r/p1pPqpb1/bn2pnp1/4N3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        MoveGenerator gen = new MoveGenerator();
+        MoveList list = new MoveList();
+        gen.prepare(pos, pos.sideToMove());
+        gen.generate(list);
+
+        int before = Evaluator.evaluate(pos);
+        for (int i = 0; i < list.size(); i++) {
+            pos.makeMove(list.get(i));
+            assertInSync(pos);
+            pos.unmakeMove(list.get(i));
+        }
+        assertInSync(pos);
+        assertEquals(before, Evaluator.evaluate(pos));
+    }
+
+    /**
+     * Objetivo: Verificar as atualizações pelo caminho da interface (setPiece, moveTo, promote).
+     * Retorno: somas conferem após lances e após a promoção; a dama promovida aumenta a nota das brancas.
+     * Significado: Board e ChessGame mantêm a avaliação sem recálculo.
+     */
+    @Test(timeout = 2000)
+    public void test_boardAndPromotionPaths() {
+        ChessGame game  = new ChessGame();
+        Board     board = game.getBoard();
+        Position  pos   = board.getPosition();
+
+        board.setPiece(1, 0, null);                   // tira o peão a7
+        board.setPiece(0, 0, null);                   // e a torre a8
+        board.setPiece(1, 0, new Pawn('W', 1, 0));
+        assertInSync(pos);
+
+        assertTrue(game.selectPiece(1, 0));
+        assertTrue(game.moveTo(0, 0));                // a7-a8
+        assertTrue(game.isPromotionPending());
+        int pawnOnEighth = pos.mgScore();
+
+        game.promote('Q');
+        assertInSync(pos);
+        assertTrue(board.getPiece(0, 0) instanceof Queen);
+        assertTrue(pos.mgScore() > pawnOnEighth);
+    }
+}
@@ -0,0 +1,132 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+
+import model.Fen;
+import model.Move;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Position;
+import model.RandomGames;
+import model.San;
+import model.See;
+
+public class MovePickerTest {
+
+    private static final String KIWIPETE =
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    private final MoveGenerator gen    = new MoveGenerator();
+    private final MovePicker    picker = new MovePicker();
+    private final int[]         history = new int[2 << 12];
+
+    /**
+     * Objetivo: Verificar que o seletor entrega cada lance legal uma única vez.
+     * Retorno: em posições de partidas aleatórias, com lance da tabela e assassinos
+     *          quaisquer (legais ou não), o conjunto entregue é o de generate.
+     * Significado: a geração em estágios não perde nem repete lances.
+     */
+    @Test(timeout = 5000)
+    public void test_yieldsEveryLegalMoveOnce() {
+        SplittableRandom rnd = new SplittableRandom(25);
+        MoveList all = new MoveList();
+        for (int game = 0; game < 20; game++) {
+            Position pos = Fen.parse(KIWIPETE);
+            int lastQuiet = Move.NONE;
+            for (int played : RandomGames.moves(rnd, KIWIPETE, 60)) {
+                gen.prepare(pos, pos.sideToMove());
+                gen.generate(all);
+
+                int hash = all.get(rnd.nextInt(all.size()));
+                picker.init(pos, gen, rnd.nextBoolean() ? hash : Move.NONE, lastQuiet, hash, history);
+                int count = 0;
+                for (int m; (m = picker.next()) != Move.NONE; count++) {
+                    assertTrue(Fen.toFen(pos) + " " + Move.toString(m), all.contains(m));
+                    pos.makeMove(m);                     // filhos usam o mesmo gerador
+                    gen.prepare(pos, pos.sideToMove());
+                    gen.generate(new MoveList());
+                    pos.unmakeMove(m);
+                }
+                assertEquals(Fen.toFen(pos), all.size(), count);
+
+                if (!Move.isCapture(played)) lastQuiet = played;
+                pos.makeMove(played);
+            }
+        }
+    }
+
+    /**
+     * Objetivo: Verificar a ordem dos estágios.
+     * Retorno: lance da tabela primeiro; capturas boas em MVV-LVA; assassino antes
+     *          dos quietos; quietos pelo histórico; capturas perdedoras por último.
+     * Significado: os lances com maior chance de corte são tentados antes.
+     */
+    @Test(timeout = 2000)
+    public void test_stageOrder() {
+        Position pos = Fen.parse(KIWIPETE);
+        int hash   = move(pos, "O-O");
+        int killer = move(pos, "a3");
+        int hist   = move(pos, "Kd1");
+        history[MovePicker.historyIndex(Position.WHITE, hist)] = 1000;
+
+        picker.init(pos, gen, hash, killer, Move.NONE, history);
+        assertEquals(hash, picker.next());
+        int m, last = Integer.MAX_VALUE;
+        while (Move.isCapture(m = picker.next())) {
+            assertTrue(See.seeGE(pos, m, 0));
+            int victim = Evaluator.VALUE[Position.typeOf(pos.pieceAt(Move.to(m)))];
+            assertTrue(victim <= last);
+            last = victim;
+        }
+        assertEquals(killer, m);
+        assertEquals(hist, picker.next());
+
+        boolean seenBad = false;
+        while ((m = picker.next()) != Move.NONE) {
+            if (Move.isCapture(m)) {
+                seenBad = true;
+                assertFalse(See.seeGE(pos, m, 0));
+            } else {
+                assertFalse("quieto depois de captura perdedora", seenBad);
+            }
+        }
+        assertTrue(seenBad);
+    }
+
+    /**
+     * Objetivo: Verificar o modo de quiescência.
+     * Retorno: fora de xeque, só capturas que não perdem material; em xeque, todas as evasões.
+     * Significado: a quiescência não expande capturas perdedoras.
+     */
+    @Test(timeout = 2000)
+    public void test_quiescenceSkipsLosingCaptures() {
+        Position pos = Fen.parse(KIWIPETE);
+        picker.initQuiescence(pos, gen, history);
+        int n = 0;
+        for (int m; (m = picker.next()) != Move.NONE; n++) {
+            assertTrue(Move.isCapture(m));
+            assertTrue(See.seeGE(pos, m, 0));
+        }
+        assertTrue(n > 0);
+
+        Position check = Fen.parse("4k3/8/8/8/8/8/3q4/4K3 w - - 0 1");
+        picker.initQuiescence(check, gen, history);
+        assertTrue(picker.inCheck());
+        int evasions = 0;
+        while (picker.next() != Move.NONE) evasions++;
+        gen.prepare(check, check.sideToMove());
+        MoveList all = new MoveList();
+        gen.generate(all);
+        assertEquals(all.size(), evasions);
+    }
+
+    /* SAN → lance legal, para montar os casos */
+    private static int move(Position pos, String s) {
+        int m = new San().parse(pos, s);
+        assertNotEquals(s, Move.NONE, m);
+        return m;
+    }
+}
@@ -0,0 +1,66 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.ChessGame;
+import model.Fen;
+import model.Move;
+import model.Position;
+
+public class ParallelSearchTest {
+
+    /**
+     * Objetivo: Verificar se a busca paralela encontra o mesmo mate que a simples.
+     * Retorno: com 4 threads, Ta8# e nota de mate.
+     * Significado: as ajudantes não corrompem o resultado da thread principal.
+     */
+    @Test(timeout = 10000)
+    public void test_findsMateWithHelpers() {
+        Position root = Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        ParallelSearch ps = new ParallelSearch(root, new long[] { root.key() },
+                                               new TranspositionTable(4), 4);
+        SearchResult r = ps.think(0, 4);
+
+        assertEquals("a1a8", Move.toString(r.bestMove()));
+        assertTrue(r.isMate());
+    }
+
+    /**
+     * Objetivo: Verificar se as threads usam cópias próprias e somam nós.
+     * Retorno: a partida fica intacta, o lance devolvido é legal e os nós são contados.
+     * Significado: cada thread tem o seu estado de tabuleiro; só a tabela é compartilhada.
+     */
+    @Test(timeout = 10000)
+    public void test_threadsLeaveGameUntouched() {
+        ChessGame game = new ChessGame();
+        long key = game.getPositionKey();
+
+        ParallelSearch ps = ParallelSearch.forGame(game, new TranspositionTable(8), 3);
+        SearchResult r = ps.think(300, Search.MAX_PLY);
+
+        assertNotNull(r);
+        assertEquals(3, ps.threads());
+        assertEquals(key, game.getPositionKey());
+        assertTrue(game.playMove(r.bestMove()));
+        assertTrue(r.nodes() > 0);
+    }
+
+    /**
+     * Objetivo: Verificar buscas seguidas com orçamento mínimo e várias ajudantes.
+     * Retorno: cada chamada termina e devolve um lance, mesmo quando a principal
+     *          acaba antes de as ajudantes começarem.
+     * Significado: a interrupção das ajudantes não se perde; a interface não fica "pensando".
+     */
+    @Test(timeout = 20000)
+    public void test_tinyBudgetsAlwaysReturn() {
+        Position root = Fen.parse(Fen.START);
+        ParallelSearch ps = new ParallelSearch(root, new long[] { root.key() },
+                                               new TranspositionTable(4), 8);
+        for (int i = 0; i < 10; i++) {
+            SearchResult r = ps.think(1, Search.MAX_PLY);
+            assertNotNull(r);
+            assertNotEquals(Move.NONE, r.bestMove());
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package engine;
+
+import static org.junit.Assert.*;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import model.Fen;
+import model.Move;
+import model.Position;
+
+public class PolyglotBookTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    /* arranjo sintético: o formato e a busca não dependem dos valores do arranjo padrão */
+    private static final PolyglotKeys KEYS;
+    static {
+        long[] r = new long[PolyglotKeys.SIZE];
+        SplittableRandom rnd = new SplittableRandom(2024);
+        for (int i = 0; i < r.length; i++) r[i] = rnd.nextLong();
+        KEYS = new PolyglotKeys(r);
+    }
+
+    /* lance Polyglot a partir de "e2", "e4" */
+    private static int pg(String from, String to) {
+        int ff = from.charAt(0) - 'a', fr = from.charAt(1) - '1';
+        int tf = to.charAt(0) - 'a',   tr = to.charAt(1) - '1';
+        return tf | tr << 3 | ff << 6 | fr << 9;
+    }
+
+    /* grava entradas {chave, lance, peso} ordenadas, com muitas entradas de enchimento */
+    private File book(long[]... entries) throws IOException {
+        List<long[]> all = new ArrayList<>(List.of(entries));
+        SplittableRandom rnd = new SplittableRandom(7);
+        for (int i = 0; i < 5000; i++) all.add(new long[] { rnd.nextLong(), pg("a2", "a3"), 1 });
+        all.sort((a, b) -> Long.compareUnsigned(a[0], b[0]));
+
+        File f = tmp.newFile("book.bin");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(f))) {
+            for (long[] e : all) {
+                out.writeLong(e[0]);
+                out.writeShort((int) e[1]);
+                out.writeShort((int) e[2]);
+                out.writeInt(0);
+            }
+        }
+        return f;
+    }
+
+    /**
+     * Objetivo: Verificar a busca binária e a conversão dos lances do livro.
+     * Retorno: na posição inicial, e2e4 (peso 3) e d2d4 (peso 1) entre 5000 outras entradas.
+     * Significado: o arquivo mapeado é consultado pela chave sem ser carregado no heap.
+     */
+    @Test(timeout = 5000)
+    public void test_lookupFindsEntriesAmongMany() throws IOException {
+        Position start = Fen.parse(Fen.START);
+        long key = KEYS.key(start);
+
+        try (PolyglotBook book = PolyglotBook.open(
+                book(new long[] { key, pg("e2", "e4"), 3 }, new long[] { key, pg("d2", "d4"), 1 }).toPath(), KEYS)) {
+            assertEquals(5002, book.size());
+
+            List<PolyglotBook.BookMove> moves = book.lookup(start);
+            assertEquals(2, moves.size());
+            assertEquals("e2e4", Move.toString(moves.get(0).move()));
+            assertEquals(3, moves.get(0).weight());
+            assertEquals("d2d4", Move.toString(moves.get(1).move()));
+
+            assertTrue(book.lookup(Fen.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 1")).isEmpty());
+        }
+    }
+
+    /**
+     * Objetivo: Verificar o sorteio ponderado.
+     * Retorno: em 4000 sorteios, e2e4 (peso 3 de 4) sai cerca de 75% das vezes; peso 0 nunca sai.
+     * Significado: o livro varia as aberturas respeitando as preferências gravadas.
+     */
+    @Test(timeout = 5000)
+    public void test_weightedPick() throws IOException {
+        Position start = Fen.parse(Fen.START);
+        long key = KEYS.key(start);
+
+        try (PolyglotBook book = PolyglotBook.open(book(
+                new long[] { key, pg("e2", "e4"), 3 },
+                new long[] { key, pg("d2", "d4"), 1 },
+                new long[] { key, pg("g1", "f3"), 0 }).toPath(), KEYS)) {
+            Random rnd = new Random(1);
+            int e4 = 0, nf3 = 0;
+            for (int i = 0; i < 4000; i++) {
+                String m = Move.toString(book.pick(start, rnd));
+                if (m.equals("e2e4")) e4++;
+                if (m.equals("g1f3")) nf3++;
+            }
+            assertEquals(0, nf3);
+            assertTrue("e2e4 = " + e4, e4 > 2800 && e4 < 3200);
+        }
+    }
+
+    /**
+     * Objetivo: Verificar o roque no formato Polyglot (rei "captura" a torre) e lances ilegais.
+     * Retorno: e1h1 vira o roque curto compactado; um lance ilegal do livro é ignorado.
+     * Significado: lances do livro entram no jogo pelo mesmo formato do gerador.
+     */
+    @Test(timeout = 5000)
+    public void test_castlingAndIllegalEntries() throws IOException {
+        Position pos = Fen.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        long key = KEYS.key(pos);
+
+        try (PolyglotBook book = PolyglotBook.open(book(
+                new long[] { key, pg("e1", "h1"), 5 },
+                new long[] { key, pg("e1", "e3"), 5 }).toPath(), KEYS)) {
+            List<PolyglotBook.BookMove> moves = book.lookup(pos);
+            assertEquals(1, moves.size());
+            assertTrue(Move.isCastle(moves.get(0).move()));
+            assertEquals("e1g1", Move.toString(moves.get(0).move()));
+        }
+    }
+
+    /**
+     * Objetivo: Verificar as regras da chave Polyglot.
+     * Retorno: en-passant só altera a chave se há peão para capturar; a vez e o roque alteram.
+     * Significado: posições iguais para o livro têm a mesma chave.
+     */
+    @Test(timeout = 2000)
+    public void test_keyRules() {
+        long withEp    = KEYS.key(Fen.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"));
+        long withoutEp = KEYS.key(Fen.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1"));
+        assertEquals(withEp, withoutEp);
+
+        long capturable   = KEYS.key(Fen.parse("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1"));
+        long noCapture    = KEYS.key(Fen.parse("rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1"));
+        assertNotEquals(capturable, noCapture);
+
+        assertNotEquals(KEYS.key(Fen.parse(Fen.START)),
+                        KEYS.key(Fen.parse("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR b KQkq - 0 1")));
+        assertNotEquals(KEYS.key(Fen.parse(Fen.START)),
+                        KEYS.key(Fen.parse("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w Kkq - 0 1")));
+    }
+
+    /**
+     * Objetivo: Verificar a leitura do arranjo Random64 em texto.
+     * Retorno: 781 literais são aceitos; menos que isso gera IllegalArgumentException.
+     * Significado: o arranjo padrão pode ser colado da especificação num arquivo.
+     */
+    @Test(timeout = 2000)
+    public void test_parseRandom64() {
+        StringBuilder sb = new StringBuilder("static const U64 Random64[781] = {\n");
+        for (int i = 0; i < PolyglotKeys.SIZE; i++) sb.append(String.format("U64(0x%016X),%n", i * 0x9E3779B97F4A7C15L));
+        long[] r = PolyglotKeys.parse(sb.toString());
+        assertEquals(PolyglotKeys.SIZE, r.length);
+        assertEquals(0x9E3779B97F4A7C15L, r[1]);
+
+        try {
+            PolyglotKeys.parse("0x1 0x2");
+            fail();
+        } catch (IllegalArgumentException expected) { }
+    }
+
+    /**
+     * Objetivo: Verificar o arranjo padrão embutido contra as chaves de referência da especificação.
+     * Retorno: posição inicial 463b96181691fc9c e as demais posições de exemplo com as chaves publicadas,
+     *          inclusive en-passant que conta (f6, c3) e que não conta (e3, d6).
+     * Significado: livros .bin de terceiros são consultados sem configurar o arranjo.
+     */
+    @Test(timeout = 2000)
+    public void test_standardKeysMatchSpecification() throws IOException {
+        PolyglotKeys keys = PolyglotKeys.standard();
+        String[][] cases = {
+            { Fen.START,                                                          "463b96181691fc9c" },
+            { "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",      "823c9b50fd114196" },
+            { "rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2",    "0756b94461c50fb0" },
+            { "rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2",      "662fafb965db29d4" },
+            { "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",    "22a48b5a8e47ff78" },
+            { "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b kq - 0 3",       "652a607ca3f242c1" },
+            { "rnbq1bnr/ppp1pkpp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR w - - 0 4",        "00fdd303c946bdd9" },
+            { "rnbqkbnr/p1pppppp/8/8/PpP4P/8/1P1PPPP1/RNBQKBNR b KQkq c3 0 3",    "3c8123ea7b067637" },
+            { "rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b Kkq - 0 4",     "5c3f9b829b279560" },
+        };
+        for (String[] c : cases)
+            assertEquals(c[0], Long.parseUnsignedLong(c[1], 16), keys.key(Fen.parse(c[0])));
+    }
+}
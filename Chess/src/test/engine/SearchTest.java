@@ -0,0 +1,120 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.ChessGame;
+import model.Fen;
+import model.Move;
+import model.Position;
+
+public class SearchTest {
+
+    /**
+     * Objetivo: Verificar se a busca encontra um mate em um lance.
+     * Retorno: Ta8# como melhor lance, nota de mate e variante principal começando por ele.
+     * Significado: negamax e detecção de mate funcionam de ponta a ponta.
+     */
+    @Test(timeout = 5000)
+    public void test_findsMateInOne() {
+        Search search = new Search(Fen.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1"));
+        SearchResult r = search.think(0, 4);
+
+        assertEquals("a1a8", Move.toString(r.bestMove()));
+        assertTrue(r.isMate());
+        assertTrue(r.score() > 0);
+        assertEquals(r.bestMove(), r.pv()[0]);
+    }
+
+    /**
+     * Objetivo: Verificar se a busca ganha material disponível.
+     * Retorno: a dama branca captura a torre preta indefesa.
+     * Significado: a avaliação material e a poda alfa-beta escolhem lances coerentes.
+     */
+    @Test(timeout = 5000)
+    public void test_winsHangingRook() {
+        Search search = new Search(Fen.parse("4k3/8/8/3r4/8/8/3Q4/4K3 w - - 0 1"));
+        SearchResult r = search.think(0, 3);
+
+        assertEquals("d2d5", Move.toString(r.bestMove()));
+        assertTrue(r.nodes() > 0);
+        assertEquals(3, r.depth());
+    }
+
+    /**
+     * Objetivo: Verificar o orçamento de tempo e que a partida não é alterada.
+     * Retorno: a busca termina perto de 200 ms, com profundidade ≥ 1, e a partida segue igual.
+     * Significado: a busca trabalha numa cópia e respeita a latência por lance.
+     */
+    @Test(timeout = 5000)
+    public void test_timeBudgetAndGameUntouched() {
+        ChessGame game = new ChessGame();
+        long key = game.getPositionKey();
+
+        long t0 = System.nanoTime();
+        SearchResult r = Search.forGame(game, new TranspositionTable(1)).think(200, Search.MAX_PLY);
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+
+        assertNotNull(r);
+        assertTrue(r.depth() >= 1);
+        assertTrue("demorou " + ms + " ms", ms < 1000);
+        assertEquals(key, game.getPositionKey());
+        assertEquals('W', game.getCurrentTurn());
+        assertTrue(game.playMove(r.bestMove()));
+    }
+
+    /**
+     * Objetivo: Verificar se a busca reconhece repetição como empate.
+     * Retorno: sem histórico, as brancas ficam muito abaixo (dama a menos); se Rg1 repete uma
+     *          posição anterior, Rg1 é escolhido com nota 0.
+     * Significado: o histórico da partida entra na busca; o lado em desvantagem busca a repetição.
+     */
+    @Test(timeout = 5000)
+    public void test_repetitionScoresAsDraw() {
+        Position root  = Fen.parse("6k1/8/8/q7/8/8/8/7K w - - 0 1");
+        Position after = Fen.parse("6k1/8/8/q7/8/8/8/6K1 b - - 1 1");    // após Rg1
+
+        assertTrue(new Search(root).think(0, 1).score() < -800);
+
+        SearchResult r = new Search(root, new long[] { 0L, after.key(), root.key() },
+                                     new TranspositionTable(1)).think(0, 1);
+        assertEquals("h1g1", Move.toString(r.bestMove()));
+        assertEquals(0, r.score());
+    }
+
+    /**
+     * Objetivo: Verificar a quiescência numa folha com captura envenenada.
+     * Retorno: com profundidade 1, a dama não toma o peão defendido; nós de
+     *          quiescência contados à parte e contidos no total.
+     * Significado: a nota da folha espera o fim das trocas em vez de parar no meio delas.
+     */
+    @Test(timeout = 5000)
+    public void test_quiescenceSeesRecapture() {
+        Search search = new Search(Fen.parse("4k3/8/2p5/3p4/8/8/3Q4/4K3 w - - 0 1"));
+        SearchResult r = search.think(0, 1);
+
+        assertNotEquals("d2d5", Move.toString(r.bestMove()));
+        assertTrue(r.score() > -100);
+        assertTrue(r.qnodes() > 0);
+        assertTrue(r.qnodes() <= r.nodes());
+        assertEquals(search.qnodes(), r.qnodes());
+    }
+
+    /**
+     * Objetivo: Verificar a iteração de profundidade 1 interrompida no meio da quiescência.
+     * Retorno: interrompendo após cada quantidade de nós de 1 até o total da busca,
+     *          em posição com promoções que dão xeque, nunca uma nota de mate ou infinita.
+     * Significado: um nó em xeque interrompido não devolve −INF como nota real.
+     */
+    @Test(timeout = 5000)
+    public void test_stoppedQuiescenceStaysBounded() {
+        Position root = Fen.parse("rnb2k1r/pp1Pbppp/2p5/q7/2B5/8/PPPQNnPP/RNB1K2R w KQ - 3 9");
+        long total = new Search(root).think(0, 1).nodes();
+        for (long limit = 1; limit <= total; limit++) {
+            Search search = new Search(root);
+            search.setNodeLimit(limit);
+            SearchResult r = search.think(0, 1);
+            assertFalse(r.toString(), r.isMate());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package engine;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import model.Fen;
+import model.Move;
+import model.Position;
+
+public class TranspositionTableTest {
+
+    /**
+     * Objetivo: Verificar se os campos gravados são lidos de volta intactos.
+     * Retorno: lance, nota negativa, profundidade e limite iguais aos gravados; outra chave não é achada.
+     * Significado: o empacotamento em long e a validação por XOR funcionam.
+     */
+    @Test(timeout = 2000)
+    public void test_storeAndProbeRoundTrip() {
+        TranspositionTable tt = new TranspositionTable(1);
+        long key  = 0x123456789ABCDEF1L;
+        int  move = Move.of(52, 36, Move.DOUBLE_PUSH);
+
+        tt.store(key, move, -31_950, 12, TranspositionTable.LOWER);
+        long e = tt.probe(key);
+
+        assertEquals(move, TranspositionTable.move(e));
+        assertEquals(-31_950, TranspositionTable.score(e));
+        assertEquals(12, TranspositionTable.depth(e));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.bound(e));
+        assertEquals(0L, tt.probe(key ^ 1L << 40));
+    }
+
+    /**
+     * Objetivo: Verificar a política de substituição do balde.
+     * Retorno: a entrada profunda sobrevive a uma rasa que colide; a rasa fica na segunda entrada.
+     * Significado: resultados caros não são apagados por buscas rasas.
+     */
+    @Test(timeout = 2000)
+    public void test_replacementKeepsDeepEntry() {
+        TranspositionTable tt = new TranspositionTable(1);
+        long deep    = 0x0F0F0F0F00000002L;
+        long shallow = deep + (1L << 60);         // mesmo balde (bits baixos iguais), chave diferente
+        long other   = deep + (2L << 60);
+
+        tt.store(deep, 0, 10, 20, TranspositionTable.EXACT);
+        tt.store(shallow, 0, 20, 1, TranspositionTable.EXACT);
+        assertEquals(20, TranspositionTable.depth(tt.probe(deep)));
+        assertEquals(1, TranspositionTable.depth(tt.probe(shallow)));
+
+        tt.store(other, 0, 30, 2, TranspositionTable.EXACT);     // substitui a rasa
+        assertNotEquals(0L, tt.probe(deep));
+        assertEquals(0L, tt.probe(shallow));
+
+        tt.newSearch();                                          // profunda agora é antiga
+        tt.store(shallow, 0, 20, 1, TranspositionTable.EXACT);
+        assertEquals(0L, tt.probe(deep));
+    }
+
+    /**
+     * Objetivo: Verificar escritas e leituras concorrentes sem travas.
+     * Retorno: com 4 threads gravando chaves aleatórias cujos dados derivam da própria chave, toda leitura aceita é coerente.
+     * Significado: a validação por XOR descarta entradas rasgadas por escritas simultâneas.
+     */
+    @Test(timeout = 10000)
+    public void test_concurrentAccessNeverReturnsTornEntry() throws Exception {
+        TranspositionTable tt = new TranspositionTable(1);
+        Thread[] threads = new Thread[4];
+        boolean[] bad = new boolean[1];
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                long x = 0x9E3779B97F4A7C15L * (seed + 1);
+                for (int i = 0; i < 2_000_000; i++) {
+                    x ^= x << 13; x ^= x >>> 7; x ^= x << 17;
+                    int move  = (int) (x >>> 44);              // 20 bits
+                    int score = (short) (x >>> 16);
+                    tt.store(x, move, score, 1, TranspositionTable.EXACT);
+
+                    long e = tt.probe(x);
+                    if (e != 0 && (TranspositionTable.move(e) != move
+                                   || TranspositionTable.score(e) != score)) {
+                        bad[0] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) t.join();
+        assertFalse(bad[0]);
+    }
+
+    /**
+     * Objetivo: Verificar se a tabela reduz o esforço de uma busca repetida.
+     * Retorno: a segunda busca na mesma posição, com a tabela preenchida, visita menos nós.
+     * Significado: posições já analisadas não são expandidas de novo.
+     */
+    @Test(timeout = 10000)
+    public void test_tableSavesNodes() {
+        String fen = "r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3";
+        Position root = Fen.parse(fen);
+        TranspositionTable tt = new TranspositionTable(4);
+
+        long first  = new Search(root, new long[] { root.key() }, tt).think(0, 5).nodes();
+        long second = new Search(root, new long[] { root.key() }, tt).think(0, 5).nodes();
+        assertTrue(second + " >= " + first, second < first);
+    }
+}
@@ -13,7 +13,15 @@ import org.junit.runners.Suite.SuiteClasses;
 	KnightTest.class, 
 	BishopTest.class,
 	QueenTest.class,
-	RoqueTest.class})
+	RoqueTest.class,
+	PositionTest.class,
+	MagicsTest.class,
+	MoveGeneratorTest.class,
+	PerftTest.class,
+	ZobristTest.class,
+	DrawTest.class,
+	IndependentGamesTest.class,
+	FenTest.class})
 public class AllPiecesTest {
 
 }
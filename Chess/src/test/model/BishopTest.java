@@ -12,7 +12,7 @@ public class BishopTest {
 
     @Before
     public void setUp() {
-        board = Board.getInstance();
+        board = new Board();
 
         /* limpa o tabuleiro */
         for (int r = 0; r < 8; r++)
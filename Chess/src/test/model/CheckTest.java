@@ -16,7 +16,7 @@ public class CheckTest {
 
     @Before
     public void setUp() {
-        board = Board.getInstance();
+        board = new Board();
 
         // Limpa o tabuleiro
         for (int r = 0; r < 8; r++) {
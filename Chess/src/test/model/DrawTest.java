@@ -0,0 +1,172 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DrawTest {
+
+    private Board     board;
+    private ChessGame game;
+
+    @Before
+    public void setUp() {
+        game  = new ChessGame();
+        board = game.getBoard();
+    }
+
+    private void play(int fr, int fc, int tr, int tc) {
+        assertFalse(game.isGameEnded());
+        assertTrue(game.selectPiece(fr, fc));
+        assertTrue(game.moveTo(tr, tc));
+    }
+
+    private void clearBoard() {
+        for (int r = 0; r < 8; r++)
+            for (int c = 0; c < 8; c++)
+                board.setPiece(r, c, null);
+    }
+
+    /**
+     * Objetivo  : Verificar se a terceira ocorrência da mesma posição encerra a partida.
+     * Retorno   : após Cf3 Cf6 Cg1 Cg8 duas vezes, empate por tripla repetição; antes disso, não.
+     * Significado: partidas que ficam alternando lances não rodam indefinidamente.
+     */
+    @Test(timeout = 2000)
+    public void test_threefoldRepetition() {
+        for (int i = 0; i < 2; i++) {
+            play(7, 6, 5, 5);
+            play(0, 6, 2, 5);
+            play(5, 5, 7, 6);
+            assertFalse(game.isGameEnded());
+            play(2, 5, 0, 6);
+        }
+        assertTrue(game.isGameEnded());
+        assertEquals('=', game.getWinner());
+        assertEquals(ChessGame.DrawReason.THREEFOLD_REPETITION, game.getDrawReason());
+    }
+
+    /**
+     * Objetivo  : Verificar a repetição de uma posição com casa de en-passant sem captura possível.
+     * Retorno   : 1.e4 e os cavalos indo e voltando duas vezes: a posição após 1.e4 ocorre pela
+     *             terceira vez e a partida empata.
+     * Significado: a casa e3 só marcada, sem peão preto que capture, não diferencia a posição.
+     */
+    @Test(timeout = 2000)
+    public void test_repetitionIgnoresDeadEnPassant() {
+        String[] moves = { "e2e4", "g8f6", "g1f3", "f6g8", "f3g1", "g8f6", "g1f3", "f6g8", "f3g1" };
+        for (int i = 0; i < moves.length; i++) {
+            assertFalse(moves[i], game.isGameEnded());
+            int from = Fen.parseSquare(moves[i].substring(0, 2)), to = Fen.parseSquare(moves[i].substring(2));
+            assertTrue(moves[i], game.playMove(Move.of(from, to, 0)));
+        }
+        assertTrue(game.isGameEnded());
+        assertEquals(ChessGame.DrawReason.THREEFOLD_REPETITION, game.getDrawReason());
+    }
+
+    /**
+     * Objetivo  : Verificar se lance de peão zera o contador de meios-lances e a janela de repetição.
+     * Retorno   : contador 2 após dois lances de cavalo, 0 após e2-e4; a posição repetida depois não empata.
+     * Significado: só posições após o último lance irreversível contam para a repetição.
+     */
+    @Test(timeout = 2000)
+    public void test_pawnMoveResetsClock() {
+        play(7, 6, 5, 5);
+        play(0, 6, 2, 5);
+        assertEquals(2, game.getHalfmoveClock());
+        play(5, 5, 7, 6);
+        play(2, 5, 0, 6);   // inicial pela segunda vez
+
+        play(6, 4, 4, 4);
+        assertEquals(0, game.getHalfmoveClock());
+        play(1, 4, 3, 4);
+        play(7, 6, 5, 5);
+        play(0, 6, 2, 5);
+        play(5, 5, 7, 6);
+        play(2, 5, 0, 6);   // segunda ocorrência após e4 e5
+        assertFalse(game.isGameEnded());
+    }
+
+    /**
+     * Objetivo  : Verificar a regra dos 50 lances sem repetição de posição.
+     * Retorno   : a partida termina exatamente no centésimo meio-lance sem captura nem lance de peão.
+     * Significado: finais sem progresso são encerrados como empate.
+     */
+    @Test(timeout = 4000)
+    public void test_fiftyMoveRule() {
+        clearBoard();
+        board.setPiece(7, 7, new King('W', 7, 7));
+        board.setPiece(2, 0, new Rook('W', 2, 0));
+        board.setPiece(0, 7, new King('B', 0, 7));
+
+        /* torre percorre as linhas 2-6 em zigue-zague (colunas 0-5), sempre numa casa nova */
+        int[][] path = new int[30][];
+        for (int i = 0; i < 30; i++) {
+            int r = 2 + i / 6;
+            int c = (r % 2 == 0) ? i % 6 : 5 - i % 6;
+            path[i] = new int[]{ r, c };
+        }
+
+        int rr = 2, rc = 0, bkc = 7;
+        for (int ply = 1; ply <= 100; ply += 2) {
+            int i = (ply / 2) % 30 + 1;
+            if (i == 30) {                     // percurso completo: o rei branco muda de casa
+                play(7, 7, 7, 6);
+            } else {
+                int[] dst = (ply / 2) < 30 ? path[i] : path[29 - i];
+                play(rr, rc, dst[0], dst[1]);
+                rr = dst[0];
+                rc = dst[1];
+            }
+            int nbkc = (bkc == 7) ? 6 : 7;
+            play(0, bkc, 0, nbkc);
+            bkc = nbkc;
+            if (ply < 99) assertEquals(ply + 1, game.getHalfmoveClock());
+        }
+        assertTrue(game.isGameEnded());
+        assertEquals(ChessGame.DrawReason.FIFTY_MOVES, game.getDrawReason());
+    }
+
+    /**
+     * Objetivo  : Verificar empate por material insuficiente.
+     * Retorno   : após o bispo capturar o último cavalo preto (rei e bispo contra rei), a partida empata.
+     * Significado: posições em que ninguém pode dar mate não prosseguem.
+     */
+    @Test(timeout = 2000)
+    public void test_insufficientMaterial() {
+        clearBoard();
+        board.setPiece(7, 4, new King('W', 7, 4));
+        board.setPiece(5, 2, new Bishop('W', 5, 2));
+        board.setPiece(0, 4, new King('B', 0, 4));
+        board.setPiece(3, 4, new Knight('B', 3, 4));
+
+        play(5, 2, 3, 4);
+        assertTrue(game.isGameEnded());
+        assertEquals(ChessGame.DrawReason.INSUFFICIENT_MATERIAL, game.getDrawReason());
+    }
+
+    /**
+     * Objetivo  : Verificar se mate e afogamento dados pela promoção encerram a partida.
+     * Retorno   : a8=D dá mate (1-0) nas duas posições; a8=C afoga as pretas (empate).
+     * Significado: o fim de jogo é avaliado com a peça nova, não com o peão na última fileira.
+     */
+    @Test(timeout = 2000)
+    public void test_promotionEndsGame() {
+        int a7 = Bitboards.square(1, 0), a8 = Bitboards.square(0, 0);
+
+        game.loadFen("7k/P5pp/8/8/8/8/8/K7 w - - 0 1");
+        assertTrue(game.playMove(Move.of(a7, a8, 0, Position.QUEEN)));
+        assertTrue(game.isGameEnded());
+        assertEquals("1-0", game.getResult());
+
+        game.loadFen("7k/P4K1p/7P/8/8/8/8/8 w - - 0 1");
+        assertTrue(game.playMove(Move.of(a7, a8, 0, Position.QUEEN)));
+        assertEquals("1-0", game.getResult());
+
+        game.loadFen("7k/P4K1p/7P/8/8/8/8/8 w - - 0 1");
+        assertTrue(game.playMove(Move.of(a7, a8, 0, Position.KNIGHT)));
+        assertTrue(game.isGameEnded());
+        assertEquals(ChessGame.DrawReason.STALEMATE, game.getDrawReason());
+        assertEquals("1/2-1/2", game.getResult());
+    }
+}
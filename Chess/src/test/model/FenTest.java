@@ -0,0 +1,162 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+public class FenTest {
+
+    /**
+     * Objetivo: Verificar se ler e escrever de volta reproduz a FEN original.
+     * Retorno: FEN idêntica para todas as posições de referência do perft e mais algumas com en-passant e relógios.
+     * Significado: peças, vez, roque, en-passant e relógios sobrevivem à ida e volta.
+     */
+    @Test(timeout = 2000)
+    public void test_roundTrip() {
+        for (Perft.Reference ref : Perft.REFERENCES)
+            assertEquals(ref.fen(), Fen.toFen(Fen.parse(ref.fen())));
+
+        String[] extra = {
+            "rnbqkbnr/ppp1pppp/8/8/3pP3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 3",
+            "rnbqkbnr/pppp1ppp/8/3Pp3/8/8/PPP1PPPP/RNBQKBNR w Kq e6 0 3",
+            "8/8/8/8/8/8/8/K6k w - - 57 123",
+            "4k3/8/8/8/8/8/8/4K2R b K - 99 60",
+        };
+        for (String fen : extra)
+            assertEquals(fen, Fen.toFen(Fen.parse(fen)));
+    }
+
+    /**
+     * Objetivo: Verificar se os relógios acompanham makeMove/unmakeMove.
+     * Retorno: meio-lance conta lances de peça e zera em peão/captura; o número sobe após as pretas; unmake restaura ambos.
+     * Significado: a FEN escrita durante uma busca ou replay traz relógios corretos.
+     */
+    @Test(timeout = 2000)
+    public void test_clocksFollowMakeUnmake() {
+        Position pos = Fen.parse("4k3/8/8/8/8/8/4P3/R3K3 w - - 7 20");
+
+        int rook = Move.of(Bitboards.square(7, 0), Bitboards.square(3, 0), 0, 0);   // Ta1-a5
+        pos.makeMove(rook);
+        assertEquals(8,  pos.halfmoveClock());
+        assertEquals(20, pos.fullmoveNumber());
+
+        int king = Move.of(Bitboards.square(0, 4), Bitboards.square(0, 3), 0, 0);   // Re8-d8
+        pos.makeMove(king);
+        assertEquals(9,  pos.halfmoveClock());
+        assertEquals(21, pos.fullmoveNumber());
+
+        int pawn = Move.of(Bitboards.square(6, 4), Bitboards.square(5, 4), 0, 0);   // e2-e3
+        pos.makeMove(pawn);
+        assertEquals(0, pos.halfmoveClock());
+
+        pos.unmakeMove(pawn);
+        pos.unmakeMove(king);
+        pos.unmakeMove(rook);
+        assertEquals("4k3/8/8/8/8/8/4P3/R3K3 w - - 7 20", Fen.toFen(pos));
+    }
+
+    /**
+     * Objetivo: Verificar se FEN incompleta usa os valores padrão e FEN malformada é recusada.
+     * Retorno: campos ausentes viram "- - 0 1"; fileira curta, cor inválida ou casa fora do tabuleiro lançam exceção.
+     * Significado: entradas de arquivos externos não corrompem a posição silenciosamente.
+     */
+    @Test(timeout = 2000)
+    public void test_defaultsAndErrors() {
+        assertEquals("8/8/8/8/8/8/8/K6k b - - 0 1", Fen.toFen(Fen.parse("8/8/8/8/8/8/8/K6k b")));
+
+        String[] bad = {
+            "8/8/8/8/8/8/8/K6k",
+            "8/8/8/8/8/8/8/K5k w - - 0 1",
+            "8/8/8/8/8/8/8/K6k x - - 0 1",
+            "8/8/8/8/8/8/8/K6k w - z9 0 1",
+            "8/8/8/8/8/8/8/K6kk w - - 0 1",
+        };
+        for (String fen : bad) {
+            try {
+                Fen.parse(fen);
+                fail("aceitou: " + fen);
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+    }
+
+    /**
+     * Objetivo: Verificar importação e exportação pela fachada ChessGame.
+     * Retorno: toFen devolve a FEN carregada; torre sem direito de roque fica marcada como movida; a chave bate com a do núcleo.
+     * Significado: uma partida pode continuar de uma FEN com os objetos Piece coerentes.
+     */
+    @Test(timeout = 2000)
+    public void test_gameImportExport() {
+        ChessGame game = new ChessGame();
+        assertEquals(Fen.START, game.toFen());
+
+        String fen = "r3k2r/8/8/8/8/8/8/R3K2R w Kq - 12 40";
+        game.loadFen(fen);
+        assertEquals(fen, game.toFen());
+        assertEquals(12, game.getHalfmoveClock());
+        assertEquals(Zobrist.compute(game.getBoard().getPosition()), game.getPositionKey());
+
+        Board board = game.getBoard();
+        assertFalse(board.getPiece(7, 7).hasMoved());
+        assertTrue (board.getPiece(7, 0).hasMoved());
+        assertTrue (board.getPiece(0, 7).hasMoved());
+        assertFalse(board.getPiece(0, 0).hasMoved());
+
+        assertTrue(game.selectPiece(7, 4));
+        assertTrue(game.moveTo(7, 7));                 // O-O ainda permitido
+        assertEquals("r3k2r/8/8/8/8/8/8/R4RK1 b q - 13 40", game.toFen());
+    }
+
+    /**
+     * Objetivo: Verificar se a partida carregada já termina quando a FEN é de mate.
+     * Retorno: mate do pastor carregado por FEN encerra a partida com vitória das brancas.
+     * Significado: loadFen reavalia o fim de jogo como após um lance.
+     */
+    @Test(timeout = 2000)
+    public void test_loadedMateEndsGame() {
+        ChessGame game = new ChessGame();
+        game.loadFen("r1bqkb1r/pppp1Qpp/2n2n2/4p3/2B1P3/8/PPPP1PPP/RNB1K1NR b KQkq - 0 4");
+        assertTrue(game.isGameEnded());
+        assertEquals('W', game.getWinner());
+    }
+
+    /**
+     * Objetivo: Verificar o custo de carregar e escrever muitas posições sobre os mesmos objetos.
+     * Retorno: 200 mil ida-e-volta terminam dentro do tempo limite.
+     * Significado: a leitura não usa split/regex e a escrita reaproveita o buffer do chamador.
+     */
+    @Test(timeout = 10000)
+    public void test_bulkLoadReusesObjects() {
+        Position pos = new Position();
+        StringBuilder sb = new StringBuilder(100);
+        long keys = 0;
+        for (int i = 0; i < 200_000; i++) {
+            Perft.Reference ref = Perft.REFERENCES[i % Perft.REFERENCES.length];
+            Fen.load(ref.fen(), pos);
+            sb.setLength(0);
+            Fen.append(pos, sb);
+            keys += pos.key();
+        }
+        assertEquals(Perft.REFERENCES[(200_000 - 1) % Perft.REFERENCES.length].fen(), sb.toString());
+        assertNotEquals(0, keys);
+    }
+
+    /**
+     * Objetivo: Verificar que uma FEN recusada não altera a partida.
+     * Retorno: exceção; FEN, peças e lances legais iguais aos de antes (e2e4 continua válido).
+     * Significado: o tabuleiro e o núcleo bitboard nunca ficam meio carregados.
+     */
+    @Test(timeout = 2000)
+    public void test_rejectedFenLeavesGameUnchanged() {
+        ChessGame game = new ChessGame();
+        String before = game.toFen();
+        try {
+            game.loadFen("8/8/8/8/8/8/8/K6k x - - 0 1");
+            fail("FEN inválida aceita");
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(before, game.toFen());
+        assertTrue(game.getBoard().getPiece(6, 4) instanceof Pawn);
+        assertTrue(game.playMove(Move.of(Bitboards.square(6, 4), Bitboards.square(4, 4), Move.DOUBLE_PUSH)));
+    }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class IndependentGamesTest {
+
+    /**
+     * Objetivo: Verificar se duas partidas no mesmo processo não compartilham estado.
+     * Retorno: o lance de uma partida não altera tabuleiro, vez nem en-passant da outra.
+     * Significado: não há mais estado global (singletons) no Model.
+     */
+    @Test(timeout = 2000)
+    public void test_gamesDoNotShareState() {
+        ChessGame a = new ChessGame();
+        ChessGame b = new ChessGame();
+
+        assertTrue(a.selectPiece(6, 4));
+        assertTrue(a.moveTo(4, 4));          // e2-e4 só na partida a
+
+        assertEquals('B', a.getCurrentTurn());
+        assertNotNull(a.getEnPassantTarget());
+        assertTrue(a.getBoard().isEmpty(6, 4));
+
+        assertEquals('W', b.getCurrentTurn());
+        assertNull(b.getEnPassantTarget());
+        assertTrue(b.getBoard().getPiece(6, 4) instanceof Pawn);
+        assertNotEquals(a.getPositionKey(), b.getPositionKey());
+    }
+
+    /**
+     * Objetivo: Verificar se várias partidas podem ser analisadas ao mesmo tempo.
+     * Retorno: cada uma de 8 threads joga e avalia a sua partida e obtém os mesmos resultados.
+     * Significado: partidas independentes podem ser hospedadas em paralelo numa mesma JVM.
+     */
+    @Test(timeout = 20000)
+    public void test_gamesRunConcurrently() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    ChessGame game = new ChessGame();
+                    long nodes = 0;
+                    for (int i = 0; i < 20; i++) {
+                        game.resetGame();
+                        game.selectPiece(6, 3);
+                        game.moveTo(4, 3);             // d2-d4
+                        nodes += game.perft(3);
+                    }
+                    return nodes;
+                }));
+            }
+            long expected = 20 * Perft.perft(Fen.parse(
+                "rnbqkbnr/pppppppp/8/8/3P4/8/PPP1PPPP/RNBQKBNR b KQkq d3 0 1"), 3);
+            for (Future<Long> f : results) assertEquals(expected, (long) f.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
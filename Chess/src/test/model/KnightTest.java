@@ -12,7 +12,7 @@ public class KnightTest {
 
     @Before
     public void setUp() {
-        board = Board.getInstance();
+        board = new Board();
 
         // Limpa o tabuleiro
         for (int i = 0; i < 8; i++) {
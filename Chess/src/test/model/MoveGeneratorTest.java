@@ -0,0 +1,153 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.List;
+
+public class MoveGeneratorTest {
+
+    private Board board;
+
+    @Before
+    public void setUp() {
+        board = new Board();
+
+        for (int r = 0; r < 8; r++)
+            for (int c = 0; c < 8; c++)
+                board.setPiece(r, c, null);
+        board.getPosition().setEnPassantSquare(-1);
+
+        board.setPiece(7, 4, new King('W', 7, 4));
+        board.setPiece(0, 0, new King('B', 0, 0));
+    }
+
+    /**
+     * Objetivo: Verificar se uma peça cravada só se move ao longo do raio da cravada.
+     * Retorno: torre cravada na coluna do rei tem apenas lances na mesma coluna.
+     * Significado: a máscara de cravada substitui a simulação lance a lance.
+     */
+    @Test(timeout = 2000)
+    public void test_pinnedRookMovesOnlyAlongPin() {
+        Rook whiteRook = new Rook('W', 5, 4);
+        board.setPiece(5, 4, whiteRook);
+        board.setPiece(2, 4, new Queen('B', 2, 4));
+
+        List<int[]> moves = whiteRook.pieceMovement(board);
+
+        assertEquals(4, moves.size());               // (6,4), (4,4), (3,4) e captura em (2,4)
+        for (int[] mv : moves) assertEquals(4, mv[1]);
+    }
+
+    /**
+     * Objetivo: Verificar se, em xeque, só lances que bloqueiam ou capturam o atacante são legais.
+     * Retorno: cavalo só pode interpor-se em (4,4) ou (6,4), na coluna do xeque.
+     * Significado: a máscara de evasão filtra os lances de uma só vez.
+     */
+    @Test(timeout = 2000)
+    public void test_checkEvasionMask() {
+        board.setPiece(3, 4, new Rook('B', 3, 4));
+        Knight whiteKnight = new Knight('W', 5, 2);
+        board.setPiece(5, 2, whiteKnight);
+
+        List<int[]> moves = whiteKnight.pieceMovement(board);
+
+        assertEquals(2, moves.size());
+        assertTrue(whiteKnight.canMove(5, 2, 4, 4, board));
+        assertTrue(whiteKnight.canMove(5, 2, 6, 4, board));
+        assertFalse(whiteKnight.canMove(5, 2, 3, 3, board));
+    }
+
+    /**
+     * Objetivo: Verificar a cravada horizontal no en-passant (dois peões saem da mesma linha).
+     * Retorno: captura en-passant ausente da lista do peão branco.
+     * Significado: o en-passant é validado pela ocupação resultante, não só por cravadas simples.
+     */
+    @Test(timeout = 2000)
+    public void test_enPassantRejectedWhenItExposesKingOnRank() {
+        board.setPiece(7, 4, null);
+        board.setPiece(3, 0, new King('W', 3, 0));
+        Pawn whitePawn = new Pawn('W', 3, 3);
+        board.setPiece(3, 3, whitePawn);
+        board.setPiece(3, 4, new Pawn('B', 3, 4));
+        board.setPiece(3, 7, new Rook('B', 3, 7));
+        board.getPosition().setEnPassantSquare(Bitboards.square(2, 4));
+
+        assertFalse(whitePawn.canMove(3, 3, 2, 4, board));
+        assertTrue(whitePawn.canMove(3, 3, 2, 3, board));
+    }
+
+    /**
+     * Objetivo: Verificar a contagem de lances compactados na posição inicial.
+     * Retorno: 20 lances para as brancas, todos aceitos por isLegal.
+     * Significado: a lista em buffer reutilizável equivale à geração por peça.
+     */
+    @Test(timeout = 2000)
+    public void test_initialPositionHasTwentyPackedMoves() {
+        board.setupInitialPosition();
+        MoveList list = new MoveList();
+
+        board.generateLegalMoves('W', list);
+
+        assertEquals(20, list.size());
+        for (int i = 0; i < list.size(); i++) assertTrue(board.isLegal(list.get(i)));
+
+        int e2e4 = Move.of(Bitboards.square(6, 4), Bitboards.square(4, 4), Move.DOUBLE_PUSH);
+        assertTrue(list.contains(e2e4));
+        assertFalse(board.isLegal(Move.of(Bitboards.square(6, 4), Bitboards.square(3, 4), 0)));
+    }
+
+    /**
+     * Objetivo: Verificar se a promoção gera uma entrada por peça possível.
+     * Retorno: quatro lances do peão em (1,3) para (0,3), com promoções distintas.
+     * Significado: o tipo promovido viaja dentro do próprio int do lance.
+     */
+    @Test(timeout = 2000)
+    public void test_promotionProducesFourMoves() {
+        board.setPiece(1, 3, new Pawn('W', 1, 3));
+        MoveList list = new MoveList();
+
+        board.generateLegalMoves('W', list);
+
+        int promos = 0;
+        for (int i = 0; i < list.size(); i++)
+            if (Move.from(list.get(i)) == Bitboards.square(1, 3) && Move.isPromotion(list.get(i)))
+                promos++;
+        assertEquals(4, promos);
+        assertEquals("d7d8q", Move.toString(
+            Move.of(Bitboards.square(1, 3), Bitboards.square(0, 3), 0, Position.QUEEN)));
+    }
+
+    /**
+     * Objetivo: Verificar os modos só de capturas e só de quietos do gerador.
+     * Retorno: exatamente os lances de generate que capturam (en-passant incluído)
+     *          ou promovem, e os demais (roques incluídos) no modo de quietos.
+     * Significado: a quiescência e o seletor em estágios veem os mesmos lances legais.
+     */
+    @Test(timeout = 2000)
+    public void test_capturesAndQuietsPartitionGenerate() {
+        MoveGenerator gen = new MoveGenerator();
+        MoveList all = new MoveList(), captures = new MoveList(), quiets = new MoveList();
+        for (String fen : new String[] {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3" }) {
+            Position pos = Fen.parse(fen);
+            gen.prepare(pos, pos.sideToMove());
+            gen.generate(all);
+            gen.generateCaptures(captures);
+            gen.generateQuiets(quiets);
+
+            int expected = 0;
+            for (int i = 0; i < all.size(); i++) {
+                int m = all.get(i);
+                boolean tactical = Move.isCapture(m) || Move.isPromotion(m);
+                if (tactical) expected++;
+                assertTrue(fen + " " + Move.toString(m), (tactical ? captures : quiets).contains(m));
+            }
+            assertEquals(fen, expected, captures.size());
+            assertEquals(fen, all.size() - expected, quiets.size());
+        }
+    }
+}
@@ -13,7 +13,7 @@ public class PawnTest {
 
     @Before
     public void setUp() {
-        board = Board.getInstance();
+        board = new Board();
 
         /* limpa tabuleiro */
         for (int r = 0; r < 8; r++)
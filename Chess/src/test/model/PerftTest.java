@@ -0,0 +1,64 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Regressão do gerador de lances: contagens perft das posições de referência
+ * em profundidade reduzida, para rodar junto dos demais testes.
+ */
+public class PerftTest {
+
+    /**
+     * Objetivo: Conferir todas as posições de referência até a profundidade 3.
+     * Retorno: contagem de folhas igual à publicada para cada posição.
+     * Significado: roque, en-passant, promoções, cravadas e xeques estão corretos.
+     */
+    @Test(timeout = 10000)
+    public void test_referencePositionsUpToDepthThree() {
+        for (Perft.Reference ref : Perft.REFERENCES) {
+            Position pos = Fen.parse(ref.fen());
+            for (int d = 1; d <= 3; d++)
+                assertEquals(ref.name() + " d=" + d, ref.nodes()[d - 1], Perft.perft(pos, d));
+        }
+    }
+
+    /**
+     * Objetivo: Verificar o perft pela façade do jogo na posição inicial.
+     * Retorno: 8902 folhas em profundidade 3 e a partida permanece inalterada.
+     * Significado: o perft roda numa cópia e não mexe no tabuleiro exibido.
+     */
+    @Test(timeout = 10000)
+    public void test_perftFromChessGameLeavesGameUntouched() {
+        ChessGame game = new ChessGame();
+
+        assertEquals(8_902, game.perft(3));
+        assertEquals('W', game.getCurrentTurn());
+        assertTrue(game.getBoard().getPiece(6, 4) instanceof Pawn);
+    }
+
+    /**
+     * Objetivo: Verificar se makeMove/unmakeMove restauram exatamente a posição.
+     * Retorno: máscaras, roque e en-passant iguais antes e depois da sequência.
+     * Significado: o núcleo pode ser usado em buscas sem cópias por lance.
+     */
+    @Test(timeout = 10000)
+    public void test_makeUnmakeRestoresPosition() {
+        Position pos = Fen.parse(Perft.REFERENCES[1].fen());
+        long occ     = pos.occupied();
+        int  rights  = pos.castlingRights();
+
+        MoveGenerator gen  = new MoveGenerator();
+        MoveList      list = new MoveList();
+        gen.prepare(pos, pos.sideToMove());
+        gen.generate(list);
+
+        for (int i = 0; i < list.size(); i++) {
+            pos.makeMove(list.get(i));
+            pos.unmakeMove(list.get(i));
+        }
+        assertEquals(occ, pos.occupied());
+        assertEquals(rights, pos.castlingRights());
+        assertEquals(Position.WHITE, pos.sideToMove());
+    }
+}
@@ -0,0 +1,132 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PositionTest {
+
+    private Board board;
+
+    @Before
+    public void setUp() {
+        board = new Board();
+    }
+
+    /**
+     * Objetivo: Verificar se as máscaras de ocupação refletem a posição inicial.
+     * Retorno: 16 peças por cor, 32 no total, 8 peões brancos na linha 6.
+     * Significado: o núcleo bitboard está sincronizado com as peças do tabuleiro.
+     */
+    @Test(timeout = 2000)
+    public void test_initialPositionOccupancy() {
+        Position pos = board.getPosition();
+
+        assertEquals(16, Bitboards.popCount(pos.occupancy(Position.WHITE)));
+        assertEquals(16, Bitboards.popCount(pos.occupancy(Position.BLACK)));
+        assertEquals(32, Bitboards.popCount(pos.occupied()));
+        assertEquals(Bitboards.rowMask(6), pos.pieces(Position.WHITE, Position.PAWN));
+    }
+
+    /**
+     * Objetivo: Verificar se makeMove e undoMove mantêm as máscaras consistentes.
+     * Retorno: a casa de origem fica vazia após o lance e volta a ser ocupada após desfazê-lo.
+     * Significado: consultas de ocupação continuam corretas durante simulações de lances.
+     */
+    @Test(timeout = 2000)
+    public void test_makeAndUndoKeepBitboardsInSync() {
+        Position pos = board.getPosition();
+        long before  = pos.occupied();
+
+        board.makeMove(7, 6, 5, 5);   // cavalo g1-f3
+        assertTrue(board.isEmpty(7, 6));
+        assertEquals(Position.code(Position.WHITE, Position.KNIGHT),
+                     pos.pieceAt(Bitboards.square(5, 5)));
+
+        board.undoMove(7, 6, 5, 5, null);
+        assertEquals(before, pos.occupied());
+        assertTrue(board.getPiece(7, 6) instanceof Knight);
+    }
+
+    /**
+     * Objetivo: Verificar se hasEnemyPiece usa a cor correta.
+     * Retorno: true para peça preta vista pelas brancas, false para peça branca.
+     * Significado: a consulta por máscara de cor equivale à comparação de objetos.
+     */
+    @Test(timeout = 2000)
+    public void test_hasEnemyPieceUsesColorMasks() {
+        assertTrue(board.hasEnemyPiece(1, 0, 'W'));
+        assertFalse(board.hasEnemyPiece(6, 0, 'W'));
+        assertFalse(board.hasEnemyPiece(4, 4, 'W'));
+    }
+
+    /**
+     * Objetivo: Verificar os mapas de ataque contra isAttacked em partidas aleatórias.
+     * Retorno: cada casa atacada no mapa ⇔ isAttacked (rei adversário transparente);
+     *          checkers e isInCheck iguais aos calculados do zero, também após desfazer.
+     * Significado: o cache por meio-lance é salvo e restaurado sem divergir da posição.
+     */
+    @Test(timeout = 5000)
+    public void test_attackMapsMatchIsAttacked() {
+        SplittableRandom rnd = new SplittableRandom(22);
+        for (String fen : new String[] { Fen.START,
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1" }) {
+            Position pos = Fen.parse(fen);
+            int[] played = RandomGames.moves(rnd, fen, 80);
+            int n = 0;
+            checkCaches(pos);
+            while (n < played.length) {
+                pos.makeMove(played[n++]);
+                checkCaches(pos);
+            }
+            while (n > 0) {
+                pos.unmakeMove(played[--n]);
+                checkCaches(pos);
+            }
+            assertEquals(fen, Fen.toFen(pos));
+        }
+    }
+
+    private static void checkCaches(Position pos) {
+        for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+            long occ = pos.occupied() & ~pos.pieces(color ^ 1, Position.KING);
+            long map = pos.attacks(color);
+            for (int sq = 0; sq < 64; sq++)
+                assertEquals(pos.isAttacked(sq, color, occ), (map & Bitboards.bit(sq)) != 0);
+
+            int king = pos.kingSquare(color);
+            assertEquals(pos.isAttacked(king, color ^ 1, pos.occupied()), pos.isInCheck(color));
+        }
+        int us = pos.sideToMove();
+        assertEquals(pos.attackersTo(pos.kingSquare(us), pos.occupied()) & pos.occupancy(us ^ 1),
+                     pos.checkers());
+    }
+
+    /**
+     * Objetivo: Verificar xeque e casa do rei após lance, desfazer e edição da posição.
+     * Retorno: xeque após Bb5+, sem xeque após desfazer; editar peças invalida o cache.
+     * Significado: a consulta de xeque é O(1) sem nunca devolver um mapa velho.
+     */
+    @Test(timeout = 2000)
+    public void test_checkQueriesFollowEdits() {
+        Position pos = Fen.parse("rnbqkbnr/ppp2ppp/8/3pp3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 0 3");
+        assertEquals(Bitboards.square(7, 4), pos.kingSquare(Position.WHITE));
+        assertFalse(pos.isInCheck(Position.BLACK));
+
+        int check = Move.of(Bitboards.square(7, 5), Bitboards.square(3, 1), 0);
+        pos.makeMove(check);
+        assertTrue(pos.isInCheck(Position.BLACK));
+        assertEquals(Bitboards.bit(Bitboards.square(3, 1)), pos.checkers());
+        pos.unmakeMove(check);
+        assertFalse(pos.isInCheck(Position.BLACK));
+        assertEquals(0L, pos.checkers());
+
+        pos.put(Bitboards.square(4, 0), Position.code(Position.WHITE, Position.QUEEN));
+        assertTrue(pos.isInCheck(Position.BLACK));
+        pos.remove(Bitboards.square(4, 0));
+        assertFalse(pos.isInCheck(Position.BLACK));
+    }
+}
@@ -12,7 +12,7 @@ public class QueenTest {
 
     @Before
     public void setUp() {
-        board = Board.getInstance();
+        board = new Board();
 
         for (int r = 0; r < 8; r++)
             for (int c = 0; c < 8; c++)
@@ -0,0 +1,50 @@
+package model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import pgn.PgnGame;
+
+/**
+ * Partidas de lances legais sorteados, usadas como massa de dados pelos
+ * testes. A mesma semente sempre produz a mesma partida; a partida para
+ * antes do limite se chegar a mate ou afogamento.
+ */
+public final class RandomGames {
+
+    private RandomGames() { }
+
+    /** lances sorteados entre todos os legais a partir de {@code fen}, até {@code plies} meios-lances */
+    public static int[] moves(SplittableRandom rnd, String fen, int plies) {
+        return moves(rnd, fen, plies, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Como {@link #moves(SplittableRandom, String, int)}, mas sorteando só
+     * entre os {@code breadth} primeiros lances gerados: com poucas escolhas
+     * as partidas transpõem umas para as outras com frequência.
+     */
+    public static int[] moves(SplittableRandom rnd, String fen, int plies, int breadth) {
+        MoveGenerator gen  = new MoveGenerator();
+        MoveList      list = new MoveList();
+        Position pos = Fen.parse(fen);
+        int[] played = new int[plies];
+        int n = 0;
+        while (n < plies) {
+            gen.prepare(pos, pos.sideToMove());
+            gen.generate(list);
+            if (list.isEmpty()) break;
+            played[n] = list.get(rnd.nextInt(Math.min(list.size(), breadth)));
+            pos.makeMove(played[n++]);
+        }
+        return Arrays.copyOf(played, n);
+    }
+
+    /** a mesma partida como {@link PgnGame}, com a FEN inicial e o resultado "*" */
+    public static PgnGame game(SplittableRandom rnd, String fen, int plies) {
+        PgnGame game = new PgnGame();
+        game.setStartFen(fen);
+        for (int m : moves(rnd, fen, plies)) game.addMove(m);
+        return game;
+    }
+}
@@ -12,7 +12,7 @@ public class RookTest {
 
     @Before
     public void setUp() {
-        board = Board.getInstance();
+        board = new Board();
 
         // Limpa o tabuleiro
         for (int r = 0; r < 8; r++) {
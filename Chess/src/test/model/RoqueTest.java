@@ -11,9 +11,8 @@ public class RoqueTest {
 
     @Before
     public void setUp() {
-        board = Board.getInstance();
-        board.setupInitialPosition();
-        game  = ChessGame.getInstance();
+        game  = new ChessGame();
+        board = game.getBoard();
     }
 
     /**
@@ -0,0 +1,73 @@
+package model;
+
+import static org.junit.Assert.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+public class SeeTest {
+
+    private final San san = new San();
+
+    private int see(String fen, String move) {
+        Position pos = Fen.parse(fen);
+        int m = san.parse(pos, move);
+        assertNotEquals(move, Move.NONE, m);
+        return See.see(pos, m);
+    }
+
+    /**
+     * Objetivo: Verificar trocas simples: captura livre, peça defendida por peão, promoção.
+     * Retorno: +100 pelo peão livre; −800 pela dama que toma peão defendido;
+     *          promoção que o rei captura perde o peão; en-passant defendido empata.
+     * Significado: o saldo segue o valor das peças na ordem menos valiosa primeiro.
+     */
+    @Test(timeout = 2000)
+    public void test_simpleExchanges() {
+        assertEquals(100,  see("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "Rxe5"));
+        assertEquals(-800, see("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1", "Qxd5"));
+        assertEquals(800,  see("4k3/8/8/8/8/8/1p6/4K3 b - - 0 1", "b1=Q"));
+        assertEquals(-100, see("4k3/8/8/8/8/8/1p6/2K5 b - - 0 1", "b1=Q"));
+        assertEquals(0,    see("4k3/2p5/8/3pP3/8/8/8/4K3 w - d6 0 1", "exd6"));
+    }
+
+    /**
+     * Objetivo: Verificar atacantes escondidos atrás de deslizantes (raios-x).
+     * Retorno: torres dobradas ganham o peão defendido por uma torre; a sequência
+     *          com cavalo, bispo e dama atrás do bispo perde o cavalo pelo peão.
+     * Significado: cada peça que sai revela os deslizantes alinhados atrás dela.
+     */
+    @Test(timeout = 2000)
+    public void test_xrayAttackers() {
+        assertEquals(100,  see("3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1", "Rxd5"));
+        assertEquals(-400, see("3rk3/8/8/3p4/8/8/8/3RK3 w - - 0 1", "Rxd5"));
+        assertEquals(-220, see("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "Nxe5"));
+    }
+
+    /**
+     * Objetivo: Verificar seeGE contra o valor exato em posições de partidas aleatórias.
+     * Retorno: para todo lance e limites de −1000 a 1000, seeGE(m, t) ⇔ see(m) ≥ t.
+     * Significado: a saída antecipada não muda a resposta da comparação.
+     */
+    @Test(timeout = 10000)
+    public void test_seeGEAgreesWithSee() {
+        SplittableRandom rnd = new SplittableRandom(23);
+        MoveGenerator gen  = new MoveGenerator();
+        MoveList      list = new MoveList();
+        for (int game = 0; game < 40; game++) {
+            Position pos = Fen.parse(Fen.START);
+            for (int played : RandomGames.moves(rnd, Fen.START, 120)) {
+                gen.prepare(pos, pos.sideToMove());
+                gen.generate(list);
+                for (int i = 0; i < list.size(); i++) {
+                    int m = list.get(i);
+                    int v = See.see(pos, m);
+                    for (int t = -1000; t <= 1000; t += 50)
+                        assertEquals(Fen.toFen(pos) + " " + m + " " + t, v >= t, See.seeGE(pos, m, t));
+                }
+                pos.makeMove(played);
+            }
+        }
+    }
+}
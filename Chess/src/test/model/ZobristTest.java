@@ -0,0 +1,89 @@
+package model;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ZobristTest {
+
+    private ChessGame game;
+    private Board board;
+
+    @Before
+    public void setUp() {
+        game  = new ChessGame();
+        board = game.getBoard();
+    }
+
+    private void play(int fr, int fc, int tr, int tc) {
+        assertTrue(game.selectPiece(fr, fc));
+        assertTrue(game.moveTo(tr, tc));
+    }
+
+    /**
+     * Objetivo: Verificar se a chave incremental coincide com a calculada do zero.
+     * Retorno: chaves iguais após lances comuns, lance duplo de peão e roque.
+     * Significado: makeMove, setPiece e os caminhos de roque/en-passant do ChessGame atualizam a chave.
+     */
+    @Test(timeout = 2000)
+    public void test_incrementalKeyMatchesRecomputed() {
+        Position pos = board.getPosition();
+        assertEquals(Zobrist.compute(pos), game.getPositionKey());
+
+        play(6, 4, 4, 4);   // e2-e4 (alvo e.p.)
+        assertEquals(Zobrist.compute(pos), game.getPositionKey());
+        play(1, 4, 3, 4);   // e7-e5
+        play(7, 6, 5, 5);   // Cg1-f3
+        play(0, 1, 2, 2);   // Cb8-c6
+        play(7, 5, 4, 2);   // Bf1-c4
+        play(0, 6, 2, 5);   // Cg8-f6
+        play(7, 4, 7, 7);   // O-O
+        assertEquals(Zobrist.compute(pos), game.getPositionKey());
+    }
+
+    /**
+     * Objetivo: Verificar se ordens diferentes de lances levam à mesma chave.
+     * Retorno: Cf3/Cc6/Cc3 e Cc3/Cc6/Cf3 produzem chaves iguais; a vez muda a chave.
+     * Significado: a chave identifica a posição, não o caminho até ela.
+     */
+    @Test(timeout = 2000)
+    public void test_transpositionGivesSameKey() {
+        long start = game.getPositionKey();
+
+        play(7, 6, 5, 5);
+        assertNotEquals(start, game.getPositionKey());
+        play(0, 1, 2, 2);
+        play(7, 1, 5, 2);
+        long first = game.getPositionKey();
+
+        game.resetGame();
+        assertEquals(start, game.getPositionKey());
+        play(7, 1, 5, 2);
+        play(0, 1, 2, 2);
+        play(7, 6, 5, 5);
+        assertEquals(first, game.getPositionKey());
+    }
+
+    /**
+     * Objetivo: Verificar se makeMove/unmakeMove restauram a chave, inclusive promoção.
+     * Retorno: a chave volta ao valor original após desfazer cada lance legal.
+     * Significado: buscas podem usar a chave sem recalculá-la.
+     */
+    @Test(timeout = 2000)
+    public void test_makeUnmakeRestoresKey() {
+        Position pos = Fen.parse("r3k2r/p1pPqpb1/bn2pnp1/4N3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        MoveGenerator gen = new MoveGenerator();
+        MoveList list = new MoveList();
+        gen.prepare(pos, pos.sideToMove());
+        gen.generate(list);
+
+        long key = pos.key();
+        assertEquals(Zobrist.compute(pos), key);
+        for (int i = 0; i < list.size(); i++) {
+            pos.makeMove(list.get(i));
+            assertEquals(Zobrist.compute(pos), pos.key());
+            pos.unmakeMove(list.get(i));
+            assertEquals(key, pos.key());
+        }
+    }
+}
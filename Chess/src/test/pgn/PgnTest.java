@@ -0,0 +1,198 @@
+package pgn;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import model.ChessGame;
+import model.Fen;
+import model.Move;
+import model.Position;
+import model.RandomGames;
+import model.San;
+
+public class PgnTest {
+
+    private static final String OPERA =
+        "[Event \"Paris\"]\n"
+      + "[Site \"Paris FRA\"]\n"
+      + "[Date \"1858.??.??\"]\n"
+      + "[Round \"?\"]\n"
+      + "[White \"Paul Morphy\"]\n"
+      + "[Black \"Duke Karl / Count Isouard\"]\n"
+      + "[Result \"1-0\"]\n"
+      + "\n"
+      + "1.e4 e5 2.Nf3 d6 3.d4 Bg4 {This is a weak move already.} 4.dxe5 Bxf3 5.Qxf3 dxe5\n"
+      + "6.Bc4 Nf6 7.Qb3 Qe7 8.Nc3 c6 9.Bg5 b5 (9...Qb4 10.Qxb4) 10.Nxb5 cxb5 11.Bxb5+\n"
+      + "Nbd7 12.O-O-O Rd8 13.Rxd7 Rxd7 14.Rd1 Qe6 15.Bxd7+ Nxd7 16.Qb8+ Nxb8 17.Rd8# 1-0\n"
+      + "\n";
+
+    private static PgnReader reader(String text) {
+        return new PgnReader(new StringReader(text));
+    }
+
+    /**
+     * Objetivo: Verificar a leitura de uma partida real com comentário e variante.
+     * Retorno: 33 meios-lances, etiquetas preservadas, resultado 1-0 e mate na posição final.
+     * Significado: SAN com capturas, xeques, roque longo e mate é resolvido pelo gerador legal.
+     */
+    @Test(timeout = 2000)
+    public void test_readsGameWithCommentsAndVariations() throws IOException {
+        try (PgnReader in = reader(OPERA)) {
+            PgnGame game = in.next();
+            assertNotNull(game);
+            assertTrue(game.error(), game.isValid());
+            assertEquals(33, game.moveCount());
+            assertEquals("Paul Morphy", game.tag("White"));
+            assertEquals("1-0", game.result());
+
+            ChessGame played = game.toChessGame();
+            assertTrue(played.isGameEnded());
+            assertEquals('W', played.getWinner());
+            assertNull(in.next());
+        }
+    }
+
+    /**
+     * Objetivo: Verificar SAN nos casos de desambiguação, promoção e en-passant.
+     * Retorno: lances resolvidos para as casas certas; ambíguo ou inexistente dá Move.NONE; escrita volta ao mesmo texto.
+     * Significado: leitura e escrita de SAN são inversas uma da outra.
+     */
+    @Test(timeout = 2000)
+    public void test_sanParseAndWrite() {
+        San san = new San();
+
+        Position knights = Fen.parse("4k3/8/8/8/8/2N3N1/8/4K3 w - - 0 1");
+        assertEquals(Move.NONE, san.parse(knights, "Ne4"));          // ambíguo
+        int nce4 = san.parse(knights, "Nce4");
+        assertEquals("c3e4", Move.toString(nce4));
+        assertEquals("Nce4", san.toString(knights, nce4));
+        assertEquals(Move.NONE, san.parse(knights, "Nd5xe7"));
+
+        Position promo = Fen.parse("1r2k3/P7/8/8/8/8/8/4K3 w - - 0 1");
+        assertEquals("a7b8n", Move.toString(san.parse(promo, "axb8=N")));
+        assertEquals("a7a8q", Move.toString(san.parse(promo, "a8Q+")));
+        assertEquals("a8=Q", san.toString(promo, san.parse(promo, "a8=Q")));
+        assertEquals("axb8=Q+", san.toString(promo, san.parse(promo, "axb8Q")));
+
+        Position ep = Fen.parse("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2");
+        int exd6 = san.parse(ep, "exd6");
+        assertTrue(Move.isEnPassant(exd6));
+        assertEquals("exd6", san.toString(ep, exd6));
+
+        Position castle = Fen.parse("r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1");
+        assertEquals("O-O-O", san.toString(castle, san.parse(castle, "0-0-0")));
+        assertEquals("e8g8", Move.toString(san.parse(castle, "O-O")));
+    }
+
+    /**
+     * Objetivo: Verificar a ida e volta escrita → leitura de muitas partidas aleatórias.
+     * Retorno: mesmos lances, mesma FEN inicial e mesmo resultado em todas as 200 partidas.
+     * Significado: o escritor gera SAN e quebras de linha que o leitor entende.
+     */
+    @Test(timeout = 10000)
+    public void test_randomGamesRoundTrip() throws IOException {
+        SplittableRandom rnd = new SplittableRandom(17);
+        PgnGame[] games = new PgnGame[200];
+
+        StringWriter text = new StringWriter();
+        try (PgnWriter out = new PgnWriter(text)) {
+            for (int g = 0; g < games.length; g++) {
+                String fen = g % 10 == 0 ? "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R b KQkq - 3 17"
+                                         : Fen.START;
+                PgnGame game = RandomGames.game(rnd, fen, 120);
+                game.setResult(g % 3 == 0 ? "1/2-1/2" : "*");
+                games[g] = game;
+                out.write(game);
+            }
+        }
+
+        try (PgnReader in = reader(text.toString())) {
+            PgnGame read = new PgnGame();
+            for (PgnGame expected : games) {
+                assertTrue(in.next(read));
+                assertTrue(read.error(), read.isValid());
+                assertEquals(expected.startFen(), read.startFen());
+                assertArrayEquals(expected.moves(), read.moves());
+                assertEquals(expected.result(), read.result());
+            }
+            assertFalse(in.next(read));
+            assertEquals(games.length, in.games());
+        }
+    }
+
+    /**
+     * Objetivo: Verificar que um lance inválido não interrompe a leitura do arquivo.
+     * Retorno: a primeira partida volta com erro e os lances válidos até ali; a segunda é lida normalmente.
+     * Significado: importação em massa tolera partidas corrompidas.
+     */
+    @Test(timeout = 2000)
+    public void test_invalidMoveSkipsToNextGame() throws IOException {
+        String text = "[Event \"a\"]\n\n1. e4 e5 2. Ke3 Nc6 3. Bb5 1-0\n\n"
+                    + "[Event \"b\"]\n\n1. d4 d5 *\n";
+        try (PgnReader in = reader(text)) {
+            PgnGame first = in.next();
+            assertFalse(first.isValid());
+            assertEquals(2, first.moveCount());
+            assertEquals("1-0", first.result());
+
+            PgnGame second = in.next();
+            assertTrue(second.isValid());
+            assertEquals("b", second.tag("Event"));
+            assertEquals(2, second.moveCount());
+        }
+    }
+
+    /**
+     * Objetivo: Verificar a continuação de uma partida que seguiu depois de uma tripla repetição.
+     * Retorno: com 5.e4 após a terceira ocorrência da posição inicial, os 9 lances são aceitos e a
+     *          partida fica em andamento; terminando na repetição, é empate.
+     * Significado: empates que só valem se reclamados não impedem "Continuar…" de carregar a partida.
+     */
+    @Test(timeout = 2000)
+    public void test_continuesPastRepetition() throws IOException {
+        String text = "1. Nf3 Nf6 2. Ng1 Ng8 3. Nf3 Nf6 4. Ng1 Ng8 5. e4 *\n\n"
+                    + "1. Nf3 Nf6 2. Ng1 Ng8 3. Nf3 Nf6 4. Ng1 Ng8 *\n";
+        try (PgnReader in = reader(text)) {
+            ChessGame past = in.next().toChessGame();
+            assertEquals(9, past.getMoves().length);
+            assertFalse(past.isGameEnded());
+            assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 5", past.toFen());
+
+            ChessGame drawn = in.next().toChessGame();
+            assertTrue(drawn.isGameEnded());
+            assertEquals(ChessGame.DrawReason.THREEFOLD_REPETITION, drawn.getDrawReason());
+        }
+    }
+
+    /**
+     * Objetivo: Verificar a exportação de uma partida do ChessGame carregada de FEN, com promoção.
+     * Retorno: etiquetas SetUp/FEN, "1..." para começar com as pretas, "=N" e resultado; releitura reproduz a posição.
+     * Significado: o botão de salvar e o de continuar usam o mesmo caminho de ida e volta.
+     */
+    @Test(timeout = 2000)
+    public void test_chessGameExportAndContinue() throws IOException {
+        ChessGame game = new ChessGame();
+        game.loadFen("4k3/8/8/8/8/8/p6P/4K3 b - - 0 1");
+        assertTrue(game.playMove(Move.of(48, 56, 0, Position.KNIGHT)));   // a2-a1=N
+
+        StringWriter text = new StringWriter();
+        try (PgnWriter out = new PgnWriter(text)) {
+            out.write(PgnGame.of(game));
+        }
+        String pgn = text.toString();
+        assertTrue(pgn, pgn.startsWith("[Event "));
+        assertTrue(pgn, pgn.contains("[FEN \"4k3/8/8/8/8/8/p6P/4K3 b - - 0 1\"]"));
+        assertTrue(pgn, pgn.contains("1... a1=N *"));
+
+        try (PgnReader in = reader(pgn)) {
+            ChessGame again = in.next().toChessGame();
+            assertEquals(game.toFen(), again.toFen());
+        }
+    }
+}
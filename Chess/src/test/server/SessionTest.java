@@ -0,0 +1,134 @@
+package server;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SessionTest {
+
+    /* roda uma sessão inteira e devolve as linhas de resposta */
+    private static String[] run(GameServer server, String script) {
+        StringWriter buf = new StringWriter();
+        new Session(server, new BufferedReader(new StringReader(script)),
+                    new PrintWriter(buf, true)).run();
+        return buf.toString().split("\\R");
+    }
+
+    /**
+     * Objetivo: Verificar o ciclo criar → jogar → consultar → fechar.
+     * Retorno: respostas OK com a vez e a situação; lance ilegal gera ERR.
+     * Significado: o protocolo de linhas expõe as regras do ChessGame.
+     */
+    @Test(timeout = 2000)
+    public void test_createMoveQueryClose() {
+        GameServer server = new GameServer();
+        String[] r = run(server, String.join("\n",
+            "NEW", "MOVE 1 e2e4", "MOVE 1 e2e4", "MOVE 1 e7e5", "STATE 1", "CLOSE 1", "STATE 1"));
+
+        assertEquals("OK 1", r[0]);
+        assertEquals("OK B ongoing", r[1]);
+        assertTrue(r[2].startsWith("ERR"));
+        assertEquals("OK W ongoing", r[3]);
+        assertEquals("OK rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR W ongoing", r[4]);
+        assertEquals("OK", r[5]);
+        assertTrue(r[6].startsWith("ERR"));
+        assertEquals(0, server.openGames());
+    }
+
+    /**
+     * Objetivo: Verificar mate, roque e lista de lances legais pelo protocolo.
+     * Retorno: 20 lances na posição inicial; o mate do louco termina em "checkmate B".
+     * Significado: o cliente sem interface gráfica obtém o mesmo resultado da View.
+     */
+    @Test(timeout = 2000)
+    public void test_legalMovesAndCheckmate() {
+        String[] r = run(new GameServer(), String.join("\n",
+            "NEW", "LEGAL 1", "MOVE 1 f2f3", "MOVE 1 e7e5", "MOVE 1 g2g4", "MOVE 1 d8h4",
+            "MOVE 1 a2a3", "QUIT", "NEW"));
+
+        assertEquals(21, r[1].split(" ").length);
+        assertEquals("OK W checkmate B", r[5]);
+        assertTrue(r[6].startsWith("ERR"));
+        assertEquals("OK", r[7]);
+        assertEquals(8, r.length);       // nada é lido depois de QUIT
+    }
+
+    /**
+     * Objetivo: Verificar a letra de promoção no lance.
+     * Retorno: letra desconhecida, rei ou letra num lance que não é promoção dão "ERR lance inválido";
+     *          a7b8n promove a cavalo.
+     * Significado: o servidor não troca silenciosamente o lance pedido por outro.
+     */
+    @Test(timeout = 2000)
+    public void test_promotionSuffix() {
+        String[] r = run(new GameServer(), String.join("\n",
+            "NEW", "MOVE 1 a2a4q", "MOVE 1 a2a4", "MOVE 1 b7b5", "MOVE 1 a4b5", "MOVE 1 c8b7",
+            "MOVE 1 b5b6", "MOVE 1 b7c6", "MOVE 1 b6a7", "MOVE 1 c6d5",
+            "MOVE 1 a7b8x", "MOVE 1 a7b8k", "MOVE 1 a7b8n", "STATE 1"));
+
+        assertEquals("ERR lance inválido: a2a4q", r[1]);
+        for (int i = 2; i <= 9; i++) assertTrue(r[i], r[i].startsWith("OK"));
+        assertEquals("ERR lance inválido: a7b8x", r[10]);
+        assertEquals("ERR lance inválido: a7b8k", r[11]);
+        assertEquals("OK B ongoing", r[12]);
+        assertEquals("OK rN1qkbnr/2pppppp/8/3b4/8/8/1PPPPPPP/RNBQKBNR B ongoing", r[13]);
+    }
+
+    /**
+     * Objetivo: Verificar muitas sessões simultâneas, cada uma numa thread virtual.
+     * Retorno: 2000 sessões jogam a mesma abertura com roque e todas recebem as mesmas respostas.
+     * Significado: o servidor atende milhares de partidas sem uma thread do sistema por partida.
+     */
+    @Test(timeout = 20000)
+    public void test_manyConcurrentSessions() throws Exception {
+        GameServer server = new GameServer();
+        String script = String.join("\n",
+            "NEW", "MOVE $ e2e4", "MOVE $ e7e5", "MOVE $ g1f3", "MOVE $ b8c6",
+            "MOVE $ f1c4", "MOVE $ g8f6", "MOVE $ e1g1", "STATE $");
+
+        List<Thread> threads = new ArrayList<>();
+        String[][]   results = new String[2000][];
+        for (int i = 0; i < results.length; i++) {
+            int n = i;
+            threads.add(Thread.ofVirtual().start(() -> {
+                /* cada sessão descobre o seu id no NEW e o usa no restante */
+                GameServerClient c = new GameServerClient(server);
+                results[n] = c.play(script);
+            }));
+        }
+        for (Thread t : threads) t.join();
+
+        for (String[] r : results) {
+            assertEquals("OK B ongoing", r[7]);
+            assertEquals("OK r1bqkb1r/pppp1ppp/2n2n2/4p3/2B1P3/5N2/PPPP1PPP/RNBQ1RK1 B ongoing", r[8]);
+        }
+        assertEquals(0, server.openGames());   // fechadas ao fim de cada sessão
+    }
+
+    /* executa o roteiro comando a comando, trocando "$" pelo id recebido */
+    private static final class GameServerClient {
+        private final Session session;
+        GameServerClient(GameServer server) {
+            session = new Session(server, new BufferedReader(new StringReader("")),
+                                  new PrintWriter(new StringWriter()));
+        }
+        String[] play(String script) {
+            String[] lines = script.split("\n");
+            String[] out   = new String[lines.length];
+            String   id    = "";
+            for (int i = 0; i < lines.length; i++) {
+                out[i] = session.handle(lines[i].replace("$", id).split("\\s+"));
+                if (i == 0) id = out[0].substring(3);
+            }
+            session.run();                    // entrada vazia: apenas encerra e fecha as partidas
+            return out;
+        }
+    }
+}
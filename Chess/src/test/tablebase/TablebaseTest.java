@@ -0,0 +1,208 @@
+package tablebase;
+
+import static org.junit.Assert.*;
+import static model.Position.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import engine.Search;
+import engine.SearchResult;
+import model.Fen;
+import model.MoveGenerator;
+import model.MoveList;
+import model.Position;
+import tablebase.Tablebase.Outcome;
+import tablebase.Tablebase.Result;
+
+public class TablebaseTest {
+
+    @ClassRule
+    public static TemporaryFolder tmp = new TemporaryFolder();
+
+    private static Path      dir;
+    private static Tablebase tb;
+
+    /* KPK puxa KQK, KRK, KBK e KNK pelas promoções */
+    @BeforeClass
+    public static void generate() throws IOException {
+        dir = tmp.newFolder("tabelas").toPath();
+        List<TablebaseGenerator.Report> done = new TablebaseGenerator(2).generate("KPK", dir);
+        assertEquals(5, done.size());
+        assertEquals("KPK", done.get(done.size() - 1).material());
+        tb = Tablebase.open(dir);
+    }
+
+    @AfterClass
+    public static void close() throws IOException {
+        if (tb != null) tb.close();
+    }
+
+    private static Result probe(String fen) {
+        return tb.probe(Fen.parse(fen));
+    }
+
+    /**
+     * Objetivo: Verificar posições de mate conhecidas, nas duas orientações de cor.
+     * Retorno: mate em 1 = vitória a 1 meio-lance; a posição de mate = derrota a 0;
+     *          com as cores trocadas, o mesmo resultado.
+     * Significado: a tabela canônica (dama branca) responde também pela dama preta.
+     */
+    @Test(timeout = 2000)
+    public void test_knownMates() {
+        assertEquals(new Result(Outcome.WIN, 1),  probe("7k/8/6K1/8/8/8/8/Q7 w - - 0 1"));
+        assertEquals(new Result(Outcome.LOSS, 0), probe("Q6k/8/6K1/8/8/8/8/8 b - - 1 1"));
+        assertEquals(new Result(Outcome.WIN, 1),  probe("q7/8/8/8/8/6k1/8/7K b - - 0 1"));
+        assertEquals(new Result(Outcome.DRAW, 0), probe("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1"));   // afogado
+
+        /* KPK: rei na sexta à frente do peão vence com qualquer um a jogar; com o rei defensor na frente, empate */
+        assertEquals(Outcome.WIN,  probe("4k3/8/4K3/4P3/8/8/8/8 w - - 0 1").outcome());
+        assertEquals(Outcome.LOSS, probe("4k3/8/4K3/4P3/8/8/8/8 b - - 0 1").outcome());
+        assertEquals(Outcome.DRAW, probe("8/8/8/8/8/4k3/4P3/4K3 w - - 0 1").outcome());
+        assertEquals(Outcome.DRAW, probe("4k3/4P3/4K3/8/8/8/8/8 b - - 0 1").outcome());       // afogado
+    }
+
+    /**
+     * Objetivo: Verificar que posições fora das tabelas não são respondidas.
+     * Retorno: null para a posição inicial, para roque possível e para material sem tabela.
+     * Significado: a consulta nunca inventa um resultado.
+     */
+    @Test(timeout = 2000)
+    public void test_uncoveredPositions() {
+        assertNull(probe(Fen.START));
+        assertNull(probe("4k3/8/8/8/8/8/8/R3K3 w Q - 0 1"));
+        assertNull(probe("4k3/8/8/8/8/8/8/1NB1K3 w - - 0 1"));
+        assertNotNull(probe("4k3/8/8/8/8/8/8/R3K3 w - - 0 1"));
+        assertTrue(tb.materials().containsAll(List.of("KQK", "KRK", "KPK", "KBK", "KNK")));
+    }
+
+    /**
+     * Objetivo: Verificar cada valor contra os valores dos filhos, em posições aleatórias.
+     * Retorno: vitória = 1 + o mate mais curto entre os filhos perdidos; derrota = 1 + o mais
+     *          longo quando todos os filhos vencem; empate nos demais casos; mate e afogamento.
+     * Significado: a análise retrógrada (incluindo promoções para outras tabelas) é exata.
+     */
+    @Test(timeout = 20000)
+    public void test_agreesWithOneMoveLookahead() {
+        SplittableRandom rnd = new SplittableRandom(7);
+        MoveGenerator gen  = new MoveGenerator();
+        MoveList      list = new MoveList();
+        int[][] materials = {
+            { code(WHITE, QUEEN) }, { code(BLACK, QUEEN) }, { code(WHITE, ROOK) },
+            { code(WHITE, PAWN) },  { code(BLACK, PAWN) },
+        };
+        Position pos = new Position();
+        int checked = 0;
+        while (checked < 3000) {
+            int[] extra = materials[checked % materials.length];
+            if (!randomPosition(pos, extra, rnd)) continue;
+            checked++;
+
+            Result r = tb.probe(pos);
+            assertNotNull(r);
+            gen.prepare(pos, pos.sideToMove());
+            gen.generate(list);
+            if (list.isEmpty()) {
+                assertEquals(gen.inCheck() ? new Result(Outcome.LOSS, 0) : new Result(Outcome.DRAW, 0), r);
+                continue;
+            }
+            int bestWin = Integer.MAX_VALUE, worstLoss = -1;
+            boolean draw = false;
+            int[] moves = new int[list.size()];
+            for (int i = 0; i < moves.length; i++) moves[i] = list.get(i);
+            for (int m : moves) {
+                pos.makeMove(m);
+                Result c = tb.probe(pos);
+                pos.unmakeMove(m);
+                assertNotNull(c);
+                switch (c.outcome()) {
+                    case LOSS -> bestWin   = Math.min(bestWin, c.dtm() + 1);
+                    case DRAW -> draw      = true;
+                    case WIN  -> worstLoss = Math.max(worstLoss, c.dtm() + 1);
+                }
+            }
+            Result expected = bestWin != Integer.MAX_VALUE ? new Result(Outcome.WIN, bestWin)
+                            : draw ? new Result(Outcome.DRAW, 0)
+                            : new Result(Outcome.LOSS, worstLoss);
+            assertEquals(Fen.toFen(pos), expected, r);
+        }
+    }
+
+    /* reis e a peça extra em casas aleatórias; false se a posição é impossível */
+    private static boolean randomPosition(Position pos, int[] extra, SplittableRandom rnd) {
+        pos.clear();
+        int[] codes = { code(WHITE, KING), code(BLACK, KING), extra[0] };
+        for (int c : codes) {
+            int sq = rnd.nextInt(64);
+            if (!pos.isEmpty(sq) || typeOf(c) == PAWN && (sq < 8 || sq >= 56)) return false;
+            pos.put(sq, c);
+        }
+        int side = rnd.nextInt(2);
+        pos.setSideToMove(side);
+        int theirKing = Long.numberOfTrailingZeros(pos.pieces(side ^ 1, KING));
+        return !pos.isAttacked(theirKing, side, pos.occupied());
+    }
+
+    /**
+     * Objetivo: Verificar a busca com as tabelas numa posição de KRK.
+     * Retorno: nota de mate com a mesma distância que a tabela dá para a raiz.
+     * Significado: com as tabelas, a busca rasa já encontra o caminho mais curto.
+     */
+    @Test(timeout = 5000)
+    public void test_searchUsesTablebase() {
+        Position root = Fen.parse("8/8/8/4k3/8/8/8/R3K3 w - - 0 1");
+        Result exact = tb.probe(root);
+        assertEquals(Outcome.WIN, exact.outcome());
+
+        Search search = new Search(root);
+        search.setTablebase(tb);
+        SearchResult r = search.think(0, 2);
+        assertEquals(Search.MATE - exact.dtm(), r.score());
+
+        root.makeMove(r.bestMove());
+        assertEquals(new Result(Outcome.LOSS, exact.dtm() - 1), tb.probe(root));
+    }
+
+    /**
+     * Objetivo: Verificar a busca com uma vitória de tabela mais longa que MAX_PLY (KBNK, DTM 65).
+     * Retorno: nota MATE - 65 reconhecida como mate ("mate 33"); o aprofundamento para na profundidade 1.
+     * Significado: DTMs além de MAX_PLY não viram nota em centipeões.
+     */
+    @Test(timeout = 60000)
+    public void test_searchUsesLongTablebaseWin() throws IOException {
+        new TablebaseGenerator(2).generate("KBNK", dir);
+        try (Tablebase kbnk = Tablebase.open(dir)) {
+            Position root = Fen.parse("8/8/8/B7/8/1k6/8/K6N w - - 0 1");
+            Result exact = kbnk.probe(root);
+            assertEquals(new Result(Outcome.WIN, 65), exact);
+
+            Search search = new Search(root);
+            search.setTablebase(kbnk);
+            SearchResult r = search.think(0, 3);
+            assertTrue(r.toString(), r.isMate());
+            assertEquals(1, r.depth());
+            assertEquals(Search.MATE - exact.dtm(), r.score());
+            assertTrue(r.toString(), r.toString().contains("score mate 33 "));
+        }
+    }
+
+    /**
+     * Objetivo: Verificar que a geração pula tabelas existentes e que o arquivo é comprimido.
+     * Retorno: nenhuma tabela gerada de novo; KQK menor que um byte por posição.
+     * Significado: o diretório pode ser completado aos poucos.
+     */
+    @Test(timeout = 5000)
+    public void test_existingTablesAreKept() throws IOException {
+        assertTrue(new TablebaseGenerator(1).generate("KQK", dir).isEmpty());
+        assertTrue(Files.size(dir.resolve("KQK.ctb")) < 2L * 64 * 64 * 64 / 4);
+    }
+}
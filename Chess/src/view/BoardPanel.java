@@ -6,9 +6,24 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import javax.imageio.ImageIO;
-
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import archive.GameArchive;
+import archive.PositionIndex;
+import engine.ParallelSearch;
+import engine.PolyglotBook;
+import engine.Search;
+import engine.SearchResult;
+import engine.TranspositionTable;
 import model.ChessGame;
+import model.Move;
+import pgn.PgnGame;
+import pgn.PgnWriter;
+import tablebase.Tablebase;
 
 /** Painel Java2D responsável por desenhar o tabuleiro e capturar cliques. */
 public class BoardPanel extends JPanel {
@@ -21,12 +36,32 @@ public class BoardPanel extends JPanel {
     /* [bank][type]  bank 0 = ciano (brancas), 1 = roxo (pretas) */
     private final BufferedImage[][] img = new BufferedImage[2][6];
 
-    private final ChessGame game  = ChessGame.getInstance();
+    private final ChessGame game;
+
+    /* cor jogada pelo computador ('W', 'B' ou '\0' = dois humanos) */
+    private final char computerColor;
+    private static final long THINK_MILLIS = 1500;
+    private boolean thinking = false;
+    private final TranspositionTable tt;        // mantida entre os lances do computador
+    private final PolyglotBook book;            // livro de aberturas (-Dchess.book), ou null
+    private final PositionIndex positions;      // índice de posições (-Dchess.positions), ou null
+    private final Tablebase tablebase;          // tabelas de finais (-Dchess.tablebases), ou null
+    private final java.util.Random rnd = new java.util.Random();
 
     private java.util.List<Point> reachable = java.util.Collections.emptyList();
     private Point selected = null;
 
-    public BoardPanel() {
+    public BoardPanel(ChessGame game) {
+        this(game, '\0');
+    }
+
+    public BoardPanel(ChessGame game, char computerColor) {
+        this.game          = game;
+        this.computerColor = computerColor;
+        this.tt            = computerColor != '\0' ? new TranspositionTable() : null;
+        this.book          = computerColor != '\0' ? openBook() : null;
+        this.positions     = openPositions();
+        this.tablebase     = computerColor != '\0' ? openTablebase() : null;
         setPreferredSize(new Dimension(TILE * SIZE, TILE * SIZE));
         loadImages();
 
@@ -34,12 +69,14 @@ public class BoardPanel extends JPanel {
         addMouseListener(new MouseAdapter() {
             @Override public void mouseClicked(MouseEvent evt) {
 
-                /* botão direito → salvar (4ª iteração) */
+                /* botão direito → salvar em PGN */
                 if (SwingUtilities.isRightMouseButton(evt)) {
                     showSavePopup(evt.getX(), evt.getY());
                     return;
                 }
 
+                if (thinking) return;      // vez do computador
+
                 int col = evt.getX() / TILE;
                 int row = evt.getY() / TILE;
 
@@ -60,24 +97,10 @@ public class BoardPanel extends JPanel {
 
                 	    /* --- fim de jogo --- */
                 	    if (game.isGameEnded()) {
-                	        String msg = switch (game.getWinner()) {
-                	            case 'W' -> "Brancas vencem por xeque-mate!";
-                	            case 'B' -> "Pretas vencem por xeque-mate!";
-                	            default  -> "Empate por stalemate.";
-                	        };
-
-                	        // diálogo pertence à camada Controller/View, então pode usar JOptionPane aqui
-                	        javax.swing.JOptionPane.showMessageDialog(
-                	        	    BoardPanel.this,              // ← o componente “dono” do diálogo
-                	        	    msg,
-                	        	    "Fim de jogo",
-                	        	    JOptionPane.INFORMATION_MESSAGE);
-
-                	        game.resetGame();          // zera modelo
-                	        controller.MainWindow.disposeCurrent();   // fecha a janela do tabuleiro
-                	        new controller.StartWindow();             // volta ao menu inicial
+                	        showEndOfGame();
                 	        return;                    // nada mais a fazer neste clique
                 	    }
+                	    if (!game.isPromotionPending()) startComputerMove();
 
                 	    selected  = null;
                 	    reachable = java.util.Collections.emptyList();
@@ -94,6 +117,97 @@ public class BoardPanel extends JPanel {
                 repaint();
             }
         });
+
+        startComputerMove();               // computador com as brancas abre a partida
+    }
+
+    /* ---------- adversário computador ---------- */
+
+    /* busca em segundo plano numa cópia da posição; o lance é aplicado na EDT */
+    private void startComputerMove() {
+        if (computerColor != game.getCurrentTurn() || game.isGameEnded()) return;
+
+        /* lance de livro: sem busca */
+        if (book != null) {
+            int move = book.pick(game.getBoard().getPosition(), rnd);
+            if (move != Move.NONE && game.playMove(move)) {
+                repaint();
+                if (game.isGameEnded()) showEndOfGame();
+                return;
+            }
+        }
+
+        thinking = true;
+
+        ParallelSearch search = ParallelSearch.forGame(game, tt, Runtime.getRuntime().availableProcessors());
+        search.setTablebase(tablebase);
+        new SwingWorker<SearchResult, Void>() {
+            @Override protected SearchResult doInBackground() {
+                return search.think(THINK_MILLIS, Search.MAX_PLY);
+            }
+
+            @Override protected void done() {
+                thinking = false;
+                try {
+                    SearchResult r = get();
+                    if (r != null) game.playMove(r.bestMove());
+                } catch (Exception ex) {
+                    ex.printStackTrace();
+                }
+                repaint();
+                if (game.isGameEnded()) showEndOfGame();
+            }
+        }.execute();
+    }
+
+    private static PolyglotBook openBook() {
+        try {
+            return PolyglotBook.openConfigured();
+        } catch (java.io.IOException ex) {
+            System.err.println("livro de aberturas indisponível: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private static PositionIndex openPositions() {
+        try {
+            return PositionIndex.openConfigured();
+        } catch (java.io.IOException ex) {
+            System.err.println("índice de posições indisponível: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private static Tablebase openTablebase() {
+        try {
+            return Tablebase.openConfigured();
+        } catch (java.io.IOException ex) {
+            System.err.println("tabelas de finais indisponíveis: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void showEndOfGame() {
+        String msg = switch (game.getWinner()) {
+            case 'W' -> "Brancas vencem por xeque-mate!";
+            case 'B' -> "Pretas vencem por xeque-mate!";
+            default  -> switch (game.getDrawReason()) {
+                case THREEFOLD_REPETITION  -> "Empate por tripla repetição.";
+                case FIFTY_MOVES           -> "Empate pela regra dos 50 lances.";
+                case INSUFFICIENT_MATERIAL -> "Empate por material insuficiente.";
+                default                    -> "Empate por stalemate.";
+            };
+        };
+
+        // diálogo pertence à camada Controller/View, então pode usar JOptionPane aqui
+        JOptionPane.showMessageDialog(
+            BoardPanel.this,              // ← o componente “dono” do diálogo
+            msg,
+            "Fim de jogo",
+            JOptionPane.INFORMATION_MESSAGE);
+
+        controller.MainWindow.disposeCurrent();   // fecha a janela do tabuleiro
+        new controller.StartWindow();             // volta ao menu inicial
     }
 
     /* ---------- Menus pop-up ---------- */
@@ -108,6 +222,7 @@ public class BoardPanel extends JPanel {
             item.addActionListener(_ -> {
                 game.promote(pieceCode);
                 repaint();
+                startComputerMove();
             });
             menu.add(item);
         }
@@ -119,32 +234,95 @@ public class BoardPanel extends JPanel {
     private void showSavePopup(int x, int y) {
         JPopupMenu menu = new JPopupMenu();
         JMenuItem item = new JMenuItem("Salvar partida…");
-        item.addActionListener(_ ->
-            JOptionPane.showMessageDialog(
-                this,
-                "Função de salvar será implementada na 4ª iteração."));
+        item.addActionListener(_ -> saveGame());
         menu.add(item);
+        if (positions != null) {
+            JMenuItem find = new JMenuItem("Partidas com esta posição…");
+            find.addActionListener(_ -> showGamesWithPosition());
+            menu.add(find);
+        }
         menu.show(this, x, y);
     }
 
+    /* partidas do arquivo indexado que passaram pela posição do tabuleiro */
+    private void showGamesWithPosition() {
+        final int shown = 20;
+        long key   = game.getPositionKey();
+        long total = positions.count(key);
+        StringBuilder sb = new StringBuilder();
+        sb.append(total == 0 ? "Nenhuma partida passou por esta posição."
+                             : total + " ocorrência(s) desta posição:");
+        for (PositionIndex.Hit hit : positions.find(key, shown))
+            sb.append("\n  partida ").append(hit.gameId())
+              .append(", após o meio-lance ").append(hit.ply());
+        if (total > shown) sb.append("\n  …");
+        JOptionPane.showMessageDialog(this, sb, "Posição", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /*
+     * Grava a partida (em andamento ou encerrada) no arquivo escolhido: PGN,
+     * sobrescrito, ou arquivo binário (.cga), onde ela é acrescentada.
+     */
+    private void saveGame() {
+        if (game.isPromotionPending()) {
+            JOptionPane.showMessageDialog(this, "Escolha a peça da promoção antes de salvar.");
+            return;
+        }
+        FileNameExtensionFilter pgnFilter = new FileNameExtensionFilter("Partidas PGN", "pgn");
+        FileNameExtensionFilter cgaFilter = new FileNameExtensionFilter("Arquivo de partidas", "cga");
+        JFileChooser chooser = new JFileChooser();
+        chooser.addChoosableFileFilter(pgnFilter);
+        chooser.addChoosableFileFilter(cgaFilter);
+        chooser.setFileFilter(pgnFilter);
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        Path   file = chooser.getSelectedFile().toPath();
+        String name = file.getFileName().toString().toLowerCase();
+        boolean binary = name.endsWith(GameArchive.EXTENSION)
+                      || (!name.endsWith(".pgn") && chooser.getFileFilter() == cgaFilter);
+        if (!name.endsWith(binary ? GameArchive.EXTENSION : ".pgn"))
+            file = file.resolveSibling(file.getFileName() + (binary ? GameArchive.EXTENSION : ".pgn"));
+
+        PgnGame pgn = PgnGame.of(game);
+        if (computerColor != '\0') {
+            pgn.setTag("White", computerColor == 'W' ? "Computador" : "Jogador");
+            pgn.setTag("Black", computerColor == 'B' ? "Computador" : "Jogador");
+        }
+        try {
+            if (binary) {
+                try (GameArchive archive = GameArchive.open(file)) {
+                    archive.append(pgn);
+                }
+            } else {
+                try (PgnWriter out = new PgnWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                    out.write(pgn);
+                }
+            }
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "Não foi possível salvar: " + ex.getMessage(),
+                                          "Erro", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     /* ---------- imagens ---------- */
     private void loadImages() {
+        String[] bank = {"Cyan", "Purple"};
+        String[] type = {"P", "R", "N", "B", "Q", "K"};
+
+        for (int b = 0; b < bank.length; b++)
+            for (int t = 0; t < type.length; t++)
+                img[b][t] = loadImage("/images/" + bank[b] + type[t] + ".png");
+    }
+
+    /* imagem ausente fica null (a peça simplesmente não é desenhada) */
+    private BufferedImage loadImage(String path) {
+        java.net.URL url = getClass().getResource(path);
+        if (url == null) return null;
         try {
-            img[0][0] = ImageIO.read(getClass().getResource("/images/CyanP.png"));
-            img[0][1] = ImageIO.read(getClass().getResource("/images/CyanR.png"));
-            img[0][2] = ImageIO.read(getClass().getResource("/images/CyanN.png"));
-            img[0][3] = ImageIO.read(getClass().getResource("/images/CyanB.png"));
-            img[0][4] = ImageIO.read(getClass().getResource("/images/CyanQ.png"));
-            img[0][5] = ImageIO.read(getClass().getResource("/images/CyanK.png"));
-
-            img[1][0] = ImageIO.read(getClass().getResource("/images/PurpleP.png"));
-            img[1][1] = ImageIO.read(getClass().getResource("/images/PurpleR.png"));
-            img[1][2] = ImageIO.read(getClass().getResource("/images/PurpleN.png"));
-            img[1][3] = ImageIO.read(getClass().getResource("/images/PurpleB.png"));
-            img[1][4] = ImageIO.read(getClass().getResource("/images/PurpleQ.png"));
-            img[1][5] = ImageIO.read(getClass().getResource("/images/PurpleK.png"));
+            return ImageIO.read(url);
         } catch (IOException ex) {
             ex.printStackTrace();
+            return null;
         }
     }
 